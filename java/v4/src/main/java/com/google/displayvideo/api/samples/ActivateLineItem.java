@@ -17,14 +17,20 @@ package com.google.displayvideo.api.samples;
 import com.beust.jcommander.Parameter;
 import com.google.api.services.displayvideo.v4.DisplayVideo;
 import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers.LineItems;
+import com.google.api.services.displayvideo.v4.model.InsertionOrder;
 import com.google.api.services.displayvideo.v4.model.LineItem;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.EntityCache;
+import java.io.IOException;
 
 /**
  * This example activates an existing Display &amp; Video 360 line item by updating its entity
  * status to "active." The given line item must currently have a "draft" or "paused" entity status
  * to be activated.
+ *
+ * <p>The line item and its insertion order are read through the shared entity cache, and the
+ * patched line item is put back in it.
  */
 public class ActivateLineItem {
 
@@ -65,6 +71,23 @@ public class ActivateLineItem {
 
   public static void runExample(DisplayVideo service, long advertiserId, long lineItemId)
       throws Exception {
+    EntityCache entityCache = DisplayVideoFactory.getEntityCache();
+
+    // Skip the patch if the line item is already active.
+    LineItem existing = entityCache.getLineItem(service, advertiserId, lineItemId);
+    if ("ENTITY_STATUS_ACTIVE".equals(existing.getEntityStatus())) {
+      System.out.printf("LineItem %s is already active.%n", existing.getName());
+      return;
+    }
+
+    // Warn if the parent insertion order will keep the line item from serving.
+    InsertionOrder insertionOrder =
+        entityCache.getInsertionOrder(service, advertiserId, existing.getInsertionOrderId());
+    if (!"ENTITY_STATUS_ACTIVE".equals(insertionOrder.getEntityStatus())) {
+      System.out.printf(
+          "InsertionOrder %s has entity status %s, so the line item will not serve yet.%n",
+          insertionOrder.getName(), insertionOrder.getEntityStatus());
+    }
 
     // Create the line item structure.
     LineItem lineItem = new LineItem().setEntityStatus("ENTITY_STATUS_ACTIVE");
@@ -78,7 +101,17 @@ public class ActivateLineItem {
             .setUpdateMask("entityStatus");
 
     // Create the advertiser.
-    LineItem response = request.execute();
+    LineItem response;
+    try {
+      response = request.execute();
+    } catch (IOException e) {
+      // The patch may have been applied before the request failed.
+      entityCache.invalidateLineItem(advertiserId, lineItemId);
+      throw e;
+    }
+
+    // Replace the cached line item, so that later reads in this process see the new status.
+    entityCache.putLineItem(response);
 
     // Display the new advertiser ID.
     System.out.printf(
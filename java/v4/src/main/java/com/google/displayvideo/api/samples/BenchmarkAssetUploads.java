@@ -0,0 +1,299 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.util.store.MemoryDataStoreFactory;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers.Assets;
+import com.google.api.services.displayvideo.v4.model.CreateAssetRequest;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.AssetUploadStubServer;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.CreativeUtils;
+import com.google.displayvideo.api.samples.utils.FileChannelContent;
+import com.google.displayvideo.api.samples.utils.MimeTypeDetector;
+import com.google.displayvideo.api.samples.utils.ResumableAssetUploader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This example measures asset upload throughput, latency and allocation rate across a matrix of
+ * file sizes, chunk sizes and concurrency levels.
+ *
+ * <p>Uploads go through a real {@link DisplayVideo} client pointed at a local stub of the asset
+ * upload endpoint, so no credentials are needed and the results reflect the client alone. Every
+ * setting is measured for {@link CreativeUtils#uploadAsset}, for a direct upload that sends the
+ * file in a single request, and for {@link ResumableAssetUploader}; the chunk size only applies to
+ * the last. Allocation is measured on the uploading threads, and is only reported on JVMs that
+ * support it.
+ */
+public class BenchmarkAssetUploads {
+
+  private static final int MB = 1024 * 1024;
+
+  private static class BenchmarkAssetUploadsParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.FILE_SIZES_MB,
+        description = "The sizes in MB of the files to upload.")
+    public List<Integer> fileSizesMb = Arrays.asList(1, 16, 64);
+
+    @Parameter(
+        names = ArgumentNames.CHUNK_SIZES_MB,
+        description = "The sizes in MB of the chunks to upload resumable uploads in.")
+    public List<Integer> chunkSizesMb = Arrays.asList(1, 8);
+
+    @Parameter(
+        names = ArgumentNames.CONCURRENCY_LEVELS,
+        description = "The numbers of uploads to run concurrently.")
+    public List<Integer> concurrencyLevels = Arrays.asList(1, 4);
+
+    @Parameter(
+        names = ArgumentNames.UPLOADS_PER_SETTING,
+        description = "The number of uploads to measure for every setting.")
+    public int uploadsPerSetting = 8;
+  }
+
+  /** Uploads a file, returning once the upload completes. */
+  private interface Upload {
+    void run(DisplayVideo service, String path) throws Exception;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkAssetUploadsParams params = new BenchmarkAssetUploadsParams();
+
+    // All parameters of this example have defaults, so it can be run without arguments.
+    params.parseArguments(args);
+
+    runExample(
+        params.fileSizesMb,
+        params.chunkSizesMb,
+        params.concurrencyLevels,
+        params.uploadsPerSetting);
+  }
+
+  public static void runExample(
+      List<Integer> fileSizesMb,
+      List<Integer> chunkSizesMb,
+      List<Integer> concurrencyLevels,
+      int uploadsPerSetting)
+      throws Exception {
+
+    // Start the stub server and point a client at it.
+    int maxConcurrency = Collections.max(concurrencyLevels);
+    try (AssetUploadStubServer server = new AssetUploadStubServer(maxConcurrency)) {
+      DisplayVideo service =
+          new DisplayVideo.Builder(Utils.getDefaultTransport(), Utils.getDefaultJsonFactory(), null)
+              .setRootUrl(server.getRootUrl())
+              .setApplicationName("asset-upload-benchmark")
+              .build();
+
+      // Warm up the client and the JIT compiler before measuring.
+      File warmUpFile = createFile(1);
+      try {
+        measure(service, warmUpFile.getPath(), 1, uploadsPerSetting, simpleUpload());
+      } finally {
+        warmUpFile.delete();
+      }
+
+      System.out.printf(
+          "%-10s %8s %8s %8s %9s %9s %9s %12s%n",
+          "Uploader", "File MB", "Chunk MB", "Threads", "MB/s", "p50 ms", "p99 ms", "Alloc MB/s");
+      for (int fileSizeMb : fileSizesMb) {
+        File file = createFile(fileSizeMb);
+        try {
+          for (int concurrency : concurrencyLevels) {
+            Result result =
+                measure(service, file.getPath(), concurrency, uploadsPerSetting, simpleUpload());
+            print("simple", fileSizeMb, "-", concurrency, result);
+
+            result =
+                measure(service, file.getPath(), concurrency, uploadsPerSetting, directUpload());
+            print("direct", fileSizeMb, "-", concurrency, result);
+
+            for (int chunkSizeMb : chunkSizesMb) {
+              result =
+                  measure(
+                      service,
+                      file.getPath(),
+                      concurrency,
+                      uploadsPerSetting,
+                      resumableUpload(chunkSizeMb * MB));
+              print("resumable", fileSizeMb, Integer.toString(chunkSizeMb), concurrency, result);
+            }
+          }
+        } finally {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  private static Upload simpleUpload() {
+    return (service, path) -> CreativeUtils.uploadAsset(service, 1L, path);
+  }
+
+  private static Upload directUpload() {
+    return (service, path) -> {
+      File file = new File(path);
+      Assets.Upload request =
+          service
+              .advertisers()
+              .assets()
+              .upload(
+                  1L,
+                  new CreateAssetRequest().setFilename(file.getName()),
+                  new FileChannelContent(MimeTypeDetector.getMimeType(path), file));
+
+      // Send the file in one request, instead of the resumable protocol the client defaults to.
+      request.getMediaHttpUploader().setDirectUploadEnabled(true);
+      request.execute();
+    };
+  }
+
+  private static Upload resumableUpload(int chunkSize) {
+    // Give every upload its own session store, so concurrent uploads of the same file do not
+    // resume each other's sessions.
+    return (service, path) ->
+        new ResumableAssetUploader(service, new MemoryDataStoreFactory(), chunkSize)
+            .upload(1, path, null);
+  }
+
+  private static Result measure(
+      DisplayVideo service, String path, int concurrency, int uploads, Upload upload)
+      throws Exception {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    try {
+      List<Future<long[]>> futures = new ArrayList<>();
+      long startNanos = System.nanoTime();
+      for (int i = 0; i < uploads; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  long allocatedBefore = getAllocatedBytes(threadBean);
+                  long uploadStartNanos = System.nanoTime();
+                  upload.run(service, path);
+                  long latencyNanos = System.nanoTime() - uploadStartNanos;
+                  long allocatedAfter = getAllocatedBytes(threadBean);
+                  long allocated =
+                      allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+                  return new long[] {latencyNanos, allocated};
+                }));
+      }
+
+      long[] latencies = new long[uploads];
+      long allocated = 0;
+      for (int i = 0; i < uploads; i++) {
+        long[] measurement = futures.get(i).get();
+        latencies[i] = measurement[0];
+        allocated = allocated < 0 || measurement[1] < 0 ? -1 : allocated + measurement[1];
+      }
+      long elapsedNanos = System.nanoTime() - startNanos;
+      Arrays.sort(latencies);
+      return new Result(
+          new File(path).length() * uploads,
+          elapsedNanos,
+          percentile(latencies, 50),
+          percentile(latencies, 99),
+          allocated);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Returns the number of bytes allocated by the current thread, or -1 if the JVM cannot measure
+   * it.
+   */
+  private static long getAllocatedBytes(ThreadMXBean threadBean) {
+    if (threadBean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+      if (sunThreadBean.isThreadAllocatedMemorySupported()
+          && sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+        return sunThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  private static long percentile(long[] sortedValues, int percent) {
+    int rank = (int) Math.ceil(sortedValues.length * percent / 100.0);
+    return sortedValues[Math.max(0, rank - 1)];
+  }
+
+  private static File createFile(int sizeMb) throws IOException {
+    File file = File.createTempFile("upload-benchmark-", ".bin");
+    file.deleteOnExit();
+    byte[] buffer = new byte[MB];
+    Random random = new Random(sizeMb);
+    try (OutputStream out = new FileOutputStream(file)) {
+      for (int i = 0; i < sizeMb; i++) {
+        random.nextBytes(buffer);
+        out.write(buffer);
+      }
+    }
+    return file;
+  }
+
+  private static void print(
+      String uploader, int fileSizeMb, String chunkSizeMb, int concurrency, Result result) {
+    double elapsedSeconds = result.elapsedNanos / 1e9;
+    System.out.printf(
+        "%-10s %8d %8s %8d %9.1f %9.1f %9.1f %12s%n",
+        uploader,
+        fileSizeMb,
+        chunkSizeMb,
+        concurrency,
+        result.bytes / (double) MB / elapsedSeconds,
+        result.p50Nanos / 1e6,
+        result.p99Nanos / 1e6,
+        result.allocatedBytes < 0
+            ? "n/a"
+            : String.format("%.1f", result.allocatedBytes / (double) MB / elapsedSeconds));
+  }
+
+  /** The measurements of one setting. */
+  private static class Result {
+
+    private final long bytes;
+    private final long elapsedNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long allocatedBytes;
+
+    Result(long bytes, long elapsedNanos, long p50Nanos, long p99Nanos, long allocatedBytes) {
+      this.bytes = bytes;
+      this.elapsedNanos = elapsedNanos;
+      this.p50Nanos = p50Nanos;
+      this.p99Nanos = p99Nanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.AssetCache;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.CreativeManifest;
+import com.google.displayvideo.api.samples.utils.CreativeManifest.Row;
+import com.google.displayvideo.api.samples.utils.CreativePipeline;
+import com.google.displayvideo.api.samples.utils.CreativePipeline.Report;
+import com.google.displayvideo.api.samples.utils.CreativePipeline.Result;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This example creates the HTML5, video and native site creatives described in a manifest file.
+ *
+ * <p>The manifest is either a JSON file with a {@code creatives} array, or a CSV file with a header
+ * row, whose fields are named as in {@link CreativeManifest.Row}, for example:
+ *
+ * <pre>
+ * creativeType,advertiserId,displayName,assetPath,exitEventName,exitEventUrl
+ * VIDEO,1234,Spring spot,spring.mp4,Visit site,https://www.example.com
+ * </pre>
+ *
+ * <p>Rows are first validated locally, so invalid asset files fail before anything is uploaded.
+ * Asset files are then hashed, uploaded, built into creatives and created in a pipeline, so uploads
+ * and creates for different rows overlap. Files already uploaded under an advertiser, in this or
+ * an earlier run, are not uploaded again.
+ */
+public class BulkCreateCreatives {
+
+  private static final int QUEUE_CAPACITY = 100;
+
+  private static class BulkCreateCreativesParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.MANIFEST_FILE,
+        description = "The path to the CSV or JSON manifest file describing the creatives.",
+        required = true)
+    public String manifestFile;
+
+    @Parameter(
+        names = ArgumentNames.UPLOAD_THREADS,
+        description = "The number of assets to upload concurrently.")
+    public int uploadThreads = 4;
+
+    @Parameter(
+        names = ArgumentNames.CREATE_THREADS,
+        description = "The number of creatives to create concurrently.")
+    public int createThreads = 4;
+
+    @Parameter(
+        names = ArgumentNames.MAX_UPLOAD_BYTES_PER_SECOND,
+        description = "The maximum total upload rate in bytes per second, or 0 for no limit.")
+    public long maxUploadBytesPerSecond = 0;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BulkCreateCreativesParams params = new BulkCreateCreativesParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.manifestFile = "INSERT_MANIFEST_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(
+        service,
+        params.manifestFile,
+        params.uploadThreads,
+        params.createThreads,
+        params.maxUploadBytesPerSecond);
+  }
+
+  public static void runExample(
+      DisplayVideo service,
+      String manifestFile,
+      int uploadThreads,
+      int createThreads,
+      long maxUploadBytesPerSecond)
+      throws Exception {
+
+    // Read the manifest.
+    List<Row> rows = CreativeManifest.read(manifestFile);
+
+    // Run the rows through the pipeline.
+    AssetCache assetCache = new AssetCache(DisplayVideoFactory.getDataStoreFactory());
+    CreativePipeline pipeline =
+        new CreativePipeline(
+            service,
+            assetCache,
+            uploadThreads,
+            createThreads,
+            QUEUE_CAPACITY,
+            maxUploadBytesPerSecond);
+    Report report = pipeline.run(rows);
+
+    // Display the result of every row.
+    for (Result result : report.getResults()) {
+      if (result.getCreative() != null) {
+        System.out.printf(
+            "Row %d: creative %s was created.%n",
+            result.getIndex() + 1, result.getCreative().getName());
+      } else if (result.getFailedStage() == null) {
+        System.out.printf("Row %d: did not complete.%n", result.getIndex() + 1);
+      } else {
+        System.out.printf(
+            "Row %d: failed in the %s stage: %s%n",
+            result.getIndex() + 1,
+            result.getFailedStage().name().toLowerCase(Locale.ROOT),
+            result.getError() == null ? "unknown error" : result.getError().getMessage());
+      }
+    }
+
+    // Display the totals and throughput.
+    double elapsedSeconds = report.getElapsedMillis() / 1000.0;
+    System.out.printf(
+        "%d of %d creatives were created in %.1f seconds (%.1f creatives per second).%n",
+        report.getCreatedCount(), rows.size(), elapsedSeconds, report.getCreativesPerSecond());
+    System.out.printf(
+        "%d assets were uploaded (%.1f MB at %.2f MB per second) and %d were found in the asset "
+            + "cache.%n",
+        report.getUploadedFiles(),
+        report.getUploadedBytes() / 1e6,
+        report.getUploadBytesPerSecond() / 1e6,
+        assetCache.getHits());
+  }
+}
@@ -0,0 +1,156 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.GenericJson;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.BulkInsertionOrderCreator;
+import com.google.displayvideo.api.samples.utils.BulkInsertionOrderCreator.PlanRow;
+import com.google.displayvideo.api.samples.utils.BulkInsertionOrderCreator.Result;
+import com.google.displayvideo.api.samples.utils.BulkInsertionOrderCreator.Status;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This example creates insertion orders in bulk from a media plan CSV file, such as:
+ *
+ * <pre>
+ * advertiserId,campaignId,displayName,startDate,endDate,budgetMicros
+ * 1234,5678,Spring sale - display,2026-03-15,2026-06-14,90000000000
+ * 1234,5678,Spring sale - video,2026-04-01,2026-06-30,45000000000
+ * </pre>
+ *
+ * <p>The budget of every insertion order is split into monthly budget segments over its flight.
+ * Rows that could not be created are displayed with their error, and can also be written to a JSON
+ * error report.
+ */
+public class BulkCreateInsertionOrders {
+
+  private static class BulkCreateInsertionOrdersParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.INPUT_FILE,
+        description = "The path to the media plan CSV file.",
+        required = true)
+    public String inputFile;
+
+    @Parameter(
+        names = ArgumentNames.CREATE_THREADS,
+        description = "The number of campaigns to create insertion orders under concurrently.")
+    public int createThreads = 4;
+
+    @Parameter(
+        names = ArgumentNames.OUTPUT_FILE,
+        description = "The path to write a JSON report of the rows that were not created to.")
+    public String outputFile;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BulkCreateInsertionOrdersParams params = new BulkCreateInsertionOrdersParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.inputFile = "INSERT_INPUT_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(service, params.inputFile, params.createThreads, params.outputFile);
+  }
+
+  public static void runExample(
+      DisplayVideo service, String inputFile, int createThreads, String outputFile)
+      throws Exception {
+
+    // Read the media plan.
+    List<PlanRow> plan = BulkInsertionOrderCreator.readPlan(inputFile);
+
+    // Build and create the insertion orders.
+    List<Result> results;
+    int cachedDates;
+    try (BulkInsertionOrderCreator creator =
+        new BulkInsertionOrderCreator(service, createThreads)) {
+      results = creator.create(plan);
+      cachedDates = creator.getCachedDateCount();
+    }
+
+    // Display the result of every row.
+    Map<Status, Integer> counts = new EnumMap<>(Status.class);
+    List<GenericJson> failures = new ArrayList<>();
+    for (Result result : results) {
+      counts.merge(result.getStatus(), 1, Integer::sum);
+      PlanRow row = result.getRow();
+      if (result.getStatus() == Status.CREATED) {
+        System.out.printf(
+            "Row %d: insertion order %d '%s' was created with %d budget segments.%n",
+            result.getIndex() + 1,
+            result.getInsertionOrder().getInsertionOrderId(),
+            row.getDisplayName(),
+            result.getInsertionOrder().getBudget().getBudgetSegments().size());
+      } else {
+        GoogleJsonError error = result.getError();
+        System.out.printf(
+            "Row %d: insertion order '%s' is %s (%d): %s%n",
+            result.getIndex() + 1,
+            row.getDisplayName(),
+            result.getStatus(),
+            error.getCode(),
+            error.getMessage());
+        failures.add(
+            new GenericJson()
+                .set("row", result.getIndex() + 1)
+                .set("status", result.getStatus().name())
+                .set("advertiserId", row.getAdvertiserId())
+                .set("campaignId", row.getCampaignId())
+                .set("displayName", row.getDisplayName())
+                .set("error", error));
+      }
+    }
+    System.out.printf(
+        "%d created, %d invalid and %d failed, sharing %d dates and date ranges.%n",
+        counts.getOrDefault(Status.CREATED, 0),
+        counts.getOrDefault(Status.INVALID, 0),
+        counts.getOrDefault(Status.FAILED, 0),
+        cachedDates);
+
+    // Write the error report.
+    if (outputFile != null) {
+      try (Writer writer = new OutputStreamWriter(new FileOutputStream(outputFile), UTF_8)) {
+        writer.write(
+            Utils.getDefaultJsonFactory()
+                .toPrettyString(new GenericJson().set("failures", failures)));
+      }
+      System.out.printf("%d failures were written to %s.%n", failures.size(), outputFile);
+    }
+  }
+}
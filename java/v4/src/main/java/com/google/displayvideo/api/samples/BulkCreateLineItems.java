@@ -0,0 +1,118 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.BulkLineItemCreator;
+import com.google.displayvideo.api.samples.utils.BulkLineItemCreator.Result;
+import com.google.displayvideo.api.samples.utils.BulkLineItemCreator.Spec;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import java.util.List;
+
+/**
+ * This example creates line items in bulk from a CSV file, such as:
+ *
+ * <pre>
+ * advertiserId,insertionOrderId,displayName,dailyMaxMicros,bidAmountMicros
+ * 1234,5678,Prospecting - desktop,20000,150000
+ * 1234,5678,Prospecting - mobile,20000,120000
+ * </pre>
+ *
+ * <p>Settings that are not given default to those of {@link CreateLineItem}. The IDs of the
+ * created line items are displayed in the order of the file.
+ */
+public class BulkCreateLineItems {
+
+  private static class BulkCreateLineItemsParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.INPUT_FILE,
+        description = "The path to the CSV file describing the line items to create.",
+        required = true)
+    public String inputFile;
+
+    @Parameter(
+        names = ArgumentNames.CREATE_THREADS,
+        description = "The number of line items to create concurrently.")
+    public int createThreads = 8;
+
+    @Parameter(
+        names = ArgumentNames.MAX_CONCURRENT_PER_INSERTION_ORDER,
+        description = "The number of line items to create concurrently per insertion order.")
+    public int maxConcurrentPerInsertionOrder = 2;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BulkCreateLineItemsParams params = new BulkCreateLineItemsParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.inputFile = "INSERT_INPUT_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(
+        service, params.inputFile, params.createThreads, params.maxConcurrentPerInsertionOrder);
+  }
+
+  public static void runExample(
+      DisplayVideo service,
+      String inputFile,
+      int createThreads,
+      int maxConcurrentPerInsertionOrder)
+      throws Exception {
+
+    // Read the line item specs.
+    List<Spec> specs = BulkLineItemCreator.readSpecs(inputFile);
+
+    // Create the line items.
+    long startMillis = System.currentTimeMillis();
+    List<Result> results;
+    try (BulkLineItemCreator creator =
+        new BulkLineItemCreator(service, createThreads, maxConcurrentPerInsertionOrder)) {
+      results = creator.create(specs);
+    }
+
+    // Display the created line item IDs in file order.
+    int failed = 0;
+    for (Result result : results) {
+      Spec spec = specs.get(result.getIndex());
+      if (result.getError() == null) {
+        System.out.printf(
+            "Row %d: line item %d '%s' was created.%n",
+            result.getIndex() + 1, result.getLineItemId(), spec.getDisplayName());
+      } else {
+        failed++;
+        System.out.printf(
+            "Row %d: line item '%s' could not be created: %s%n",
+            result.getIndex() + 1, spec.getDisplayName(), result.getError().getMessage());
+      }
+    }
+    System.out.printf(
+        "%d of %d line items were created in %.1f seconds.%n",
+        results.size() - failed,
+        results.size(),
+        (System.currentTimeMillis() - startMillis) / 1000.0);
+  }
+}
@@ -0,0 +1,131 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.BulkCampaignEditor;
+import com.google.displayvideo.api.samples.utils.BulkCampaignEditor.Result;
+import com.google.displayvideo.api.samples.utils.BulkCampaignEditor.Row;
+import com.google.displayvideo.api.samples.utils.BulkCampaignEditor.Status;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This example creates campaigns, and updates the planned dates and frequency cap of existing
+ * campaigns, from a CSV file such as:
+ *
+ * <pre>
+ * advertiserId,campaignId,displayName,startDate,endDate,maxImpressions
+ * 1234,,Spring sale,2026-03-01,2026-05-31,5
+ * 1234,,Summer sale,2026-06-01,2026-08-31,
+ * 1234,5678,Always on,2026-01-01,,3
+ * </pre>
+ *
+ * <p>Rows naming an existing campaign, by ID or by display name, are patched with only the fields
+ * that changed. Other rows create a new campaign.
+ */
+public class BulkEditCampaigns {
+
+  private static class BulkEditCampaignsParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.INPUT_FILE,
+        description = "The path to the CSV file describing the campaigns.",
+        required = true)
+    public String inputFile;
+
+    @Parameter(
+        names = ArgumentNames.REQUEST_THREADS,
+        description = "The number of concurrent list, create and patch requests.")
+    public int requestThreads = 8;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BulkEditCampaignsParams params = new BulkEditCampaignsParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.inputFile = "INSERT_INPUT_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(service, params.inputFile, params.requestThreads);
+  }
+
+  public static void runExample(DisplayVideo service, String inputFile, int requestThreads)
+      throws Exception {
+
+    // Read the rows.
+    List<Row> rows = BulkCampaignEditor.readRows(inputFile);
+
+    // Create and update the campaigns.
+    List<Result> results;
+    try (BulkCampaignEditor editor =
+        new BulkCampaignEditor(service, DisplayVideoFactory.getEntityCache(), requestThreads)) {
+      results = editor.edit(rows);
+    }
+
+    // Display the result of every row.
+    Map<Status, Integer> counts = new EnumMap<>(Status.class);
+    for (Result result : results) {
+      counts.merge(result.getStatus(), 1, Integer::sum);
+      String campaign = "campaign '" + result.getRow().getDisplayName() + "'";
+      switch (result.getStatus()) {
+        case CREATED:
+          System.out.printf(
+              "Row %d: %s was created as %d.%n",
+              result.getIndex() + 1, campaign, result.getCampaign().getCampaignId());
+          break;
+        case UPDATED:
+          System.out.printf(
+              "Row %d: %s %d was updated: %s.%n",
+              result.getIndex() + 1,
+              campaign,
+              result.getCampaign().getCampaignId(),
+              String.join(", ", result.getUpdateMask()));
+          break;
+        case UNCHANGED:
+          System.out.printf(
+              "Row %d: %s %d is up to date.%n",
+              result.getIndex() + 1, campaign, result.getCampaign().getCampaignId());
+          break;
+        case INVALID:
+        case FAILED:
+          System.out.printf(
+              "Row %d: %s is %s: %s%n",
+              result.getIndex() + 1, campaign, result.getStatus(), result.getError().getMessage());
+          break;
+      }
+    }
+    System.out.printf(
+        "%d created, %d updated, %d unchanged, %d invalid and %d failed.%n",
+        counts.getOrDefault(Status.CREATED, 0),
+        counts.getOrDefault(Status.UPDATED, 0),
+        counts.getOrDefault(Status.UNCHANGED, 0),
+        counts.getOrDefault(Status.INVALID, 0),
+        counts.getOrDefault(Status.FAILED, 0));
+  }
+}
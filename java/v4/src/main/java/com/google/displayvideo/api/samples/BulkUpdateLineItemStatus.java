@@ -0,0 +1,137 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.LineItemStatusUpdater;
+import com.google.displayvideo.api.samples.utils.LineItemStatusUpdater.Result;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * This example sets the entity status of many line items at once, for example to activate all the
+ * line items of a flight launch. The patch requests are sent in concurrent multipart batch
+ * requests, and the result of every line item is reported.
+ */
+public class BulkUpdateLineItemStatus {
+
+  private static class BulkUpdateLineItemStatusParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.ADVERTISER_ID,
+        description = "The ID of the parent advertiser of the line items to update.",
+        required = true)
+    public Long advertiserId;
+
+    @Parameter(
+        names = ArgumentNames.LINE_ITEM_IDS,
+        description = "The IDs of the line items to update.",
+        required = true)
+    public List<Long> lineItemIds;
+
+    @Parameter(
+        names = ArgumentNames.ENTITY_STATUS,
+        description = "The entity status to set, such as ENTITY_STATUS_PAUSED.")
+    public String entityStatus = "ENTITY_STATUS_ACTIVE";
+
+    @Parameter(
+        names = ArgumentNames.BATCH_SIZE,
+        description = "The number of line items to update per batch request.")
+    public int batchSize = 100;
+
+    @Parameter(
+        names = ArgumentNames.CONCURRENT_BATCHES,
+        description = "The number of batch requests to send concurrently.")
+    public int concurrentBatches = 4;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BulkUpdateLineItemStatusParams params = new BulkUpdateLineItemStatusParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.advertiserId = Long.valueOf("INSERT_ADVERTISER_ID_HERE");
+
+      // Convert string list of line item ID values to Long values.
+      List<String> lineItemIdStrings = Arrays.asList("INSERT_LINE_ITEM_IDS_HERE".split(","));
+      params.lineItemIds =
+          lineItemIdStrings.stream()
+              .filter(idStr -> !idStr.isEmpty())
+              .map(Long::valueOf)
+              .collect(Collectors.toList());
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(
+        service,
+        params.advertiserId,
+        params.lineItemIds,
+        params.entityStatus,
+        params.batchSize,
+        params.concurrentBatches);
+  }
+
+  public static void runExample(
+      DisplayVideo service,
+      long advertiserId,
+      List<Long> lineItemIds,
+      String entityStatus,
+      int batchSize,
+      int concurrentBatches)
+      throws Exception {
+
+    // Update the line items in concurrent batches.
+    long startMillis = System.currentTimeMillis();
+    Map<Long, Result> results;
+    try (LineItemStatusUpdater updater =
+        new LineItemStatusUpdater(
+            service, DisplayVideoFactory.getEntityCache(), batchSize, concurrentBatches)) {
+      results = updater.updateStatus(advertiserId, lineItemIds, entityStatus);
+    }
+    long elapsedMillis = System.currentTimeMillis() - startMillis;
+
+    // Display the result of every line item.
+    int updated = 0;
+    for (Result result : results.values()) {
+      if (result.getLineItem() != null) {
+        updated++;
+        System.out.printf(
+            "LineItem %s now has entity status %s%n",
+            result.getLineItem().getName(), result.getLineItem().getEntityStatus());
+      } else {
+        System.out.printf(
+            "LineItem %d was not updated: %s (%d)%n",
+            result.getLineItemId(), result.getError().getMessage(), result.getError().getCode());
+      }
+    }
+
+    // Display the totals.
+    System.out.printf(
+        "%d of %d line items were updated in %.1f seconds.%n",
+        updated, results.size(), elapsedMillis / 1000.0);
+  }
+}
@@ -0,0 +1,198 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.CustomBiddingScript;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.CsvParser;
+import com.google.displayvideo.api.samples.utils.CustomBiddingScriptTracker;
+import com.google.displayvideo.api.samples.utils.CustomBiddingScriptUploader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * This example uploads scripts for many custom bidding algorithms, as listed in a CSV manifest
+ * file with a header row, for example:
+ *
+ * <pre>
+ * advertiserId,customBiddingAlgorithmId,scriptPath
+ * 1234,5678,scripts/conversions.txt
+ * </pre>
+ *
+ * <p>The scripts are uploaded concurrently, and a script whose file has not changed since it was
+ * last uploaded for its algorithm is skipped. The created scripts are then tracked until they are
+ * accepted or rejected.
+ */
+public class BulkUploadCustomBiddingScripts {
+
+  private static class BulkUploadCustomBiddingScriptsParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.MANIFEST_FILE,
+        description = "The path to the CSV manifest file listing the scripts.",
+        required = true)
+    public String manifestFile;
+
+    @Parameter(
+        names = ArgumentNames.REQUEST_THREADS,
+        description = "The number of script reference and create requests to send concurrently.")
+    public int requestThreads = 4;
+
+    @Parameter(
+        names = ArgumentNames.UPLOAD_THREADS,
+        description = "The number of script files to upload concurrently.")
+    public int uploadThreads = 4;
+  }
+
+  public static void main(String[] args) throws Exception {
+    BulkUploadCustomBiddingScriptsParams params = new BulkUploadCustomBiddingScriptsParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.manifestFile = "INSERT_MANIFEST_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(service, params.manifestFile, params.requestThreads, params.uploadThreads);
+  }
+
+  public static void runExample(
+      DisplayVideo service, String manifestFile, int requestThreads, int uploadThreads)
+      throws Exception {
+
+    // Read the manifest.
+    List<String[]> rows = readManifest(manifestFile);
+
+    // Start uploading every script, and track every created script until it is processed.
+    List<CompletableFuture<CustomBiddingScript>> uploads = new ArrayList<>();
+    long startMillis = System.currentTimeMillis();
+    try (CustomBiddingScriptUploader uploader =
+            new CustomBiddingScriptUploader(
+                service, DisplayVideoFactory.getDataStoreFactory(), requestThreads, uploadThreads);
+        CustomBiddingScriptTracker tracker = new CustomBiddingScriptTracker(service)) {
+      for (String[] row : rows) {
+        long advertiserId = Long.parseLong(row[0]);
+        uploads.add(
+            uploader
+                .upload(advertiserId, Long.parseLong(row[1]), row[2])
+                .thenCompose(
+                    script ->
+                        script == null
+                            ? CompletableFuture.completedFuture(null)
+                            : tracker.track(advertiserId, script)));
+      }
+
+      // Display the result of every script.
+      for (int i = 0; i < rows.size(); i++) {
+        try {
+          CustomBiddingScript script = uploads.get(i).get();
+          if (script == null) {
+            System.out.printf(
+                "Algorithm %s: the script is unchanged and was skipped.%n", rows.get(i)[1]);
+          } else {
+            System.out.printf(
+                "Algorithm %s: script %s was created and is %s.%n",
+                rows.get(i)[1], script.getName(), script.getState());
+            if (script.getErrors() != null) {
+              System.out.println(CustomBiddingScriptTracker.formatErrors(script));
+            }
+          }
+        } catch (ExecutionException e) {
+          System.out.printf(
+              "Algorithm %s: the script failed: %s%n", rows.get(i)[1], e.getCause().getMessage());
+        }
+      }
+
+      // Display the totals.
+      System.out.printf(
+          "%d scripts were created and %d were unchanged, out of %d, in %.1f seconds.%n",
+          uploader.getCreatedScripts(),
+          uploader.getUnchangedScripts(),
+          rows.size(),
+          (System.currentTimeMillis() - startMillis) / 1000.0);
+    }
+  }
+
+  /**
+   * Reads the manifest rows, with the advertiser ID, algorithm ID and script path of every row in
+   * that order. Every row is validated before any script is uploaded, and blank rows are skipped.
+   *
+   * @throws IllegalArgumentException If a row is missing a value or has an invalid ID
+   */
+  private static List<String[]> readManifest(String manifestFile) throws Exception {
+    List<String[]> rows = new ArrayList<>();
+    try (CsvParser parser =
+        new CsvParser(new InputStreamReader(new FileInputStream(manifestFile), UTF_8))) {
+      String[] header = parser.readRow();
+      if (header == null) {
+        return rows;
+      }
+      List<String> columns = Arrays.asList(header);
+      int[] indexes = {
+        getColumnIndex(columns, "advertiserId"),
+        getColumnIndex(columns, "customBiddingAlgorithmId"),
+        getColumnIndex(columns, "scriptPath")
+      };
+      String[] row;
+      for (int rowNumber = 2; (row = parser.readRow()) != null; rowNumber++) {
+        if (row.length == 1 && row[0].isEmpty()) {
+          continue;
+        }
+        String[] values = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+          values[i] = indexes[i] < row.length ? row[indexes[i]].trim() : "";
+          if (values[i].isEmpty()) {
+            throw new IllegalArgumentException(
+                "Manifest row " + rowNumber + " has no " + header[indexes[i]] + ".");
+          }
+        }
+        try {
+          Long.parseLong(values[0]);
+          Long.parseLong(values[1]);
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException(
+              "Manifest row " + rowNumber + " has an invalid ID: " + e.getMessage());
+        }
+        rows.add(values);
+      }
+    }
+    return rows;
+  }
+
+  private static int getColumnIndex(List<String> columns, String name) {
+    int index = columns.indexOf(name);
+    if (index < 0) {
+      throw new IllegalArgumentException("The manifest has no " + name + " column.");
+    }
+    return index;
+  }
+}
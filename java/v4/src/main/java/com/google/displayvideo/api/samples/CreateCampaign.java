@@ -26,6 +26,8 @@ import com.google.api.services.displayvideo.v4.model.FrequencyCap;
 import com.google.api.services.displayvideo.v4.model.PerformanceGoal;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.IdempotentCreator;
+import com.google.displayvideo.api.samples.utils.IdempotentCreator.Outcome;
 import java.time.LocalDateTime;
 
 /** This example creates an campaign under the given Display &amp; Video 360 advertiser. */
@@ -44,6 +46,12 @@ public class CreateCampaign {
         description = "The display name of the campaign to be created.",
         required = true)
     public String displayName;
+
+    @Parameter(
+        names = ArgumentNames.IDEMPOTENT,
+        arity = 1,
+        description = "Whether to journal the create, so that retries cannot duplicate it.")
+    public boolean idempotent = false;
   }
 
   public static void main(String[] args) throws Exception {
@@ -63,10 +71,11 @@ public class CreateCampaign {
             params.serviceAccountKeyFile,
             params.additionalScopes);
 
-    runExample(service, params.advertiserId, params.displayName);
+    runExample(service, params.advertiserId, params.displayName, params.idempotent);
   }
 
-  public static void runExample(DisplayVideo service, long advertiserId, String displayName)
+  public static void runExample(
+      DisplayVideo service, long advertiserId, String displayName, boolean idempotent)
       throws Exception {
 
     // Create the campaign structure.
@@ -118,13 +127,27 @@ public class CreateCampaign {
         new FrequencyCap().setMaxImpressions(10).setTimeUnit("TIME_UNIT_DAYS").setTimeUnitCount(1);
     campaign.setFrequencyCap(frequencyCap);
 
-    // Configure the create request.
-    Campaigns.Create request = service.advertisers().campaigns().create(advertiserId, campaign);
-
-    // Create the campaign.
-    Campaign response = request.execute();
+    Campaign response;
+    Outcome outcome = Outcome.CREATED;
+    if (idempotent) {
+      // Create the campaign through the journal, so that retrying cannot duplicate it.
+      IdempotentCreator creator =
+          new IdempotentCreator(
+              service,
+              DisplayVideoFactory.getDataStoreFactory(),
+              DisplayVideoFactory.getEntityCache());
+      IdempotentCreator.Result<Campaign> result = creator.createCampaign(advertiserId, campaign);
+      response = result.getEntity();
+      outcome = result.getOutcome();
+    } else {
+      // Configure the create request.
+      Campaigns.Create request = service.advertisers().campaigns().create(advertiserId, campaign);
+
+      // Create the campaign.
+      response = request.execute();
+    }
 
     // Display the new campaign ID.
-    System.out.printf("Campaign %s was created.", response.getName());
+    System.out.printf("Campaign %s was %s.", response.getName(), outcome.getDescription());
   }
 }
@@ -24,8 +24,11 @@ import com.google.api.services.displayvideo.v4.model.Dimensions;
 import com.google.api.services.displayvideo.v4.model.ExitEvent;
 import com.google.common.collect.ImmutableList;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.AssetCache;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
 import com.google.displayvideo.api.samples.utils.CreativeUtils;
+import com.google.displayvideo.api.samples.utils.CreativeValidator;
+import java.util.List;
 
 /**
  * This example uploads the given HTML asset and creates an HTML5 creative object under the given
@@ -122,8 +125,22 @@ public class CreateHTML5Creative {
       String exitEventUrl)
       throws Exception {
 
+    // Validate the creative locally before uploading any assets.
+    List<String> problems =
+        CreativeValidator.validateHtml5(
+            htmlAssetPath, creativeHeightPixels, creativeWidthPixels, exitEventName, exitEventUrl);
+    if (!problems.isEmpty()) {
+      throw new IllegalArgumentException(String.join(" ", problems));
+    }
+
+    // Load the cache of previously uploaded assets.
+    AssetCache assetCache = new AssetCache(DisplayVideoFactory.getDataStoreFactory());
+
     // Upload HTML asset.
-    Asset htmlAsset = CreativeUtils.uploadAsset(service, advertiserId, htmlAssetPath);
+    Asset htmlAsset = CreativeUtils.uploadAsset(service, advertiserId, htmlAssetPath, assetCache);
+
+    // Display how many uploads were skipped.
+    System.out.printf("%s%n", assetCache.formatMetrics());
 
     // Create the creative structure.
     Creative creative =
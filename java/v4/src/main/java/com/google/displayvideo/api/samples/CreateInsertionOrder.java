@@ -28,6 +28,8 @@ import com.google.api.services.displayvideo.v4.model.Kpi;
 import com.google.common.collect.ImmutableList;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.IdempotentCreator;
+import com.google.displayvideo.api.samples.utils.IdempotentCreator.Outcome;
 import java.time.LocalDateTime;
 
 /** This example creates an insertion order under the given Display &amp; Video 360 campaign. */
@@ -52,6 +54,12 @@ public class CreateInsertionOrder {
         description = "The display name of the insertion order to be created.",
         required = true)
     public String displayName;
+
+    @Parameter(
+        names = ArgumentNames.IDEMPOTENT,
+        arity = 1,
+        description = "Whether to journal the create, so that retries cannot duplicate it.")
+    public boolean idempotent = false;
   }
 
   public static void main(String[] args) throws Exception {
@@ -72,11 +80,16 @@ public class CreateInsertionOrder {
             params.serviceAccountKeyFile,
             params.additionalScopes);
 
-    runExample(service, params.advertiserId, params.campaignId, params.displayName);
+    runExample(
+        service, params.advertiserId, params.campaignId, params.displayName, params.idempotent);
   }
 
   public static void runExample(
-      DisplayVideo service, long advertiserId, long campaignId, String displayName)
+      DisplayVideo service,
+      long advertiserId,
+      long campaignId,
+      String displayName,
+      boolean idempotent)
       throws Exception {
 
     // Create the insertion order structure.
@@ -139,14 +152,29 @@ public class CreateInsertionOrder {
     // Set optimization objective.
     insertionOrder.setOptimizationObjective("NO_OBJECTIVE");
 
-    // Configure the create request.
-    InsertionOrders.Create request =
-        service.advertisers().insertionOrders().create(advertiserId, insertionOrder);
-
-    // Create the insertion order.
-    InsertionOrder response = request.execute();
+    InsertionOrder response;
+    Outcome outcome = Outcome.CREATED;
+    if (idempotent) {
+      // Create the insertion order through the journal, so that retrying cannot duplicate it.
+      IdempotentCreator creator =
+          new IdempotentCreator(
+              service,
+              DisplayVideoFactory.getDataStoreFactory(),
+              DisplayVideoFactory.getEntityCache());
+      IdempotentCreator.Result<InsertionOrder> result =
+          creator.createInsertionOrder(advertiserId, insertionOrder);
+      response = result.getEntity();
+      outcome = result.getOutcome();
+    } else {
+      // Configure the create request.
+      InsertionOrders.Create request =
+          service.advertisers().insertionOrders().create(advertiserId, insertionOrder);
+
+      // Create the insertion order.
+      response = request.execute();
+    }
 
     // Display the new insertion order ID.
-    System.out.printf("InsertionOrder %s was created.", response.getName());
+    System.out.printf("InsertionOrder %s was %s.", response.getName(), outcome.getDescription());
   }
 }
@@ -27,6 +27,8 @@ import com.google.api.services.displayvideo.v4.model.Pacing;
 import com.google.api.services.displayvideo.v4.model.PartnerRevenueModel;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.IdempotentCreator;
+import com.google.displayvideo.api.samples.utils.IdempotentCreator.Outcome;
 
 /** This example creates a line item under the given Display &amp; Video 360 insertion order. */
 public class CreateLineItem {
@@ -50,6 +52,12 @@ public class CreateLineItem {
         description = "The display name of the line item to be created.",
         required = true)
     public String displayName;
+
+    @Parameter(
+        names = ArgumentNames.IDEMPOTENT,
+        arity = 1,
+        description = "Whether to journal the create, so that retries cannot duplicate it.")
+    public boolean idempotent = false;
   }
 
   public static void main(String[] args) throws Exception {
@@ -70,11 +78,20 @@ public class CreateLineItem {
             params.serviceAccountKeyFile,
             params.additionalScopes);
 
-    runExample(service, params.advertiserId, params.insertionOrderId, params.displayName);
+    runExample(
+        service,
+        params.advertiserId,
+        params.insertionOrderId,
+        params.displayName,
+        params.idempotent);
   }
 
   public static void runExample(
-      DisplayVideo service, long advertiserId, long insertionOrderId, String displayName)
+      DisplayVideo service,
+      long advertiserId,
+      long insertionOrderId,
+      String displayName,
+      boolean idempotent)
       throws Exception {
 
     // Create the line item structure.
@@ -120,13 +137,27 @@ public class CreateLineItem {
         new BiddingStrategy().setFixedBid(new FixedBidStrategy().setBidAmountMicros(100_000L));
     lineItem.setBidStrategy(biddingStrategy);
 
-    // Configure the create request.
-    LineItems.Create request = service.advertisers().lineItems().create(advertiserId, lineItem);
-
-    // Create the line item.
-    LineItem response = request.execute();
+    LineItem response;
+    Outcome outcome = Outcome.CREATED;
+    if (idempotent) {
+      // Create the line item through the journal, so that retrying cannot duplicate it.
+      IdempotentCreator creator =
+          new IdempotentCreator(
+              service,
+              DisplayVideoFactory.getDataStoreFactory(),
+              DisplayVideoFactory.getEntityCache());
+      IdempotentCreator.Result<LineItem> result = creator.createLineItem(advertiserId, lineItem);
+      response = result.getEntity();
+      outcome = result.getOutcome();
+    } else {
+      // Configure the create request.
+      LineItems.Create request = service.advertisers().lineItems().create(advertiserId, lineItem);
+
+      // Create the line item.
+      response = request.execute();
+    }
 
     // Display the new line item ID.
-    System.out.printf("LineItem %s was created.", response.getName());
+    System.out.printf("LineItem %s was %s.", response.getName(), outcome.getDescription());
   }
 }
@@ -24,14 +24,17 @@ import com.google.api.services.displayvideo.v4.model.Dimensions;
 import com.google.api.services.displayvideo.v4.model.ExitEvent;
 import com.google.common.collect.ImmutableList;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.AssetCache;
+import com.google.displayvideo.api.samples.utils.AssetUploader;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
-import com.google.displayvideo.api.samples.utils.CreativeUtils;
+import com.google.displayvideo.api.samples.utils.CreativeValidator;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * This example uploads the given image and logo assets and creates a native site creative object
- * under the given Display &amp; Video 360 advertiser.
+ * This example concurrently uploads the given image and logo assets and creates a native site
+ * creative object under the given Display &amp; Video 360 advertiser.
  */
 public class CreateNativeSiteCreative {
 
@@ -169,11 +172,33 @@ public class CreateNativeSiteCreative {
       String callToAction)
       throws Exception {
 
-    // Upload image asset.
-    Asset imageAsset = CreativeUtils.uploadAsset(service, advertiserId, imageAssetPath);
+    // Validate the creative locally before uploading any assets.
+    List<String> problems =
+        CreativeValidator.validateNativeSite(
+            imageAssetPath,
+            logoAssetPath,
+            creativeHeightPixels,
+            creativeWidthPixels,
+            landingPageUrl);
+    if (!problems.isEmpty()) {
+      throw new IllegalArgumentException(String.join(" ", problems));
+    }
+
+    // Load the cache of previously uploaded assets.
+    AssetCache assetCache = new AssetCache(DisplayVideoFactory.getDataStoreFactory());
+
+    // Upload the image and logo assets concurrently.
+    Asset imageAsset;
+    Asset logoAsset;
+    try (AssetUploader uploader = new AssetUploader(service, assetCache, 2, 0)) {
+      CompletableFuture<Asset> imageUpload = uploader.upload(advertiserId, imageAssetPath);
+      CompletableFuture<Asset> logoUpload = uploader.upload(advertiserId, logoAssetPath);
+      imageAsset = imageUpload.get();
+      logoAsset = logoUpload.get();
+    }
 
-    // Upload logo asset.
-    Asset logoAsset = CreativeUtils.uploadAsset(service, advertiserId, logoAssetPath);
+    // Display how many uploads were skipped.
+    System.out.printf("%s%n", assetCache.formatMetrics());
 
     // Create a creative object.
     Creative creative =
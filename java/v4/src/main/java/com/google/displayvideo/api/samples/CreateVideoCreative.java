@@ -23,12 +23,19 @@ import com.google.api.services.displayvideo.v4.model.Creative;
 import com.google.api.services.displayvideo.v4.model.ExitEvent;
 import com.google.common.collect.ImmutableList;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.AssetCache;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
-import com.google.displayvideo.api.samples.utils.CreativeUtils;
+import com.google.displayvideo.api.samples.utils.CreativeValidator;
+import com.google.displayvideo.api.samples.utils.ResumableAssetUploader;
+import java.util.List;
 
 /**
  * This example uploads the given video asset and creates a video creative object under the given
  * Display &amp; Video 360 advertiser.
+ *
+ * <p>The video is uploaded in chunks with the resumable upload protocol. If the upload is
+ * interrupted, running the example again with the same video continues it from the last uploaded
+ * chunk.
  */
 public class CreateVideoCreative {
 
@@ -63,6 +70,11 @@ public class CreateVideoCreative {
         description = "The URL of the main exit event.",
         required = true)
     public String exitEventUrl;
+
+    @Parameter(
+        names = ArgumentNames.CHUNK_SIZE,
+        description = "The size in bytes of the chunks the video asset is uploaded in.")
+    public int chunkSize = ResumableAssetUploader.DEFAULT_CHUNK_SIZE;
   }
 
   public static void main(String[] args) throws Exception {
@@ -91,7 +103,8 @@ public class CreateVideoCreative {
         params.displayName,
         params.videoAssetPath,
         params.exitEventName,
-        params.exitEventUrl);
+        params.exitEventUrl,
+        params.chunkSize);
   }
 
   public static void runExample(
@@ -100,11 +113,26 @@ public class CreateVideoCreative {
       String displayName,
       String videoAssetPath,
       String exitEventName,
-      String exitEventUrl)
+      String exitEventUrl,
+      int chunkSize)
       throws Exception {
 
-    // Upload video asset.
-    Asset videoAsset = CreativeUtils.uploadAsset(service, advertiserId, videoAssetPath);
+    // Validate the creative locally before uploading any assets.
+    List<String> problems = CreativeValidator.validateVideo(videoAssetPath, exitEventUrl);
+    if (!problems.isEmpty()) {
+      throw new IllegalArgumentException(String.join(" ", problems));
+    }
+
+    // Load the cache of previously uploaded assets.
+    AssetCache assetCache = new AssetCache(DisplayVideoFactory.getDataStoreFactory());
+
+    // Upload video asset in chunks, resuming an interrupted earlier upload of the file.
+    ResumableAssetUploader uploader =
+        new ResumableAssetUploader(service, DisplayVideoFactory.getDataStoreFactory(), chunkSize);
+    Asset videoAsset = uploader.upload(advertiserId, videoAssetPath, assetCache);
+
+    // Display how many uploads were skipped.
+    System.out.printf("%s%n", assetCache.formatMetrics());
 
     // Create a creative object.
     Creative creative =
@@ -0,0 +1,86 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.SdfSnapshotDiff;
+import com.google.displayvideo.api.samples.utils.SdfSnapshotDiff.ColumnChange;
+import com.google.displayvideo.api.samples.utils.SdfSnapshotDiff.EntityChange;
+
+/**
+ * This example compares two structured data file (SDF) archives downloaded by {@link
+ * DownloadStructuredDataFiles} and displays the entities that were added, removed or changed
+ * between them, along with the changed columns.
+ */
+public class DiffStructuredDataFiles {
+
+  private static class DiffStructuredDataFilesParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.OLD_FILE,
+        description = "The path to the earlier SDF zip file.",
+        required = true)
+    public String oldFile;
+
+    @Parameter(
+        names = ArgumentNames.NEW_FILE,
+        description = "The path to the later SDF zip file.",
+        required = true)
+    public String newFile;
+  }
+
+  public static void main(String[] args) throws Exception {
+    DiffStructuredDataFilesParams params = new DiffStructuredDataFilesParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.oldFile = "INSERT_OLD_FILE_HERE";
+      params.newFile = "INSERT_NEW_FILE_HERE";
+    }
+
+    runExample(params.oldFile, params.newFile);
+  }
+
+  public static void runExample(String oldFile, String newFile) throws Exception {
+
+    // Compare the snapshots, displaying every change as it is found.
+    SdfSnapshotDiff.Summary summary =
+        new SdfSnapshotDiff().diff(oldFile, newFile, DiffStructuredDataFiles::printChange);
+
+    // Display the totals.
+    System.out.printf(
+        "%d entities added, %d removed, %d changed and %d unchanged, and %d rows with an empty or"
+            + " repeated ID skipped.%n",
+        summary.getAdded(),
+        summary.getRemoved(),
+        summary.getChanged(),
+        summary.getUnchanged(),
+        summary.getSkipped());
+  }
+
+  private static void printChange(EntityChange change) {
+    System.out.printf(
+        "%s: entity %s was %s.%n",
+        change.getFileName(), change.getEntityId(), change.getType().name().toLowerCase());
+    for (ColumnChange columnChange : change.getChangedColumns()) {
+      System.out.printf(
+          "  %s changed from \"%s\" to \"%s\".%n",
+          columnChange.getColumn(), columnChange.getOldValue(), columnChange.getNewValue());
+    }
+  }
+}
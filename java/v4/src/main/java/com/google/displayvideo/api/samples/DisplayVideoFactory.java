@@ -32,6 +32,7 @@ import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.client.util.Strings;
 import com.google.api.services.displayvideo.v4.DisplayVideo;
 import com.google.api.services.displayvideo.v4.DisplayVideoScopes;
+import com.google.displayvideo.api.samples.utils.EntityCache;
 import java.io.Console;
 import java.io.IOException;
 import java.io.File;
@@ -82,6 +83,12 @@ public final class DisplayVideoFactory {
   private static final HttpTransport HTTP_TRANSPORT = Utils.getDefaultTransport();
   private static final JsonFactory JSON_FACTORY = Utils.getDefaultJsonFactory();
 
+  /** Data store factory shared by stored credentials and local sample state. */
+  private static DataStoreFactory dataStoreFactory;
+
+  /** Entity cache shared by the samples that read, create or patch entities. */
+  private static EntityCache entityCache;
+
   /**
    * Authorizes the installed application to access user's protected data.
    *
@@ -119,10 +126,7 @@ public final class DisplayVideoFactory {
       } while (verifiedClientSecretsFile == null);
 
       credential =
-          loadUserCredentials(
-              verifiedClientSecretsFile,
-              new FileDataStoreFactory(DATA_STORE_DIR),
-              additionalScopes);
+          loadUserCredentials(verifiedClientSecretsFile, getDataStoreFactory(), additionalScopes);
     }
 
     return credential;
@@ -264,6 +268,49 @@ public final class DisplayVideoFactory {
     return scopes;
   }
 
+  /**
+   * Returns the data store factory used to persist local state between runs, such as stored
+   * credentials and the histories, journals and caches kept by some samples.
+   *
+   * @return A {@link DataStoreFactory} backed by files in the user's home directory.
+   */
+  public static synchronized DataStoreFactory getDataStoreFactory() throws IOException {
+    if (dataStoreFactory == null) {
+      dataStoreFactory = new FileDataStoreFactory(DATA_STORE_DIR);
+    }
+    return dataStoreFactory;
+  }
+
+  /**
+   * Returns the cache of advertisers, campaigns, insertion orders and line items shared by the
+   * samples run in this process. Samples that read parent entities or check statuses read through
+   * it, and samples that create or patch entities put the results in it or invalidate them.
+   *
+   * @return An {@link EntityCache} with the default maximum size and time to live.
+   */
+  public static synchronized EntityCache getEntityCache() {
+    if (entityCache == null) {
+      entityCache = new EntityCache();
+    }
+    return entityCache;
+  }
+
+  /**
+   * Summarizes the hits, misses and evictions of the shared entity cache.
+   *
+   * @return A one-line summary of the metrics of {@link #getEntityCache()}.
+   */
+  public static String getEntityCacheMetrics() {
+    EntityCache cache = getEntityCache();
+    return String.format(
+        "%d entities cached, %d hits, %d misses (%.1f%% hit rate), %d evictions",
+        cache.size(),
+        cache.getHits(),
+        cache.getMisses(),
+        cache.getHitRate() * 100,
+        cache.getEvictions());
+  }
+
   /**
    * Performs all necessary setup steps for running requests against the API.
    *
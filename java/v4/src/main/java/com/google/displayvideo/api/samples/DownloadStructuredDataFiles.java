@@ -15,6 +15,8 @@
 package com.google.displayvideo.api.samples;
 
 import com.beust.jcommander.Parameter;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.util.BackOff;
 import com.google.api.client.util.ExponentialBackOff;
 import com.google.api.services.displayvideo.v4.DisplayVideo;
 import com.google.api.services.displayvideo.v4.DisplayVideo.Media;
@@ -24,6 +26,8 @@ import com.google.api.services.displayvideo.v4.model.Operation;
 import com.google.api.services.displayvideo.v4.model.ParentEntityFilter;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.SdfTaskHistory;
+import com.google.displayvideo.api.samples.utils.SdfTaskJournal;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,6 +37,16 @@ import java.util.List;
  * This example creates a structured data file (SDF) download task using a {@link
  * ParentEntityFilter}, monitors that task, and downloads the resulting structured data files once
  * completed.
+ *
+ * <p>The durations of completed tasks are recorded locally, so that later tasks with the same
+ * filter type, file types and a similar number of filtered entities are polled around the time
+ * they are expected to complete.
+ *
+ * <p>Created operations and their states are journaled locally. If a run is interrupted, running
+ * the example again with the same parameters reattaches to the journaled operation instead of
+ * creating a new task, and skips the download if the output file is already complete. Set {@code
+ * --forceNewTask} to create a new task and download fresh files regardless, for example on
+ * recurring runs.
  */
 public class DownloadStructuredDataFiles {
 
@@ -72,6 +86,12 @@ public class DownloadStructuredDataFiles {
         names = ArgumentNames.FILTER_IDS,
         description = "The ids of the specified filter type to filter the fetched entities by.")
     public List<Long> filterIds;
+
+    @Parameter(
+        names = ArgumentNames.FORCE_NEW_TASK,
+        arity = 1,
+        description = "Whether to create a new task even if a journaled one can be reused.")
+    public boolean forceNewTask = false;
   }
 
   public static void main(String[] args) throws Exception {
@@ -111,7 +131,8 @@ public class DownloadStructuredDataFiles {
         params.sdfVersion,
         params.fileTypes,
         params.filterType,
-        params.filterIds);
+        params.filterIds,
+        params.forceNewTask);
   }
 
   public static void runExample(
@@ -121,15 +142,44 @@ public class DownloadStructuredDataFiles {
       String sdfVersion,
       List<String> fileTypes,
       String filterType,
-      List<Long> filterIds)
+      List<Long> filterIds,
+      boolean forceNewTask)
       throws Exception {
 
-    // Build and create SDF Download task.
-    Operation operation =
-        createSdfDownloadTask(service, advertiserId, sdfVersion, fileTypes, filterType, filterIds);
+    // Load the journal of previous runs and the history of previous task durations.
+    SdfTaskJournal journal = new SdfTaskJournal(DisplayVideoFactory.getDataStoreFactory());
+    String journalKey =
+        SdfTaskJournal.getTaskKey(
+            advertiserId, sdfVersion, fileTypes, filterType, filterIds, outputFile);
+    SdfTaskHistory history = new SdfTaskHistory(DisplayVideoFactory.getDataStoreFactory());
+    String historyKey = SdfTaskHistory.getTaskKey(filterType, fileTypes, filterIds.size());
+
+    // Skip the task if a previous run already downloaded its files and they are unchanged.
+    SdfTaskJournal.Entry entry = forceNewTask ? null : journal.get(journalKey);
+    if (entry != null && SdfTaskJournal.isDownloadIntact(entry, outputFile)) {
+      System.out.printf(
+          "Operation %s was already downloaded to %s.%n", entry.getOperationName(), outputFile);
+      return;
+    }
+
+    // Reattach to the operation of an interrupted run, or build and create SDF Download task.
+    Operation operation = reattachToTask(service, entry);
+    boolean reattached = operation != null;
+    if (!reattached) {
+      operation =
+          createSdfDownloadTask(
+              service, advertiserId, sdfVersion, fileTypes, filterType, filterIds);
+      journal.recordCreated(
+          journalKey,
+          operation.getName(),
+          String.format(
+              "advertiser %d, version %s, file types %s, filter %s %s",
+              advertiserId, sdfVersion, fileTypes, filterType, filterIds));
+    }
+    long startMillis = System.currentTimeMillis();
 
-    // Get current status of operation with exponential backoff retry logic.
-    Operation completedOperation = waitForTask(service, operation);
+    // Get current status of operation, polling around the time similar tasks have completed.
+    Operation completedOperation = waitForTask(service, operation, getBackOff(history, historyKey));
 
     // Check whether operation is not done and timed out, if it finished with an error, or is
     // completed and ready to download.
@@ -139,16 +189,54 @@ public class DownloadStructuredDataFiles {
       System.out.printf(
           "The operation finished in error with code %s: %s%n",
           completedOperation.getError().getCode(), completedOperation.getError().getMessage());
+      journal.recordFailed(journalKey);
       return;
     } else {
       System.out.printf(
           "The operation completed successfully. Resource %s was created.%n",
           completedOperation.getResponse().get("resourceName").toString());
+      journal.recordSucceeded(
+          journalKey, completedOperation.getResponse().get("resourceName").toString());
+
+      // Record the task duration for future polling schedules. The duration observed after
+      // reattaching to a task does not include the time before the interruption.
+      if (!reattached) {
+        history.record(
+            historyKey,
+            SdfTaskHistory.getDurationMillis(
+                completedOperation, System.currentTimeMillis() - startMillis));
+      }
     }
 
     // Download resulting SDFs to specified output file.
     downloadFile(
         service, completedOperation.getResponse().get("resourceName").toString(), outputFile);
+    journal.recordDownloaded(journalKey, outputFile);
+  }
+
+  private static Operation reattachToTask(DisplayVideo service, SdfTaskJournal.Entry entry)
+      throws Exception {
+
+    // Tasks that failed, were downloaded, are too old or were never journaled are created again.
+    if (entry == null || !SdfTaskJournal.isInFlight(entry)) {
+      return null;
+    }
+
+    try {
+      // Get current status of the journaled operation.
+      Operation operation =
+          service.sdfdownloadtasks().operations().get(entry.getOperationName()).execute();
+      System.out.printf("Reattached to operation %s.%n", operation.getName());
+      return operation;
+    } catch (GoogleJsonResponseException e) {
+      if (e.getStatusCode() == 404) {
+        System.out.printf(
+            "Operation %s no longer exists and will be created again.%n",
+            entry.getOperationName());
+        return null;
+      }
+      throw e;
+    }
   }
 
   private static Operation createSdfDownloadTask(
@@ -185,23 +273,30 @@ public class DownloadStructuredDataFiles {
     return operationResponse;
   }
 
-  private static Operation waitForTask(DisplayVideo service, Operation operation) throws Exception {
-
-    // Configure the Operations.get request.
-    Sdfdownloadtasks.Operations.Get operationRequest =
-        service.sdfdownloadtasks().operations().get(operation.getName());
+  private static BackOff getBackOff(SdfTaskHistory history, String taskKey) throws Exception {
 
-    // Configure exponential backoff for checking the status of our operation.
-    ExponentialBackOff backOff =
+    // Configure exponential backoff for checking the status of our operation, used until enough
+    // similar tasks have been recorded.
+    ExponentialBackOff defaultBackOff =
         new ExponentialBackOff.Builder()
             .setInitialIntervalMillis(5000) // setting initial interval to five seconds
             .setMaxIntervalMillis(300000) // setting max interval to five minutes
             .setMaxElapsedTimeMillis(18000000) // setting max elapsed time to five hours
             .build();
 
+    return history.getBackOff(taskKey, defaultBackOff);
+  }
+
+  private static Operation waitForTask(DisplayVideo service, Operation operation, BackOff backOff)
+      throws Exception {
+
+    // Configure the Operations.get request.
+    Sdfdownloadtasks.Operations.Get operationRequest =
+        service.sdfdownloadtasks().operations().get(operation.getName());
+
     while (operation.getDone() == null) {
       long backoffMillis = backOff.nextBackOffMillis();
-      if (backoffMillis == ExponentialBackOff.STOP) {
+      if (backoffMillis == BackOff.STOP) {
         System.out.printf("The operation has taken more than five hours to complete.%n");
         return operation;
       }
@@ -220,11 +315,10 @@ public class DownloadStructuredDataFiles {
     // Configure the Media.download request.
     Media.Download downloadRequest = service.media().download(resourceName);
 
-    // Create output stream for downloaded file.
-    FileOutputStream outStream = new FileOutputStream(outputFile);
-
-    // Download file.
-    downloadRequest.executeMediaAndDownloadTo(outStream);
+    // Create output stream for downloaded file and download file.
+    try (FileOutputStream outStream = new FileOutputStream(outputFile)) {
+      downloadRequest.executeMediaAndDownloadTo(outStream);
+    }
 
     System.out.printf("File downloaded to %s%n", outputFile);
   }
@@ -22,11 +22,17 @@ import com.google.api.services.displayvideo.v4.model.LineItem;
 import com.google.api.services.displayvideo.v4.model.MobileApp;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.LineItemTemplateCache;
 
 /**
  * This example generates a default line item under the given Display &amp; Video 360 insertion
  * order. The line item will inherit settings, including targeting, from the insertion order. If
  * generating a Mobile App Install line item, an app ID must be provided.
+ *
+ * <p>With the template cache enabled, the default settings generated for an insertion order and
+ * line item type are cached locally, and later line items are created from them directly. The
+ * targeting the insertion order gave the generated line item is cached with the template and
+ * assigned to every line item created from it.
  */
 public class GenerateDefaultLineItem {
 
@@ -63,6 +69,12 @@ public class GenerateDefaultLineItem {
                 + "line item type is either LINE_ITEM_TYPE_DISPLAY_MOBILE_APP_INSTALL or "
                 + "LINE_ITEM_TYPE_VIDEO_MOBILE_APP_INSTALL.")
     public String appId;
+
+    @Parameter(
+        names = ArgumentNames.USE_TEMPLATE_CACHE,
+        arity = 1,
+        description = "Whether to create the line item from a cached template of default settings.")
+    public boolean useTemplateCache = false;
   }
 
   public static void main(String[] args) throws Exception {
@@ -91,7 +103,8 @@ public class GenerateDefaultLineItem {
         params.insertionOrderId,
         params.displayName,
         params.lineItemType,
-        params.appId);
+        params.appId,
+        params.useTemplateCache);
   }
 
   public static void runExample(
@@ -100,7 +113,8 @@ public class GenerateDefaultLineItem {
       long insertionOrderId,
       String displayName,
       String lineItemType,
-      String appId)
+      String appId,
+      boolean useTemplateCache)
       throws Exception {
 
     // Create the generateDefault request structure.
@@ -120,6 +134,25 @@ public class GenerateDefaultLineItem {
       generateDefaultLineItemRequest.setMobileApp(new MobileApp().setAppId(appId));
     }
 
+    // Create the line item from a cached template, generating the template on a cache miss.
+    if (useTemplateCache) {
+      LineItemTemplateCache templateCache =
+          new LineItemTemplateCache(service, DisplayVideoFactory.getDataStoreFactory());
+      MobileApp mobileApp = generateDefaultLineItemRequest.getMobileApp();
+      LineItem lineItem =
+          templateCache.createLineItem(
+              advertiserId,
+              insertionOrderId,
+              lineItemType,
+              mobileApp == null ? null : mobileApp.getAppId(),
+              displayName);
+      System.out.printf(
+          "LineItem %s was created %s.%n",
+          lineItem.getName(),
+          templateCache.getHits() > 0 ? "from a cached template" : "with generateDefault");
+      return;
+    }
+
     // Build the request.
     LineItems.GenerateDefault request =
         service
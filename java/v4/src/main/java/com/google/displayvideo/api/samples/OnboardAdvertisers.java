@@ -0,0 +1,163 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.AdvertiserOnboarder;
+import com.google.displayvideo.api.samples.utils.AdvertiserOnboarder.Result;
+import com.google.displayvideo.api.samples.utils.AdvertiserOnboarder.Row;
+import com.google.displayvideo.api.samples.utils.AdvertiserOnboarder.Status;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This example onboards many advertisers under the given Display &amp; Video 360 partner from a
+ * CSV file, such as:
+ *
+ * <pre>
+ * displayName,domainUrl,currencyCode,billingProfileId
+ * Acme Shoes,https://shoes.example.com,USD,
+ * Acme Hats,https://hats.example.com,EUR,4321
+ * </pre>
+ *
+ * <p>Created advertisers are checkpointed, so running the example again with the same file only
+ * creates the advertisers that were not created yet.
+ */
+public class OnboardAdvertisers {
+
+  private static class OnboardAdvertisersParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.PARTNER_ID,
+        description = "The ID of the parent partner of the advertisers to be created.",
+        required = true)
+    public Long partnerId;
+
+    @Parameter(
+        names = ArgumentNames.INPUT_FILE,
+        description = "The path to the CSV file describing the advertisers to be created.",
+        required = true)
+    public String inputFile;
+
+    @Parameter(
+        names = ArgumentNames.BILLING_PROFILE_ID,
+        description = "The billing profile ID of the advertisers without one in the file.")
+    public Long billingProfileId;
+
+    @Parameter(
+        names = ArgumentNames.CREATE_THREADS,
+        description = "The number of advertisers to create concurrently.")
+    public int createThreads = 4;
+
+    @Parameter(
+        names = ArgumentNames.MAX_REQUESTS_PER_SECOND,
+        description = "The maximum number of create requests per second for the partner.")
+    public double maxRequestsPerSecond = 1;
+  }
+
+  public static void main(String[] args) throws Exception {
+    OnboardAdvertisersParams params = new OnboardAdvertisersParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.partnerId = Long.valueOf("INSERT_PARTNER_ID_HERE");
+      params.inputFile = "INSERT_INPUT_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(
+        service,
+        params.partnerId,
+        params.inputFile,
+        params.billingProfileId,
+        params.createThreads,
+        params.maxRequestsPerSecond);
+  }
+
+  public static void runExample(
+      DisplayVideo service,
+      long partnerId,
+      String inputFile,
+      Long billingProfileId,
+      int createThreads,
+      double maxRequestsPerSecond)
+      throws Exception {
+
+    // Read the advertisers to onboard.
+    List<Row> rows = AdvertiserOnboarder.readRows(inputFile);
+
+    // Create the advertisers that were not created by an earlier run.
+    List<Result> results;
+    try (AdvertiserOnboarder onboarder =
+        new AdvertiserOnboarder(
+            service,
+            DisplayVideoFactory.getDataStoreFactory(),
+            createThreads,
+            maxRequestsPerSecond)) {
+      results = onboarder.onboard(partnerId, billingProfileId, rows);
+    }
+
+    // Display the result of every row.
+    Map<Status, Integer> counts = new EnumMap<>(Status.class);
+    for (Result result : results) {
+      counts.merge(result.getStatus(), 1, Integer::sum);
+      String advertiser = "advertiser '" + result.getRow().getDisplayName() + "'";
+      switch (result.getStatus()) {
+        case CREATED:
+          System.out.printf(
+              "Row %d: %s was created as %d.%n",
+              result.getIndex() + 1, advertiser, result.getAdvertiserId());
+          break;
+        case ALREADY_CREATED:
+          System.out.printf(
+              "Row %d: %s was already created as %d.%n",
+              result.getIndex() + 1, advertiser, result.getAdvertiserId());
+          break;
+        case INVALID:
+          System.out.printf(
+              "Row %d: %s is invalid: %s%n",
+              result.getIndex() + 1, advertiser, result.getError().getMessage());
+          break;
+        case FAILED:
+          System.out.printf(
+              "Row %d: %s could not be created: %s%n",
+              result.getIndex() + 1, advertiser, result.getError().getMessage());
+          break;
+      }
+      if (result.getAdvertiserId() != null && result.getError() != null) {
+        System.out.printf(
+            "Row %d: warning: %s could not be checkpointed: %s%n",
+            result.getIndex() + 1, advertiser, result.getError().getMessage());
+      }
+    }
+    System.out.printf(
+        "%d created, %d already created, %d invalid and %d failed.%n",
+        counts.getOrDefault(Status.CREATED, 0),
+        counts.getOrDefault(Status.ALREADY_CREATED, 0),
+        counts.getOrDefault(Status.INVALID, 0),
+        counts.getOrDefault(Status.FAILED, 0));
+  }
+}
@@ -0,0 +1,150 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.HierarchyProvisioner;
+import com.google.displayvideo.api.samples.utils.HierarchyProvisioner.EntityType;
+import com.google.displayvideo.api.samples.utils.HierarchyProvisioner.Report;
+import com.google.displayvideo.api.samples.utils.HierarchyProvisioner.Result;
+import com.google.displayvideo.api.samples.utils.HierarchyProvisioner.Status;
+import com.google.displayvideo.api.samples.utils.ProvisioningSpec;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This example provisions an advertiser, campaign, insertion order and line item hierarchy from a
+ * JSON spec file, as described in {@link ProvisioningSpec}.
+ *
+ * <p>Every entity is created as soon as its parent exists, so sibling entities are created in
+ * parallel. Progress is displayed as entities are created, followed by a latency report per entity
+ * type.
+ */
+public class ProvisionHierarchy {
+
+  private static class ProvisionHierarchyParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.INPUT_FILE,
+        description = "The path to the JSON spec file describing the hierarchy.",
+        required = true)
+    public String inputFile;
+
+    @Parameter(
+        names = ArgumentNames.CREATE_THREADS,
+        description = "The number of entities to create concurrently.")
+    public int createThreads = 4;
+  }
+
+  public static void main(String[] args) throws Exception {
+    ProvisionHierarchyParams params = new ProvisionHierarchyParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.inputFile = "INSERT_INPUT_FILE_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(service, params.inputFile, params.createThreads);
+  }
+
+  public static void runExample(DisplayVideo service, String inputFile, int createThreads)
+      throws Exception {
+
+    // Read the spec.
+    ProvisioningSpec spec = ProvisioningSpec.read(inputFile);
+    int total = spec.getEntityCount();
+
+    // Provision the hierarchy, displaying every entity as it completes.
+    AtomicInteger completed = new AtomicInteger();
+    Report report;
+    try (HierarchyProvisioner provisioner =
+        new HierarchyProvisioner(
+            service,
+            DisplayVideoFactory.getEntityCache(),
+            createThreads,
+            result -> printProgress(completed, total, result))) {
+      report = provisioner.provision(spec);
+    }
+
+    // Display the report.
+    System.out.printf(
+        "%-16s %8s %8s %8s %8s %8s %8s %8s%n",
+        "Entity", "Created", "Existing", "Failed", "Skipped", "p50 ms", "p95 ms", "Max ms");
+    for (EntityType type : EntityType.values()) {
+      System.out.printf(
+          "%-16s %8d %8d %8d %8d %8d %8d %8d%n",
+          describe(type),
+          report.getCount(type, Status.CREATED),
+          report.getCount(type, Status.EXISTING),
+          report.getCount(type, Status.FAILED),
+          report.getCount(type, Status.SKIPPED),
+          report.getLatencyMillis(type, 50),
+          report.getLatencyMillis(type, 95),
+          report.getLatencyMillis(type, 100));
+    }
+    System.out.printf(
+        "The hierarchy of %d entities was provisioned in %.1f seconds.%n",
+        total, report.getElapsedMillis() / 1000.0);
+    System.out.printf("Entity cache: %s%n", DisplayVideoFactory.getEntityCacheMetrics());
+  }
+
+  private static synchronized void printProgress(
+      AtomicInteger completed, int total, Result result) {
+    String entity = describe(result.getType()) + " " + result.getDisplayName();
+    switch (result.getStatus()) {
+      case CREATED:
+        System.out.printf(
+            "[%d/%d] Created %s as %d in %d ms.%n",
+            completed.incrementAndGet(),
+            total,
+            entity,
+            result.getId(),
+            result.getLatencyMillis());
+        break;
+      case EXISTING:
+        System.out.printf(
+            "[%d/%d] Using existing %s %d.%n",
+            completed.incrementAndGet(),
+            total,
+            describe(result.getType()),
+            result.getId());
+        break;
+      case FAILED:
+        System.out.printf(
+            "[%d/%d] Failed to create %s: %s%n",
+            completed.incrementAndGet(), total, entity, result.getError().getMessage());
+        break;
+      case SKIPPED:
+        System.out.printf(
+            "[%d/%d] Skipped %s, because its parent was not created.%n",
+            completed.incrementAndGet(), total, entity);
+        break;
+    }
+  }
+
+  private static String describe(EntityType type) {
+    return type.name().toLowerCase().replace('_', ' ');
+  }
+}
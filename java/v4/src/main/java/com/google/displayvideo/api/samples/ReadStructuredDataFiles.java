@@ -0,0 +1,123 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.SdfColumnarCache;
+import com.google.displayvideo.api.samples.utils.SdfReader;
+import com.google.displayvideo.api.samples.utils.SdfTable;
+import java.io.File;
+import java.util.Map;
+
+/**
+ * This example parses the structured data files (SDFs) in an archive downloaded by {@link
+ * DownloadStructuredDataFiles} and displays the number of rows in each file. The files are parsed
+ * in parallel, and large files are split into pieces that are parsed in parallel as well.
+ *
+ * <p>If a cache file is given, the parsed files are also written to it in a columnar binary format.
+ * Later runs open the cache instead of parsing the archive again, as long as the cache is newer
+ * than the archive.
+ */
+public class ReadStructuredDataFiles {
+
+  private static class ReadStructuredDataFilesParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.INPUT_FILE,
+        description = "The path to the downloaded SDF zip file to read.",
+        required = true)
+    public String inputFile;
+
+    @Parameter(
+        names = ArgumentNames.PRESERVE_ORDER,
+        arity = 1,
+        description = "Whether to keep files in archive order and rows in file order.")
+    public boolean preserveOrder = true;
+
+    @Parameter(
+        names = ArgumentNames.CACHE_FILE,
+        description = "The path to the columnar cache file to read or create for the archive.")
+    public String cacheFile;
+  }
+
+  public static void main(String[] args) throws Exception {
+    ReadStructuredDataFilesParams params = new ReadStructuredDataFilesParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.inputFile = "INSERT_INPUT_FILE_HERE";
+    }
+
+    runExample(params.inputFile, params.preserveOrder, params.cacheFile);
+  }
+
+  public static void runExample(String inputFile, boolean preserveOrder, String cacheFile)
+      throws Exception {
+
+    // Read from the cache if it is up to date.
+    if (cacheFile != null
+        && new File(cacheFile).exists()
+        && new File(cacheFile).lastModified() >= new File(inputFile).lastModified()) {
+      readCache(cacheFile);
+      return;
+    }
+
+    // Configure the reader to use all available processors.
+    SdfReader reader =
+        new SdfReader(
+            Runtime.getRuntime().availableProcessors(),
+            SdfReader.DEFAULT_SPLIT_SIZE,
+            preserveOrder);
+
+    // Parse all files in the archive.
+    long startNanos = System.nanoTime();
+    Map<String, SdfTable> tables = reader.readArchive(inputFile);
+    long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+    // Display the number of rows in each file.
+    for (SdfTable table : tables.values()) {
+      System.out.printf(
+          "File %s contains %d rows and %d columns.%n",
+          table.getName(), table.getRowCount(), table.getHeader().length);
+    }
+    System.out.printf("Parsed %d files in %d ms.%n", tables.size(), elapsedMillis);
+
+    // Write the parsed files to the cache for later runs.
+    if (cacheFile != null) {
+      SdfColumnarCache.write(tables, cacheFile);
+      System.out.printf("Cache written to %s%n", cacheFile);
+    }
+  }
+
+  private static void readCache(String cacheFile) throws Exception {
+    long startNanos = System.nanoTime();
+    try (SdfColumnarCache cache = SdfColumnarCache.open(cacheFile)) {
+      long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+      // Display the number of rows in each cached file.
+      for (String name : cache.getTableNames()) {
+        SdfColumnarCache.Table table = cache.getTable(name);
+        System.out.printf(
+            "File %s contains %d rows and %d columns.%n",
+            name, table.getRowCount(), table.getColumnNames().size());
+      }
+      System.out.printf(
+          "Opened cache of %d files in %d ms.%n", cache.getTableNames().size(), elapsedMillis);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples;
+
+import com.beust.jcommander.Parameter;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.displayvideo.api.samples.utils.ArgumentNames;
+import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.LineItemStatusSweeper;
+import com.google.displayvideo.api.samples.utils.LineItemStatusSweeper.Report;
+import com.google.displayvideo.api.samples.utils.LineItemStatusUpdater.Result;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * This example sets the entity status of every line item matching a filter, such as all the line
+ * items of a campaign ({@code campaignId="1234"}) or of an insertion order ({@code
+ * insertionOrderId="5678"}). It sweeps either one advertiser or every advertiser of a partner.
+ *
+ * <p>The line items are listed with only their IDs and entity statuses, and the matching line items
+ * are patched in batch requests while the following pages are still being listed.
+ */
+public class SweepLineItemStatus {
+
+  private static class SweepLineItemStatusParams extends CodeSampleParams {
+
+    @Parameter(
+        names = ArgumentNames.ADVERTISER_ID,
+        description = "The ID of the advertiser to sweep. Either this or a partner ID is required.")
+    public Long advertiserId;
+
+    @Parameter(
+        names = ArgumentNames.PARTNER_ID,
+        description = "The ID of the partner whose advertisers to sweep.")
+    public Long partnerId;
+
+    @Parameter(
+        names = ArgumentNames.FILTER,
+        description = "The filter of the line items to update, such as campaignId=\"1234\".")
+    public String filter;
+
+    @Parameter(
+        names = ArgumentNames.ENTITY_STATUS,
+        description = "The entity status to set, such as ENTITY_STATUS_ACTIVE.")
+    public String entityStatus = "ENTITY_STATUS_PAUSED";
+
+    @Parameter(
+        names = ArgumentNames.BATCH_SIZE,
+        description = "The number of line items to update per batch request.")
+    public int batchSize = 100;
+
+    @Parameter(
+        names = ArgumentNames.CONCURRENT_BATCHES,
+        description = "The number of batch requests to send concurrently.")
+    public int concurrentBatches = 4;
+  }
+
+  public static void main(String[] args) throws Exception {
+    SweepLineItemStatusParams params = new SweepLineItemStatusParams();
+    if (!params.parseArguments(args)) {
+
+      // Either pass the required parameters for this example on the command line, or insert them
+      // into the code here. See the parameter class definition above for descriptions.
+      params.advertiserId = Long.valueOf("INSERT_ADVERTISER_ID_HERE");
+      params.filter = "INSERT_FILTER_HERE";
+    }
+
+    DisplayVideo service =
+        DisplayVideoFactory.getInstance(
+            params.clientSecretsFile,
+            params.useServiceAccount,
+            params.serviceAccountKeyFile,
+            params.additionalScopes);
+
+    runExample(
+        service,
+        params.advertiserId,
+        params.partnerId,
+        params.filter,
+        params.entityStatus,
+        params.batchSize,
+        params.concurrentBatches);
+  }
+
+  public static void runExample(
+      DisplayVideo service,
+      Long advertiserId,
+      Long partnerId,
+      String filter,
+      String entityStatus,
+      int batchSize,
+      int concurrentBatches)
+      throws Exception {
+    if ((advertiserId == null) == (partnerId == null)) {
+      throw new IllegalArgumentException("Set exactly one of the advertiser ID and partner ID.");
+    }
+
+    // Sweep the line items, patching them as they are listed.
+    Report report;
+    try (LineItemStatusSweeper sweeper =
+        new LineItemStatusSweeper(
+            service, DisplayVideoFactory.getEntityCache(), batchSize, concurrentBatches)) {
+      report =
+          advertiserId != null
+              ? sweeper.sweepAdvertiser(advertiserId, filter, entityStatus)
+              : sweeper.sweepPartner(partnerId, filter, entityStatus);
+    }
+
+    // Display the failed line items and advertisers, and a summary.
+    for (Result result : report.getResults()) {
+      if (result.getError() != null) {
+        System.out.printf(
+            "Line item %d could not be updated: %s%n",
+            result.getLineItemId(), result.getError().getMessage());
+      }
+    }
+    for (Map.Entry<Long, IOException> listError : report.getListErrors().entrySet()) {
+      System.out.printf(
+          "The line items of advertiser %d could not be listed, so rerun the sweep: %s%n",
+          listError.getKey(), listError.getValue().getMessage());
+    }
+    System.out.printf(
+        "%d line items in %d pages and %d repeated passes matched, %d already had status %s, %d"
+            + " were updated and %d failed in %d ms.%n",
+        report.getMatched(),
+        report.getPages(),
+        report.getRepeatedPasses(),
+        report.getUnchanged(),
+        entityStatus,
+        report.getResults().size() - report.getFailed(),
+        report.getFailed(),
+        report.getElapsedMillis());
+  }
+}
@@ -17,7 +17,6 @@ package com.google.displayvideo.api.samples;
 import com.beust.jcommander.Parameter;
 import com.google.api.client.googleapis.media.MediaHttpUploader;
 import com.google.api.client.http.GenericUrl;
-import com.google.api.client.http.InputStreamContent;
 import com.google.api.services.displayvideo.v4.DisplayVideo;
 import com.google.api.services.displayvideo.v4.DisplayVideo.Media;
 import com.google.api.services.displayvideo.v4.model.GoogleBytestreamMedia;
@@ -25,12 +24,14 @@ import com.google.api.services.displayvideo.v4.model.CustomBiddingScriptRef;
 import com.google.api.services.displayvideo.v4.model.CustomBiddingScript;
 import com.google.displayvideo.api.samples.utils.ArgumentNames;
 import com.google.displayvideo.api.samples.utils.CodeSampleParams;
+import com.google.displayvideo.api.samples.utils.CustomBiddingScriptTracker;
+import com.google.displayvideo.api.samples.utils.FileChannelContent;
 
-import java.io.FileInputStream;
+import java.io.File;
 
 /**
  * This example uploads a script file and creates a script resource for the custom bidding
- * algorithm.
+ * algorithm, then waits for the script to be accepted or rejected.
  */
 public class UploadCustomBiddingScript {
 
@@ -97,9 +98,8 @@ public class UploadCustomBiddingScript {
     GoogleBytestreamMedia media = new GoogleBytestreamMedia();
     media.setResourceName(scriptRef.getResourceName());
 
-    // Create input stream for the script file.
-    InputStreamContent scriptFileStream =
-        new InputStreamContent(null, new FileInputStream(scriptPath));
+    // Create file content for the script file.
+    FileChannelContent scriptFileStream = new FileChannelContent(null, new File(scriptPath));
 
     // Create media.upload request.
     Media.Upload uploadRequest =
@@ -129,5 +129,17 @@ public class UploadCustomBiddingScript {
 
     // Display the new script resource name.
     System.out.printf("The following script was created: %s%n", response.getName());
+
+    // Wait for the script to be processed.
+    CustomBiddingScript script;
+    try (CustomBiddingScriptTracker tracker = new CustomBiddingScriptTracker(service)) {
+      script = tracker.track(advertiserId, response).get();
+    }
+
+    // Display the final state of the script, with any errors.
+    System.out.printf("The script is %s.%n", script.getState());
+    if (script.getErrors() != null) {
+      System.out.println(CustomBiddingScriptTracker.formatErrors(script));
+    }
   }
 }
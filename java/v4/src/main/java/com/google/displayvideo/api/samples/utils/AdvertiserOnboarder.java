@@ -0,0 +1,394 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Advertiser;
+import com.google.api.services.displayvideo.v4.model.AdvertiserAdServerConfig;
+import com.google.api.services.displayvideo.v4.model.AdvertiserBillingConfig;
+import com.google.api.services.displayvideo.v4.model.AdvertiserGeneralConfig;
+import com.google.api.services.displayvideo.v4.model.ListAdvertisersResponse;
+import com.google.api.services.displayvideo.v4.model.ThirdPartyOnlyConfig;
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Onboards many advertisers under a partner.
+ *
+ * <p>Advertisers are created concurrently, but no faster than a partner-wide rate of create
+ * requests. Their ad server configuration is one shared template, and their billing configurations
+ * are shared by billing profile, so the templates are never modified once built.
+ *
+ * <p>The ID of every created advertiser is checkpointed in a data store, keyed by partner and
+ * display name, as soon as it is created. A rerun of the same rows skips the advertisers that were
+ * already created, so an interrupted onboarding can be resumed.
+ *
+ * <p>A create request that times out or fails with a server error may still have created the
+ * advertiser, so the partner is then searched for an advertiser with the display name, as {@link
+ * IdempotentCreator} does. A create is checkpointed as pending before its request is sent, so a
+ * rerun searches the same way before creating the advertiser again. This relies on display names
+ * being unique under the partner, so rows with the same display name are rejected.
+ */
+public final class AdvertiserOnboarder implements AutoCloseable {
+
+  private static final String DATA_STORE_ID = "AdvertiserOnboarding";
+
+  /** The outcome of a row. */
+  public enum Status {
+    /** The advertiser was created. */
+    CREATED,
+    /** The advertiser was created by an earlier run, so it was skipped. */
+    ALREADY_CREATED,
+    /** The row was rejected before any request was sent. */
+    INVALID,
+    /** The advertiser could not be created. */
+    FAILED
+  }
+
+  /** The checkpoint of a create whose request was sent but whose advertiser is not known yet. */
+  private static final String PENDING = "";
+
+  private static final AdvertiserAdServerConfig AD_SERVER_CONFIG =
+      new AdvertiserAdServerConfig().setThirdPartyOnlyConfig(new ThirdPartyOnlyConfig());
+
+  private final DisplayVideo service;
+  private final DataStore<String> checkpoints;
+  private final RateLimiter rateLimiter;
+  private final ExecutorService executor;
+  private final ConcurrentMap<Long, AdvertiserBillingConfig> billingConfigs =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates an onboarder.
+   *
+   * @param service The Display &amp; Video 360 service to create advertisers with
+   * @param dataStoreFactory The factory of the data store to checkpoint created advertisers in
+   * @param threads The maximum number of concurrent create requests
+   * @param maxRequestsPerSecond The maximum rate of create requests for the partner
+   */
+  public AdvertiserOnboarder(
+      DisplayVideo service,
+      DataStoreFactory dataStoreFactory,
+      int threads,
+      double maxRequestsPerSecond)
+      throws IOException {
+    this.service = service;
+    this.checkpoints = dataStoreFactory.getDataStore(DATA_STORE_ID);
+    this.rateLimiter = RateLimiter.create(maxRequestsPerSecond);
+    this.executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Reads rows from a CSV file with a header row naming the {@link Row} fields.
+   *
+   * @param path The path to the CSV file
+   * @return The rows, in file order
+   * @throws IOException If the file cannot be read
+   * @throws IllegalArgumentException If the file contains an unknown field or invalid value
+   */
+  public static List<Row> readRows(String path) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(path), UTF_8)) {
+      return CsvParser.readRecords(reader, Row.class);
+    }
+  }
+
+  /**
+   * Creates the advertiser of every row that was not created by an earlier run.
+   *
+   * @param partnerId The ID of the partner to create the advertisers under
+   * @param defaultBillingProfileId The billing profile of rows without one
+   * @param rows The advertisers to create
+   * @return The result of every row, in the order of the rows
+   * @throws IOException If the checkpoints cannot be read
+   * @throws InterruptedException If interrupted while waiting for the advertisers
+   */
+  public List<Result> onboard(long partnerId, Long defaultBillingProfileId, List<Row> rows)
+      throws IOException, InterruptedException {
+    Result[] results = new Result[rows.size()];
+    Set<String> displayNames = new HashSet<>();
+    List<Future<?>> requests = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      int index = i;
+      Row row = rows.get(i);
+      Advertiser advertiser;
+      try {
+        advertiser = build(partnerId, defaultBillingProfileId, row);
+        if (!displayNames.add(row.displayName)) {
+          throw new IllegalArgumentException("Another row already has this display name.");
+        }
+      } catch (IllegalArgumentException e) {
+        results[i] = new Result(index, row, Status.INVALID, null, e);
+        continue;
+      }
+      String key = getCheckpointKey(partnerId, row);
+      String checkpoint = checkpoints.get(key);
+      if (checkpoint != null && !checkpoint.equals(PENDING)) {
+        results[i] = new Result(index, row, Status.ALREADY_CREATED, Long.valueOf(checkpoint), null);
+        continue;
+      }
+      boolean pending = checkpoint != null;
+      requests.add(
+          executor.submit(
+              () -> {
+                results[index] =
+                    createAdvertiser(index, row, partnerId, key, advertiser, pending);
+              }));
+    }
+    for (Future<?> request : requests) {
+      try {
+        request.get();
+      } catch (ExecutionException e) {
+        // Request failures are recorded as the results of their rows.
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /** Removes the checkpoints of all partners, so that every row is created again. */
+  public void clearCheckpoints() throws IOException {
+    checkpoints.clear();
+  }
+
+  /** Waits for started requests to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  /** Validates a row and builds its advertiser. */
+  private Advertiser build(long partnerId, Long defaultBillingProfileId, Row row) {
+    Long billingProfileId =
+        row.billingProfileId == null ? defaultBillingProfileId : row.billingProfileId;
+    if (row.displayName == null || row.domainUrl == null || billingProfileId == null) {
+      throw new IllegalArgumentException(
+          "The displayName, domainUrl and billingProfileId are required.");
+    }
+    return new Advertiser()
+        .setPartnerId(partnerId)
+        .setDisplayName(row.displayName)
+        .setEntityStatus(row.getEntityStatus())
+        .setGeneralConfig(
+            new AdvertiserGeneralConfig()
+                .setDomainUrl(row.domainUrl)
+                .setCurrencyCode(row.getCurrencyCode()))
+        .setAdServerConfig(AD_SERVER_CONFIG)
+        .setBillingConfig(
+            billingConfigs.computeIfAbsent(
+                billingProfileId, id -> new AdvertiserBillingConfig().setBillingProfileId(id)));
+  }
+
+  /**
+   * Creates an advertiser.
+   *
+   * @param pending Whether an earlier run sent a create request for the row without checkpointing
+   *     its outcome
+   */
+  private Result createAdvertiser(
+      int index, Row row, long partnerId, String key, Advertiser advertiser, boolean pending) {
+    try {
+      if (pending) {
+        Long advertiserId = findAdvertiser(partnerId, advertiser.getDisplayName());
+        if (advertiserId != null) {
+          return checkpoint(index, row, Status.ALREADY_CREATED, key, advertiserId);
+        }
+      } else {
+        checkpoints.set(key, PENDING);
+      }
+
+      rateLimiter.acquire();
+      Advertiser created;
+      try {
+        created = service.advertisers().create(advertiser).execute();
+      } catch (IOException e) {
+        if (!isAmbiguous(e)) {
+          // The request was rejected, so nothing was created.
+          checkpoints.delete(key);
+          throw e;
+        }
+        Long advertiserId = findAdvertiser(partnerId, advertiser.getDisplayName());
+        if (advertiserId == null) {
+          throw e;
+        }
+        return checkpoint(index, row, Status.CREATED, key, advertiserId);
+      }
+      return checkpoint(index, row, Status.CREATED, key, created.getAdvertiserId());
+    } catch (Exception e) {
+      return new Result(index, row, Status.FAILED, null, e);
+    }
+  }
+
+  /**
+   * Checkpoints a created advertiser. If the checkpoint cannot be written, the advertiser is still
+   * reported with the checkpoint error, and a rerun finds it through its pending checkpoint.
+   */
+  private Result checkpoint(int index, Row row, Status status, String key, long advertiserId) {
+    try {
+      checkpoints.set(key, String.valueOf(advertiserId));
+      return new Result(index, row, status, advertiserId, null);
+    } catch (IOException e) {
+      return new Result(index, row, status, advertiserId, e);
+    }
+  }
+
+  /**
+   * Finds the advertiser of the partner with a display name.
+   *
+   * @return The ID of the advertiser, or {@code null} if there is none
+   * @throws IllegalStateException If several advertisers have the display name
+   */
+  private Long findAdvertiser(long partnerId, String displayName) throws IOException {
+    List<Long> matches = new ArrayList<>();
+    DisplayVideo.Advertisers.List request =
+        service
+            .advertisers()
+            .list()
+            .setPartnerId(partnerId)
+            .setFilter(IdempotentCreator.displayNameFilter(displayName));
+    String nextPageToken = null;
+    do {
+      ListAdvertisersResponse response = request.setPageToken(nextPageToken).execute();
+      if (response.getAdvertisers() != null) {
+        for (Advertiser match : response.getAdvertisers()) {
+          if (displayName.equals(match.getDisplayName())) {
+            matches.add(match.getAdvertiserId());
+          }
+        }
+      }
+      nextPageToken = response.getNextPageToken();
+    } while (!Strings.isNullOrEmpty(nextPageToken));
+    if (matches.size() > 1) {
+      throw new IllegalStateException(
+          matches.size() + " advertisers match the display name, so the create is ambiguous.");
+    }
+    return matches.isEmpty() ? null : matches.get(0);
+  }
+
+  /** Returns whether a failed create request may have created the advertiser anyway. */
+  private static boolean isAmbiguous(IOException e) {
+    if (e instanceof HttpResponseException) {
+      return ((HttpResponseException) e).getStatusCode() >= 500;
+    }
+    // The request timed out or the connection failed after it may have been processed.
+    return true;
+  }
+
+  private static String getCheckpointKey(long partnerId, Row row) {
+    return HashUtils.sha256OfParts(partnerId, row.displayName);
+  }
+
+  /**
+   * An advertiser to onboard. Settings that are not set default to those of the {@code
+   * CreateAdvertiser} example.
+   */
+  public static final class Row extends GenericJson {
+
+    @Key private String displayName;
+    @Key private String domainUrl;
+    @Key private String currencyCode;
+    @Key private Long billingProfileId;
+    @Key private String entityStatus;
+
+    /** Returns the display name, which identifies the advertiser across runs. */
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    public String getDomainUrl() {
+      return domainUrl;
+    }
+
+    public String getCurrencyCode() {
+      return currencyCode == null ? "USD" : currencyCode;
+    }
+
+    /** Returns the billing profile, or {@code null} to use the default billing profile. */
+    public Long getBillingProfileId() {
+      return billingProfileId;
+    }
+
+    public String getEntityStatus() {
+      return entityStatus == null ? "ENTITY_STATUS_ACTIVE" : entityStatus;
+    }
+  }
+
+  /** The result of a row. */
+  public static final class Result {
+
+    private final int index;
+    private final Row row;
+    private final Status status;
+    private final Long advertiserId;
+    private final Exception error;
+
+    private Result(int index, Row row, Status status, Long advertiserId, Exception error) {
+      this.index = index;
+      this.row = row;
+      this.status = status;
+      this.advertiserId = advertiserId;
+      this.error = error;
+    }
+
+    /** Returns the zero-based index of the row. */
+    public int getIndex() {
+      return index;
+    }
+
+    public Row getRow() {
+      return row;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    /** Returns the ID of the created advertiser, or {@code null} if it could not be created. */
+    public Long getAdvertiserId() {
+      return advertiserId;
+    }
+
+    /**
+     * Returns the error the advertiser failed with, or for a created advertiser the error that kept
+     * it from being checkpointed, or {@code null} if there was none.
+     */
+    public Exception getError() {
+      return error;
+    }
+  }
+}
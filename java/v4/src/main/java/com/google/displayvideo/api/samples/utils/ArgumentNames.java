@@ -27,13 +27,20 @@ public final class ArgumentNames {
   public static final String ALGORITHM_TYPE = "--algorithmType";
   public static final String APP_ID = "--appId";
   public static final String ASSET_PATH = "--assetPath";
+  public static final String BATCH_SIZE = "--batchSize";
   public static final String BILLING_PROFILE_ID = "--billingProfileId";
   public static final String BODY_TEXT = "--bodyText";
   public static final String BROWSER_TARGETING_OPTION_ID = "--browserTargetingOptionId";
+  public static final String CACHE_FILE = "--cacheFile";
   public static final String CALL_TO_ACTION = "--callToAction";
   public static final String CAMPAIGN_ID = "--campaignId";
   public static final String CAPTION_URL = "--captionUrl";
+  public static final String CHUNK_SIZE = "--chunkSize";
+  public static final String CHUNK_SIZES_MB = "--chunkSizesMb";
+  public static final String CONCURRENCY_LEVELS = "--concurrencyLevels";
+  public static final String CONCURRENT_BATCHES = "--concurrentBatches";
   public static final String CREATE_BROWSER_OPTIONS = "--createBrowserOptions";
+  public static final String CREATE_THREADS = "--createThreads";
   public static final String CREATIVE_HEIGHT_PIXELS = "--creativeHeightPixels";
   public static final String CREATIVE_WIDTH_PIXELS = "--creativeWidthPixels";
   public static final String CUSTOM_BIDDING_ALGORITHM_ID = "--customBiddingAlgorithmId";
@@ -42,31 +49,48 @@ public final class ArgumentNames {
   public static final String DISPLAY_NAME = "--displayName";
   public static final String DOMAIN_URL = "--domainUrl";
   public static final String EMAIL_ADDRESS = "--emailAddress";
+  public static final String ENTITY_STATUS = "--entityStatus";
   public static final String EXIT_EVENT_NAME = "--exitEventName";
   public static final String EXIT_EVENT_URL = "--exitEventUrl";
+  public static final String FILE_SIZES_MB = "--fileSizesMb";
   public static final String FILE_TYPES = "--fileTypes";
   public static final String FILTER = "--filter";
   public static final String FILTER_IDS = "--filterIds";
   public static final String FILTER_TYPE = "--filterType";
+  public static final String FORCE_NEW_TASK = "--forceNewTask";
   public static final String HAS_ADVERTISER_ROLE = "--hasAdvertiserRole";
   public static final String HAS_PARTNER_ROLE = "--hasPartnerRole";
   public static final String HEADLINE = "--headline";
+  public static final String IDEMPOTENT = "--idempotent";
+  public static final String INPUT_FILE = "--inputFile";
   public static final String INSERTION_ORDER_ID = "--insertionOrderId";
   public static final String LANDING_PAGE_URL = "--landingPageUrl";
   public static final String LINE_ITEM_ID = "--lineItemId";
   public static final String LINE_ITEM_IDS = "--lineItemIds";
   public static final String LINE_ITEM_TYPE = "--lineItemType";
   public static final String LOGO_ASSET_PATH = "--logoAssetPath";
+  public static final String MANIFEST_FILE = "--manifestFile";
   public static final String MAX_AVERAGE_CPM_BID_AMOUNT_MICROS = "--maxAverageCpmBidAmountMicros";
+  public static final String MAX_CONCURRENT_PER_INSERTION_ORDER =
+      "--maxConcurrentPerInsertionOrder";
+  public static final String MAX_REQUESTS_PER_SECOND = "--maxRequestsPerSecond";
+  public static final String MAX_UPLOAD_BYTES_PER_SECOND = "--maxUploadBytesPerSecond";
+  public static final String NEW_FILE = "--newFile";
+  public static final String OLD_FILE = "--oldFile";
   public static final String OUTPUT_FILE = "--outputFile";
   public static final String PARENT_PARTNER_ID = "--parentPartnerId";
   public static final String PARTNER_ID = "--partnerId";
   public static final String PARTNER_ROLE = "--partnerRole";
   public static final String PERFORMANCE_GOAL_AMOUNT_MICROS = "--performanceGoalAmountMicros";
+  public static final String PRESERVE_ORDER = "--preserveOrder";
   public static final String REMOVE_ADVERTISER_ID = "--removeAdvertiserId";
   public static final String REMOVE_PARTNER_ID = "--removePartnerId";
+  public static final String REQUEST_THREADS = "--requestThreads";
   public static final String SCRIPT_PATH = "--scriptPath";
   public static final String SDF_VERSION = "--sdfVersion";
+  public static final String UPLOAD_THREADS = "--uploadThreads";
+  public static final String UPLOADS_PER_SETTING = "--uploadsPerSetting";
+  public static final String USE_TEMPLATE_CACHE = "--useTemplateCache";
   public static final String USER_ROLE = "--userRole";
   public static final String USER_ID = "--userId";
   public static final String VIDEO_ASSET_PATH = "--videoAssetPath";
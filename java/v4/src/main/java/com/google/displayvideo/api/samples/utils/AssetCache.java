@@ -0,0 +1,95 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local content-addressed cache of uploaded creative assets. Assets are keyed by the SHA-256 hash
+ * of their file contents and the advertiser they were uploaded under, and map to the media ID
+ * returned by the upload, so the same file is uploaded at most once per advertiser.
+ */
+public final class AssetCache {
+
+  private static final String DATA_STORE_ID = "AssetCache";
+
+  private final DataStore<Long> mediaIds;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public AssetCache(DataStoreFactory dataStoreFactory) throws IOException {
+    this.mediaIds = dataStoreFactory.getDataStore(DATA_STORE_ID);
+  }
+
+  /**
+   * Looks up the media ID of a previously uploaded asset.
+   *
+   * @param advertiserId The ID of the advertiser the asset is uploaded under
+   * @param sha256 The SHA-256 hash of the asset file
+   * @return The media ID, or {@code null} if the asset has not been uploaded
+   */
+  public Long getMediaId(long advertiserId, String sha256) throws IOException {
+    Long mediaId = mediaIds.get(key(advertiserId, sha256));
+    if (mediaId == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return mediaId;
+  }
+
+  /**
+   * Records the media ID of an uploaded asset.
+   *
+   * @param advertiserId The ID of the advertiser the asset was uploaded under
+   * @param sha256 The SHA-256 hash of the asset file
+   * @param mediaId The media ID returned by the upload
+   */
+  public void putMediaId(long advertiserId, String sha256, long mediaId) throws IOException {
+    mediaIds.set(key(advertiserId, sha256), mediaId);
+  }
+
+  /** Returns the number of lookups that found a previously uploaded asset. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of lookups that required an upload. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Returns the fraction of lookups that found a previously uploaded asset. */
+  public double getHitRate() {
+    long total = hits.get() + misses.get();
+    return total == 0 ? 0 : (double) hits.get() / total;
+  }
+
+  /** Formats the lookup counts and hit rate as a sentence for display. */
+  public String formatMetrics() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return String.format(
+        "%d of %d assets were found in the asset cache (%.0f%% hit rate).",
+        hitCount, total, total == 0 ? 0 : 100.0 * hitCount / total);
+  }
+
+  private static String key(long advertiserId, String sha256) {
+    return advertiserId + ":" + sha256;
+  }
+}
@@ -0,0 +1,152 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local HTTP server that stands in for the Display &amp; Video 360 asset upload endpoint, so
+ * that uploads can be measured without network or API variance.
+ *
+ * <p>The server accepts single-request uploads and the resumable upload protocol, discards the
+ * uploaded bytes and responds with a new media ID. Point a {@code DisplayVideo} client at it with
+ * {@link #getRootUrl}.
+ */
+public final class AssetUploadStubServer implements AutoCloseable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final ConcurrentMap<String, AtomicLong> sessions = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong(1);
+  private final AtomicLong receivedBytes = new AtomicLong();
+
+  /**
+   * Starts a server on a free local port.
+   *
+   * @param threads The number of requests the server handles concurrently
+   */
+  public AssetUploadStubServer(int threads) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    executor = Executors.newFixedThreadPool(threads);
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  /** Returns the root URL to configure the client with. */
+  public String getRootUrl() {
+    return "http://"
+        + server.getAddress().getAddress().getHostAddress()
+        + ":"
+        + server.getAddress().getPort()
+        + "/";
+  }
+
+  /** Returns the total number of uploaded bytes received. */
+  public long getReceivedBytes() {
+    return receivedBytes.get();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String query = exchange.getRequestURI().getRawQuery();
+      if ("POST".equals(exchange.getRequestMethod())
+          && query != null
+          && query.contains("uploadType=resumable")) {
+        startSession(exchange);
+      } else if ("PUT".equals(exchange.getRequestMethod())) {
+        uploadChunk(exchange);
+      } else {
+        discard(exchange.getRequestBody());
+        respondWithAsset(exchange);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void startSession(HttpExchange exchange) throws IOException {
+    discard(exchange.getRequestBody());
+    String sessionId = Long.toString(nextId.getAndIncrement());
+    sessions.put(sessionId, new AtomicLong());
+    exchange.getResponseHeaders().set("Location", getRootUrl() + "sessions/" + sessionId);
+    exchange.sendResponseHeaders(200, -1);
+  }
+
+  private void uploadChunk(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    AtomicLong received = sessions.get(path.substring(path.lastIndexOf('/') + 1));
+    if (received == null) {
+      exchange.sendResponseHeaders(404, -1);
+      return;
+    }
+
+    // The header has the form "bytes <first>-<last>/<total>" or "bytes */<total>".
+    String range = exchange.getRequestHeaders().getFirst("Content-Range");
+    long total = Long.parseLong(range.substring(range.indexOf('/') + 1));
+    received.addAndGet(discard(exchange.getRequestBody()));
+
+    if (received.get() >= total) {
+      respondWithAsset(exchange);
+    } else {
+      if (received.get() > 0) {
+        exchange.getResponseHeaders().set("Range", "bytes=0-" + (received.get() - 1));
+      }
+      exchange.sendResponseHeaders(308, -1);
+    }
+  }
+
+  private void respondWithAsset(HttpExchange exchange) throws IOException {
+    byte[] body =
+        ("{\"asset\": {\"mediaId\": \"" + nextId.getAndIncrement() + "\"}}").getBytes(UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private long discard(InputStream in) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long total = 0;
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      total += read;
+    }
+    receivedBytes.addAndGet(total);
+    return total;
+  }
+}
@@ -0,0 +1,97 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Asset;
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads creative assets concurrently on a shared pool of upload threads.
+ *
+ * <p>All uploads started by an uploader share its threads and, if set, its byte rate limit, so
+ * several creatives can be built at once without exceeding the available bandwidth. A file that is
+ * already being uploaded under an advertiser is only uploaded once. Files that finished uploading
+ * are deduplicated by the {@link AssetCache} instead, so completed uploads are not kept.
+ */
+public final class AssetUploader implements AutoCloseable {
+
+  private final DisplayVideo service;
+  private final AssetCache cache;
+  private final RateLimiter byteRateLimiter;
+  private final ExecutorService executor;
+  /** The uploads in progress, keyed by advertiser and absolute path. */
+  private final ConcurrentMap<String, CompletableFuture<Asset>> uploads =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates an uploader.
+   *
+   * @param service The Display &amp; Video 360 service to upload with
+   * @param cache The cache of uploaded assets, or {@code null} to always upload files
+   * @param threads The maximum number of concurrent uploads
+   * @param maxBytesPerSecond The maximum total upload rate, or 0 for no limit
+   */
+  public AssetUploader(
+      DisplayVideo service, AssetCache cache, int threads, double maxBytesPerSecond) {
+    this.service = service;
+    this.cache = cache;
+    this.byteRateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+    this.executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Starts uploading the given file as a creative asset under the given advertiser.
+   *
+   * @return A future completed with the created asset, or with an asset with only the media ID set
+   *     if the file was cached
+   */
+  public CompletableFuture<Asset> upload(long advertiserId, String path) {
+    String key = advertiserId + ":" + new File(path).getAbsolutePath();
+    CompletableFuture<Asset> upload =
+        uploads.computeIfAbsent(
+            key,
+            k ->
+                CompletableFuture.supplyAsync(
+                    () -> {
+                      try {
+                        return CreativeUtils.uploadAsset(
+                            service, advertiserId, path, cache, byteRateLimiter);
+                      } catch (Exception e) {
+                        throw new CompletionException(e);
+                      }
+                    },
+                    executor));
+
+    // Forget the upload once it completes. A failed upload can then be retried by a later call.
+    upload.whenComplete((asset, e) -> uploads.remove(key, upload));
+    return upload;
+  }
+
+  /** Waits for started uploads to finish and releases the upload threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+}
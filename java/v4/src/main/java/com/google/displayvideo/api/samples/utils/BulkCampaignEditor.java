@@ -0,0 +1,604 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers.Campaigns;
+import com.google.api.services.displayvideo.v4.model.Campaign;
+import com.google.api.services.displayvideo.v4.model.CampaignFlight;
+import com.google.api.services.displayvideo.v4.model.CampaignGoal;
+import com.google.api.services.displayvideo.v4.model.Date;
+import com.google.api.services.displayvideo.v4.model.DateRange;
+import com.google.api.services.displayvideo.v4.model.FrequencyCap;
+import com.google.api.services.displayvideo.v4.model.ListCampaignsResponse;
+import com.google.api.services.displayvideo.v4.model.PerformanceGoal;
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates campaigns, and updates the planned dates and frequency cap of existing campaigns, in
+ * bulk.
+ *
+ * <p>The existing campaigns of every advertiser are read once, through a single paged list request
+ * that returns only the fields needed to compare them. A row that names an existing campaign by ID
+ * or display name is patched with an update mask of only the fields that differ, and is left alone
+ * if none do. Other rows create a new campaign. The advertisers are listed, and the rows are then
+ * created or patched, concurrently. If the campaigns of an advertiser cannot be listed, the rows of
+ * that advertiser fail and the other rows are still applied.
+ *
+ * <p>Created and patched campaigns are put in an {@link EntityCache}. A campaign whose patch failed
+ * is invalidated, since the failure may have come after the patch was applied.
+ */
+public final class BulkCampaignEditor implements AutoCloseable {
+
+  /** The outcome of a row. */
+  public enum Status {
+    /** A new campaign was created. */
+    CREATED,
+    /** An existing campaign was patched. */
+    UPDATED,
+    /** An existing campaign already matched the row, so no request was sent. */
+    UNCHANGED,
+    /** The row was rejected before any request was sent. */
+    INVALID,
+    /** The existing campaigns could not be listed, or the create or patch request failed. */
+    FAILED
+  }
+
+  /** The largest page size of the campaigns list method. */
+  private static final int PAGE_SIZE = 200;
+
+  /** The campaign fields read from the list method. */
+  private static final String LIST_FIELDS =
+      "campaigns(campaignId,displayName,campaignFlight/plannedDates,frequencyCap),nextPageToken";
+
+  private static final String PLANNED_DATES_MASK = "campaignFlight.plannedDates";
+  private static final String FREQUENCY_CAP_MASK = "frequencyCap";
+
+  private final DisplayVideo service;
+  private final EntityCache entityCache;
+  private final ExecutorService executor;
+  private final DateCache dateCache = new DateCache();
+
+  /**
+   * Creates an editor.
+   *
+   * @param service The Display &amp; Video 360 service to list, create and patch campaigns with
+   * @param entityCache The cache to put created and patched campaigns in
+   * @param threads The maximum number of concurrent requests
+   */
+  public BulkCampaignEditor(DisplayVideo service, EntityCache entityCache, int threads) {
+    this.service = service;
+    this.entityCache = entityCache;
+    this.executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Reads rows from a CSV file with a header row naming the {@link Row} fields.
+   *
+   * @param path The path to the CSV file
+   * @return The rows, in file order
+   * @throws IOException If the file cannot be read
+   * @throws IllegalArgumentException If the file contains an unknown field or invalid value
+   */
+  public static List<Row> readRows(String path) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(path), UTF_8)) {
+      return CsvParser.readRecords(reader, Row.class);
+    }
+  }
+
+  /**
+   * Creates or patches the campaign of every row.
+   *
+   * @param rows The campaigns to create or update
+   * @return The result of every row, in the order of the rows
+   * @throws InterruptedException If interrupted while waiting for the requests
+   */
+  public List<Result> edit(List<Row> rows) throws InterruptedException {
+    Result[] results = new Result[rows.size()];
+
+    // Parse every row, so that a malformed row is rejected before its campaign is reserved.
+    ParsedRow[] parsedRows = new ParsedRow[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      try {
+        parsedRows[i] = parse(rows.get(i));
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        results[i] = new Result(i, rows.get(i), Status.INVALID, null, null, e);
+      }
+    }
+
+    // List the existing campaigns of every advertiser concurrently.
+    Map<Long, Future<Map<String, List<Campaign>>>> listings = new LinkedHashMap<>();
+    for (ParsedRow parsedRow : parsedRows) {
+      if (parsedRow != null && !listings.containsKey(parsedRow.advertiserId)) {
+        long advertiserId = parsedRow.advertiserId;
+        listings.put(advertiserId, executor.submit(() -> listCampaigns(advertiserId)));
+      }
+    }
+    Map<Long, Map<String, List<Campaign>>> campaignsByAdvertiser = new HashMap<>();
+    Map<Long, Exception> listingErrors = new HashMap<>();
+    for (Map.Entry<Long, Future<Map<String, List<Campaign>>>> listing : listings.entrySet()) {
+      try {
+        campaignsByAdvertiser.put(listing.getKey(), listing.getValue().get());
+      } catch (ExecutionException e) {
+        // Fail only the rows of this advertiser.
+        Throwable cause = e.getCause();
+        listingErrors.put(listing.getKey(), cause instanceof Exception ? (Exception) cause : e);
+      }
+    }
+
+    // Match every row to an existing campaign, and create or patch them concurrently.
+    Set<String> newCampaigns = new HashSet<>();
+    Set<Long> existingCampaigns = new HashSet<>();
+    List<Future<?>> requests = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      int index = i;
+      Row row = rows.get(i);
+      ParsedRow parsedRow = parsedRows[i];
+      if (parsedRow == null) {
+        continue;
+      }
+      Exception listingError = listingErrors.get(parsedRow.advertiserId);
+      if (listingError != null) {
+        results[i] = new Result(index, row, Status.FAILED, null, null, listingError);
+        continue;
+      }
+      try {
+        Campaign existing =
+            match(row, parsedRow, campaignsByAdvertiser.get(parsedRow.advertiserId));
+        if (existing == null
+            && !newCampaigns.add(parsedRow.advertiserId + ":" + row.displayName)) {
+          throw new IllegalArgumentException(
+              "Another row already creates a campaign with this display name.");
+        }
+        if (existing != null && !existingCampaigns.add(existing.getCampaignId())) {
+          throw new IllegalArgumentException("Another row already updates this campaign.");
+        }
+        requests.add(
+            executor.submit(() -> results[index] = apply(index, row, parsedRow, existing)));
+      } catch (IllegalArgumentException e) {
+        results[i] = new Result(index, row, Status.INVALID, null, null, e);
+      }
+    }
+    for (Future<?> request : requests) {
+      try {
+        request.get();
+      } catch (ExecutionException e) {
+        // Request failures are recorded as the results of their rows.
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /** Waits for started requests to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  /** Lists the campaigns of an advertiser, keyed by display name. */
+  private Map<String, List<Campaign>> listCampaigns(long advertiserId) throws IOException {
+    Map<String, List<Campaign>> campaigns = new HashMap<>();
+    Campaigns.List request =
+        service
+            .advertisers()
+            .campaigns()
+            .list(advertiserId)
+            .setPageSize(PAGE_SIZE)
+            .setFields(LIST_FIELDS);
+    String nextPageToken = null;
+    do {
+      ListCampaignsResponse response = request.setPageToken(nextPageToken).execute();
+      if (response.getCampaigns() != null) {
+        for (Campaign campaign : response.getCampaigns()) {
+          campaigns
+              .computeIfAbsent(campaign.getDisplayName(), name -> new ArrayList<>())
+              .add(campaign);
+        }
+      }
+      nextPageToken = response.getNextPageToken();
+    } while (!Strings.isNullOrEmpty(nextPageToken));
+    return campaigns;
+  }
+
+  /**
+   * Validates the required columns of a row and parses its numbers and dates.
+   *
+   * @throws IllegalArgumentException If a required column is missing or a number is malformed
+   * @throws DateTimeParseException If a date is malformed
+   */
+  private ParsedRow parse(Row row) {
+    if (row.advertiserId == null || row.displayName == null) {
+      throw new IllegalArgumentException("The advertiserId and displayName are required.");
+    }
+    return new ParsedRow(
+        parseId("advertiserId", row.advertiserId),
+        row.campaignId == null ? null : parseId("campaignId", row.campaignId),
+        parseMicros("plannedSpendAmountMicros", row.plannedSpendAmountMicros, 1_000_000L),
+        row.startDate == null ? null : getPlannedDates(row),
+        row.maxImpressions == null ? null : getFrequencyCap(row));
+  }
+
+  /**
+   * Finds the existing campaign of a row.
+   *
+   * @return The existing campaign, or {@code null} if the row creates a new campaign
+   */
+  private static Campaign match(
+      Row row, ParsedRow parsedRow, Map<String, List<Campaign>> campaignsByName) {
+    List<Campaign> matches = campaignsByName.get(row.displayName);
+    if (parsedRow.campaignId != null) {
+      for (List<Campaign> campaigns : campaignsByName.values()) {
+        for (Campaign campaign : campaigns) {
+          if (parsedRow.campaignId.equals(campaign.getCampaignId())) {
+            return campaign;
+          }
+        }
+      }
+      throw new IllegalArgumentException(
+          "The campaign " + parsedRow.campaignId + " does not exist.");
+    }
+    if (matches == null) {
+      if (row.startDate == null) {
+        throw new IllegalArgumentException("The startDate is required to create a campaign.");
+      }
+      return null;
+    }
+    if (matches.size() > 1) {
+      throw new IllegalArgumentException(
+          matches.size() + " campaigns have this display name, so set the campaignId.");
+    }
+    return matches.get(0);
+  }
+
+  private Result apply(int index, Row row, ParsedRow parsedRow, Campaign existing) {
+    long advertiserId = parsedRow.advertiserId;
+    try {
+      if (existing == null) {
+        Campaign created =
+            service
+                .advertisers()
+                .campaigns()
+                .create(advertiserId, build(row, parsedRow))
+                .execute();
+        entityCache.putCampaign(created);
+        return new Result(index, row, Status.CREATED, created, null, null);
+      }
+
+      // Send only the fields of the row that differ from the existing campaign.
+      Campaign patch = new Campaign();
+      List<String> updateMask = new ArrayList<>();
+      DateRange plannedDates = parsedRow.plannedDates;
+      if (plannedDates != null) {
+        DateRange existingDates =
+            existing.getCampaignFlight() == null
+                ? null
+                : existing.getCampaignFlight().getPlannedDates();
+        if (!sameDates(plannedDates, existingDates)) {
+          patch.setCampaignFlight(new CampaignFlight().setPlannedDates(plannedDates));
+          updateMask.add(PLANNED_DATES_MASK);
+        }
+      }
+      FrequencyCap frequencyCap = parsedRow.frequencyCap;
+      if (frequencyCap != null) {
+        if (!sameFrequencyCap(frequencyCap, existing.getFrequencyCap())) {
+          patch.setFrequencyCap(frequencyCap);
+          updateMask.add(FREQUENCY_CAP_MASK);
+        }
+      }
+      if (updateMask.isEmpty()) {
+        return new Result(index, row, Status.UNCHANGED, existing, null, null);
+      }
+      Campaign updated;
+      try {
+        updated =
+            service
+                .advertisers()
+                .campaigns()
+                .patch(advertiserId, existing.getCampaignId(), patch)
+                .setUpdateMask(Joiner.on(',').join(updateMask))
+                .execute();
+      } catch (IOException e) {
+        entityCache.invalidateCampaign(advertiserId, existing.getCampaignId());
+        throw e;
+      }
+      entityCache.putCampaign(updated);
+      return new Result(index, row, Status.UPDATED, updated, updateMask, null);
+    } catch (Exception e) {
+      return new Result(index, row, Status.FAILED, null, null, e);
+    }
+  }
+
+  /** Builds a new campaign with the defaults of the {@code CreateCampaign} example. */
+  private static Campaign build(Row row, ParsedRow parsedRow) {
+    return new Campaign()
+        .setDisplayName(row.displayName)
+        .setEntityStatus(row.getEntityStatus())
+        .setCampaignGoal(
+            new CampaignGoal()
+                .setCampaignGoalType("CAMPAIGN_GOAL_TYPE_BRAND_AWARENESS")
+                .setPerformanceGoal(
+                    new PerformanceGoal()
+                        .setPerformanceGoalType("PERFORMANCE_GOAL_TYPE_CPC")
+                        .setPerformanceGoalAmountMicros(1_000_000L)))
+        .setCampaignFlight(
+            new CampaignFlight()
+                .setPlannedSpendAmountMicros(parsedRow.plannedSpendAmountMicros)
+                .setPlannedDates(parsedRow.plannedDates))
+        .setFrequencyCap(
+            parsedRow.frequencyCap == null
+                ? new FrequencyCap()
+                    .setMaxImpressions(10)
+                    .setTimeUnit("TIME_UNIT_DAYS")
+                    .setTimeUnitCount(1)
+                : parsedRow.frequencyCap);
+  }
+
+  private DateRange getPlannedDates(Row row) {
+    LocalDate startDate = LocalDate.parse(row.startDate);
+    if (row.endDate == null) {
+      return new DateRange().setStartDate(dateCache.getDate(startDate));
+    }
+    LocalDate endDate = LocalDate.parse(row.endDate);
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("The endDate is before the startDate.");
+    }
+    return dateCache.getDateRange(startDate, endDate);
+  }
+
+  private static FrequencyCap getFrequencyCap(Row row) {
+    return new FrequencyCap()
+        .setMaxImpressions(parseCount("maxImpressions", row.maxImpressions))
+        .setTimeUnit(row.timeUnit == null ? "TIME_UNIT_DAYS" : row.timeUnit)
+        .setTimeUnitCount(
+            row.timeUnitCount == null ? 1 : parseCount("timeUnitCount", row.timeUnitCount));
+  }
+
+  /** Parses a required ID column. */
+  private static long parseId(String column, String value) {
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not an ID: " + value);
+    }
+  }
+
+  /** Parses a non-negative amount of micros, or returns the default if the column is not set. */
+  private static long parseMicros(String column, String value, long defaultMicros) {
+    if (value == null) {
+      return defaultMicros;
+    }
+    long micros;
+    try {
+      micros = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not a number: " + value);
+    }
+    if (micros < 0) {
+      throw new IllegalArgumentException("The " + column + " must not be negative.");
+    }
+    return micros;
+  }
+
+  /** Parses a positive count. */
+  private static int parseCount(String column, String value) {
+    int count;
+    try {
+      count = Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not a number: " + value);
+    }
+    if (count <= 0) {
+      throw new IllegalArgumentException("The " + column + " must be positive.");
+    }
+    return count;
+  }
+
+  private static boolean sameDates(DateRange a, DateRange b) {
+    if (b == null) {
+      return false;
+    }
+    return sameDate(a.getStartDate(), b.getStartDate()) && sameDate(a.getEndDate(), b.getEndDate());
+  }
+
+  private static boolean sameDate(Date a, Date b) {
+    if (a == null || b == null) {
+      return a == b;
+    }
+    return Objects.equals(a.getYear(), b.getYear())
+        && Objects.equals(a.getMonth(), b.getMonth())
+        && Objects.equals(a.getDay(), b.getDay());
+  }
+
+  private static boolean sameFrequencyCap(FrequencyCap a, FrequencyCap b) {
+    return b != null
+        && !Boolean.TRUE.equals(b.getUnlimited())
+        && Objects.equals(a.getMaxImpressions(), b.getMaxImpressions())
+        && Objects.equals(a.getTimeUnit(), b.getTimeUnit())
+        && Objects.equals(a.getTimeUnitCount(), b.getTimeUnitCount());
+  }
+
+  /**
+   * A campaign to create or update. Dates are ISO-8601 days, such as {@code 2026-03-31}.
+   *
+   * <p>A row updates the campaign with its {@code campaignId}, or else the campaign of the
+   * advertiser with its display name, if there is one. The planned dates are compared and updated
+   * only if the row has a {@code startDate}, and the frequency cap only if it has {@code
+   * maxImpressions}. Settings that a new campaign needs but the row does not set default to those
+   * of the {@code CreateCampaign} example.
+   */
+  public static final class Row extends GenericJson {
+
+    // Numbers are read as text and parsed when the row is validated, so that a malformed value
+    // makes only its own row invalid.
+    @Key private String advertiserId;
+    @Key private String campaignId;
+    @Key private String displayName;
+    @Key private String entityStatus;
+    @Key private String startDate;
+    @Key private String endDate;
+    @Key private String plannedSpendAmountMicros;
+    @Key private String maxImpressions;
+    @Key private String timeUnit;
+    @Key private String timeUnitCount;
+
+    public String getAdvertiserId() {
+      return advertiserId;
+    }
+
+    /** Returns the ID of the campaign to update, or {@code null} to match by display name. */
+    public String getCampaignId() {
+      return campaignId;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    /** Returns the entity status of a new campaign. */
+    public String getEntityStatus() {
+      return entityStatus == null ? "ENTITY_STATUS_ACTIVE" : entityStatus;
+    }
+
+    public String getStartDate() {
+      return startDate;
+    }
+
+    /** Returns the last planned day, inclusive, or {@code null} for no end date. */
+    public String getEndDate() {
+      return endDate;
+    }
+
+    /** Returns the planned spend of a new campaign. */
+    public String getPlannedSpendAmountMicros() {
+      return plannedSpendAmountMicros;
+    }
+
+    public String getMaxImpressions() {
+      return maxImpressions;
+    }
+
+    public String getTimeUnit() {
+      return timeUnit;
+    }
+
+    public String getTimeUnitCount() {
+      return timeUnitCount;
+    }
+  }
+
+  /** The parsed numbers and dates of a valid row. */
+  private static final class ParsedRow {
+
+    private final long advertiserId;
+    private final Long campaignId;
+    private final long plannedSpendAmountMicros;
+    private final DateRange plannedDates;
+    private final FrequencyCap frequencyCap;
+
+    ParsedRow(
+        long advertiserId,
+        Long campaignId,
+        long plannedSpendAmountMicros,
+        DateRange plannedDates,
+        FrequencyCap frequencyCap) {
+      this.advertiserId = advertiserId;
+      this.campaignId = campaignId;
+      this.plannedSpendAmountMicros = plannedSpendAmountMicros;
+      this.plannedDates = plannedDates;
+      this.frequencyCap = frequencyCap;
+    }
+  }
+
+  /** The result of a row. */
+  public static final class Result {
+
+    private final int index;
+    private final Row row;
+    private final Status status;
+    private final Campaign campaign;
+    private final List<String> updateMask;
+    private final Exception error;
+
+    private Result(
+        int index,
+        Row row,
+        Status status,
+        Campaign campaign,
+        List<String> updateMask,
+        Exception error) {
+      this.index = index;
+      this.row = row;
+      this.status = status;
+      this.campaign = campaign;
+      this.updateMask = updateMask;
+      this.error = error;
+    }
+
+    /** Returns the zero-based index of the row. */
+    public int getIndex() {
+      return index;
+    }
+
+    public Row getRow() {
+      return row;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    /** Returns the created, updated or unchanged campaign, or {@code null} if there is none. */
+    public Campaign getCampaign() {
+      return campaign;
+    }
+
+    /** Returns the fields that were patched, or {@code null} if the campaign was not patched. */
+    public List<String> getUpdateMask() {
+      return updateMask;
+    }
+
+    /** Returns the error of an invalid or failed row, or {@code null} if there is none. */
+    public Exception getError() {
+      return error;
+    }
+  }
+}
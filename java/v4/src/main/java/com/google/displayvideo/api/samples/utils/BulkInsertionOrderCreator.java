@@ -0,0 +1,405 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.FrequencyCap;
+import com.google.api.services.displayvideo.v4.model.InsertionOrder;
+import com.google.api.services.displayvideo.v4.model.InsertionOrderBudget;
+import com.google.api.services.displayvideo.v4.model.InsertionOrderBudgetSegment;
+import com.google.api.services.displayvideo.v4.model.Kpi;
+import com.google.api.services.displayvideo.v4.model.Pacing;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates many insertion orders from a media plan.
+ *
+ * <p>Every row of the plan is one insertion order whose total budget is spread over one budget
+ * segment per calendar month of its flight, in proportion to the number of flight days in each
+ * month. A month whose share of a small budget rounds down to nothing is merged into the next one.
+ * The plan is validated and every insertion order is built in a single pass, with the dates and
+ * date ranges of the segments shared through a {@link DateCache}.
+ *
+ * <p>The insertion orders of a campaign are created one after the other, and the campaigns are
+ * processed concurrently. Every row gets a structured result, whether it was invalid, failed or
+ * was created.
+ */
+public final class BulkInsertionOrderCreator implements AutoCloseable {
+
+  /** The outcome of a row. */
+  public enum Status {
+    /** The insertion order was created. */
+    CREATED,
+    /** The row was rejected before any request was sent. */
+    INVALID,
+    /** The create request failed. */
+    FAILED
+  }
+
+  private static final FrequencyCap FREQUENCY_CAP =
+      new FrequencyCap().setMaxImpressions(10).setTimeUnit("TIME_UNIT_DAYS").setTimeUnitCount(1);
+
+  private final DisplayVideo service;
+  private final ExecutorService executor;
+  private final DateCache dateCache = new DateCache();
+
+  /**
+   * Creates a creator.
+   *
+   * @param service The Display &amp; Video 360 service to create insertion orders with
+   * @param threads The maximum number of campaigns processed concurrently
+   */
+  public BulkInsertionOrderCreator(DisplayVideo service, int threads) {
+    this.service = service;
+    this.executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Reads a plan from a CSV file with a header row naming the {@link PlanRow} fields.
+   *
+   * @param path The path to the CSV file
+   * @return The rows of the plan, in file order
+   * @throws IOException If the file cannot be read
+   * @throws IllegalArgumentException If the header names an unknown field
+   */
+  public static List<PlanRow> readPlan(String path) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(path), UTF_8)) {
+      return CsvParser.readRecords(reader, PlanRow.class);
+    }
+  }
+
+  /**
+   * Creates an insertion order for every row of a plan.
+   *
+   * @param plan The rows of the plan
+   * @return The result of every row, in the order of the plan
+   * @throws InterruptedException If interrupted while waiting for the insertion orders
+   */
+  public List<Result> create(List<PlanRow> plan) throws InterruptedException {
+    Result[] results = new Result[plan.size()];
+
+    // Build every valid row, grouping the rows by campaign.
+    Map<Long, List<Integer>> rowsByCampaign = new LinkedHashMap<>();
+    long[] advertiserIds = new long[plan.size()];
+    InsertionOrder[] insertionOrders = new InsertionOrder[plan.size()];
+    for (int i = 0; i < plan.size(); i++) {
+      PlanRow row = plan.get(i);
+      try {
+        insertionOrders[i] = build(row);
+        advertiserIds[i] = parseId("advertiserId", row.advertiserId);
+        rowsByCampaign
+            .computeIfAbsent(insertionOrders[i].getCampaignId(), id -> new ArrayList<>())
+            .add(i);
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        results[i] = new Result(i, row, Status.INVALID, null, toError(e));
+      }
+    }
+
+    // Create the insertion orders of every campaign in order, and the campaigns concurrently.
+    List<Future<?>> campaigns = new ArrayList<>();
+    for (List<Integer> rows : rowsByCampaign.values()) {
+      campaigns.add(
+          executor.submit(
+              () -> {
+                for (int i : rows) {
+                  results[i] =
+                      createInsertionOrder(i, plan.get(i), advertiserIds[i], insertionOrders[i]);
+                }
+              }));
+    }
+    for (Future<?> campaign : campaigns) {
+      try {
+        campaign.get();
+      } catch (ExecutionException e) {
+        // Request failures are recorded as the results of their rows.
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  /** Returns the number of distinct dates and date ranges shared by the built insertion orders. */
+  public int getCachedDateCount() {
+    return dateCache.size();
+  }
+
+  /** Waits for started requests to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  private Result createInsertionOrder(
+      int index, PlanRow row, long advertiserId, InsertionOrder insertionOrder) {
+    try {
+      InsertionOrder created =
+          service.advertisers().insertionOrders().create(advertiserId, insertionOrder).execute();
+      return new Result(index, row, Status.CREATED, created, null);
+    } catch (Exception e) {
+      return new Result(index, row, Status.FAILED, null, toError(e));
+    }
+  }
+
+  /** Validates a row and builds its insertion order. */
+  private InsertionOrder build(PlanRow row) {
+    if (row.advertiserId == null || row.campaignId == null || row.displayName == null) {
+      throw new IllegalArgumentException(
+          "The advertiserId, campaignId and displayName are required.");
+    }
+    if (row.startDate == null || row.endDate == null || row.budgetMicros == null) {
+      throw new IllegalArgumentException("The startDate, endDate and budgetMicros are required.");
+    }
+    long campaignId = parseId("campaignId", row.campaignId);
+    LocalDate startDate = LocalDate.parse(row.startDate);
+    LocalDate endDate = LocalDate.parse(row.endDate);
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("The endDate is before the startDate.");
+    }
+    long budgetMicros = parseMicros("budgetMicros", row.budgetMicros, null);
+    long dailyMaxMicros = parseMicros("dailyMaxMicros", row.dailyMaxMicros, 10_000L);
+    long kpiAmountMicros = parseMicros("kpiAmountMicros", row.kpiAmountMicros, 1_000_000L);
+
+    return new InsertionOrder()
+        .setCampaignId(campaignId)
+        .setDisplayName(row.displayName)
+        .setEntityStatus(row.getEntityStatus())
+        .setPacing(
+            new Pacing()
+                .setPacingPeriod("PACING_PERIOD_DAILY")
+                .setPacingType("PACING_TYPE_EVEN")
+                .setDailyMaxMicros(dailyMaxMicros))
+        .setFrequencyCap(FREQUENCY_CAP)
+        .setKpi(new Kpi().setKpiType(row.getKpiType()).setKpiAmountMicros(kpiAmountMicros))
+        .setBudget(
+            new InsertionOrderBudget()
+                .setBudgetUnit("BUDGET_UNIT_CURRENCY")
+                .setBudgetSegments(buildMonthlySegments(startDate, endDate, budgetMicros)))
+        .setOptimizationObjective("NO_OBJECTIVE");
+  }
+
+  /** Parses a required ID column. */
+  private static long parseId(String column, String value) {
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not an ID: " + value);
+    }
+  }
+
+  /** Parses a positive amount of micros, or returns the default if the column is not set. */
+  private static long parseMicros(String column, String value, Long defaultMicros) {
+    if (value == null) {
+      return defaultMicros;
+    }
+    long micros;
+    try {
+      micros = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not a number: " + value);
+    }
+    if (micros <= 0) {
+      throw new IllegalArgumentException("The " + column + " must be positive.");
+    }
+    return micros;
+  }
+
+  /**
+   * Splits a budget into one segment per calendar month of a flight. Each segment receives the
+   * share of the budget of its days, and the amounts are rounded so that they add up to the budget.
+   * A month whose share rounds down to nothing is merged into the segment of the next month.
+   */
+  private List<InsertionOrderBudgetSegment> buildMonthlySegments(
+      LocalDate startDate, LocalDate endDate, long budgetMicros) {
+    long totalDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    List<InsertionOrderBudgetSegment> segments = new ArrayList<>();
+    long elapsedDays = 0;
+    long allocatedMicros = 0;
+    LocalDate segmentStart = startDate;
+    for (LocalDate monthStart = startDate;
+        !monthStart.isAfter(endDate);
+        monthStart = monthStart.with(TemporalAdjusters.firstDayOfNextMonth())) {
+      LocalDate monthEnd = monthStart.with(TemporalAdjusters.lastDayOfMonth());
+      LocalDate segmentEnd = monthEnd.isBefore(endDate) ? monthEnd : endDate;
+      elapsedDays += ChronoUnit.DAYS.between(monthStart, segmentEnd) + 1;
+
+      // Allocate by cumulative share, so that rounding errors do not accumulate. The last month
+      // always receives the remainder, so no share is left unallocated.
+      long cumulativeMicros = budgetMicros * elapsedDays / totalDays;
+      if (cumulativeMicros == allocatedMicros) {
+        continue;
+      }
+      segments.add(
+          new InsertionOrderBudgetSegment()
+              .setBudgetAmountMicros(cumulativeMicros - allocatedMicros)
+              .setDateRange(dateCache.getDateRange(segmentStart, segmentEnd)));
+      allocatedMicros = cumulativeMicros;
+      segmentStart = segmentEnd.plusDays(1);
+    }
+    return segments;
+  }
+
+  /** Converts an exception into the structured error of a result. */
+  private static GoogleJsonError toError(Exception e) {
+    if (e instanceof GoogleJsonResponseException
+        && ((GoogleJsonResponseException) e).getDetails() != null) {
+      return ((GoogleJsonResponseException) e).getDetails();
+    }
+    GoogleJsonError error = new GoogleJsonError();
+    error.setMessage(e.getMessage());
+    if (e instanceof HttpResponseException) {
+      error.setCode(((HttpResponseException) e).getStatusCode());
+    }
+    return error;
+  }
+
+  /**
+   * A row of a media plan, describing one insertion order. Dates are ISO-8601 days, such as {@code
+   * 2026-03-31}. Settings that are not set default to those of the {@code CreateInsertionOrder}
+   * example.
+   */
+  public static final class PlanRow extends GenericJson {
+
+    // Numbers are read as text and parsed when the row is built, so that a malformed value
+    // makes only its own row invalid.
+    @Key private String advertiserId;
+    @Key private String campaignId;
+    @Key private String displayName;
+    @Key private String startDate;
+    @Key private String endDate;
+    @Key private String budgetMicros;
+    @Key private String entityStatus;
+    @Key private String dailyMaxMicros;
+    @Key private String kpiType;
+    @Key private String kpiAmountMicros;
+
+    public String getAdvertiserId() {
+      return advertiserId;
+    }
+
+    public String getCampaignId() {
+      return campaignId;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    public String getStartDate() {
+      return startDate;
+    }
+
+    /** Returns the last day of the flight, inclusive. */
+    public String getEndDate() {
+      return endDate;
+    }
+
+    /** Returns the total budget of the flight, in micros of the advertiser currency. */
+    public String getBudgetMicros() {
+      return budgetMicros;
+    }
+
+    public String getEntityStatus() {
+      return entityStatus == null ? "ENTITY_STATUS_DRAFT" : entityStatus;
+    }
+
+    /** Returns the daily maximum spend, or {@code null} to use the default of 10,000 micros. */
+    public String getDailyMaxMicros() {
+      return dailyMaxMicros;
+    }
+
+    public String getKpiType() {
+      return kpiType == null ? "KPI_TYPE_CPC" : kpiType;
+    }
+
+    /** Returns the KPI goal, or {@code null} to use the default of 1,000,000 micros. */
+    public String getKpiAmountMicros() {
+      return kpiAmountMicros;
+    }
+  }
+
+  /** The result of a plan row. */
+  public static final class Result {
+
+    private final int index;
+    private final PlanRow row;
+    private final Status status;
+    private final InsertionOrder insertionOrder;
+    private final GoogleJsonError error;
+
+    private Result(
+        int index,
+        PlanRow row,
+        Status status,
+        InsertionOrder insertionOrder,
+        GoogleJsonError error) {
+      this.index = index;
+      this.row = row;
+      this.status = status;
+      this.insertionOrder = insertionOrder;
+      this.error = error;
+    }
+
+    /** Returns the zero-based index of the row in the plan. */
+    public int getIndex() {
+      return index;
+    }
+
+    public PlanRow getRow() {
+      return row;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    /** Returns the created insertion order, or {@code null} if it was not created. */
+    public InsertionOrder getInsertionOrder() {
+      return insertionOrder;
+    }
+
+    /**
+     * Returns the error of an invalid or failed row, or {@code null} if it was created. Invalid
+     * rows have an error code of 0.
+     */
+    public GoogleJsonError getError() {
+      return error;
+    }
+  }
+}
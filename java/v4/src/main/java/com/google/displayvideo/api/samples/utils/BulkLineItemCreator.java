@@ -0,0 +1,376 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.BiddingStrategy;
+import com.google.api.services.displayvideo.v4.model.FixedBidStrategy;
+import com.google.api.services.displayvideo.v4.model.FrequencyCap;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import com.google.api.services.displayvideo.v4.model.LineItemBudget;
+import com.google.api.services.displayvideo.v4.model.LineItemFlight;
+import com.google.api.services.displayvideo.v4.model.Pacing;
+import com.google.api.services.displayvideo.v4.model.PartnerRevenueModel;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates many line items concurrently from a list of specs.
+ *
+ * <p>The settings of the line items are built from the same defaults as the {@code CreateLineItem}
+ * example. Line items with equal settings share the same flight, budget, pacing, frequency cap,
+ * revenue model and bidding strategy objects, which are never modified once built, so that
+ * thousands of specs do not allocate thousands of identical copies.
+ *
+ * <p>Create requests are sent by a fixed number of threads, and at most a fixed number of requests
+ * per insertion order are in flight at once. The remaining specs of a busy insertion order wait in
+ * its own queue without occupying a thread, so that other insertion orders keep progressing.
+ */
+public final class BulkLineItemCreator implements AutoCloseable {
+
+  private static final LineItemFlight INHERITED_FLIGHT =
+      new LineItemFlight().setFlightDateType("LINE_ITEM_FLIGHT_DATE_TYPE_INHERITED");
+  private static final LineItemBudget FIXED_BUDGET =
+      new LineItemBudget().setBudgetAllocationType("LINE_ITEM_BUDGET_ALLOCATION_TYPE_FIXED");
+
+  private final DisplayVideo service;
+  private final int maxConcurrentPerInsertionOrder;
+  private final ExecutorService executor;
+
+  private final ConcurrentMap<Long, Pacing> pacings = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Integer, FrequencyCap> frequencyCaps = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, PartnerRevenueModel> revenueModels = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, BiddingStrategy> bidStrategies = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a creator.
+   *
+   * @param service The Display &amp; Video 360 service to create line items with
+   * @param threads The maximum number of concurrent create requests
+   * @param maxConcurrentPerInsertionOrder The maximum number of concurrent create requests under a
+   *     single insertion order
+   */
+  public BulkLineItemCreator(
+      DisplayVideo service, int threads, int maxConcurrentPerInsertionOrder) {
+    if (maxConcurrentPerInsertionOrder < 1) {
+      throw new IllegalArgumentException(
+          "The maximum concurrency per insertion order must be at least 1.");
+    }
+    this.service = service;
+    this.maxConcurrentPerInsertionOrder = maxConcurrentPerInsertionOrder;
+    this.executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Reads line item specs from a CSV file with a header row naming the {@link Spec} fields.
+   *
+   * @param path The path to the CSV file
+   * @return The specs, in file order
+   * @throws IOException If the file cannot be read
+   * @throws IllegalArgumentException If the file contains an unknown field or invalid value
+   */
+  public static List<Spec> readSpecs(String path) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(path), UTF_8)) {
+      return CsvParser.readRecords(reader, Spec.class);
+    }
+  }
+
+  /**
+   * Creates a line item for every spec.
+   *
+   * @param specs The line items to create
+   * @return The result of every spec, in the order of the specs
+   * @throws InterruptedException If interrupted while waiting for the line items
+   */
+  public List<Result> create(List<Spec> specs) throws InterruptedException {
+    Result[] results = new Result[specs.size()];
+    CountDownLatch done = new CountDownLatch(specs.size());
+    Map<Long, Lane> lanes = new HashMap<>();
+
+    // Build every valid spec, and queue it in the lane of its insertion order.
+    long[] advertiserIds = new long[specs.size()];
+    LineItem[] lineItems = new LineItem[specs.size()];
+    for (int i = 0; i < specs.size(); i++) {
+      Spec spec = specs.get(i);
+      try {
+        lineItems[i] = build(spec);
+        advertiserIds[i] = parseId("advertiserId", spec.advertiserId);
+      } catch (IllegalArgumentException e) {
+        results[i] = new Result(i, null, e);
+        done.countDown();
+        continue;
+      }
+      Lane lane = lanes.computeIfAbsent(lineItems[i].getInsertionOrderId(), id -> new Lane());
+      lane.submit(i, advertiserIds, lineItems, results, done);
+    }
+    done.await();
+    return Arrays.asList(results);
+  }
+
+  /** Waits for started requests to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  private Result createLineItem(int index, long advertiserId, LineItem lineItem) {
+    try {
+      LineItem created =
+          service.advertisers().lineItems().create(advertiserId, lineItem).execute();
+      return new Result(index, created, null);
+    } catch (Exception e) {
+      return new Result(index, null, e);
+    }
+  }
+
+  /**
+   * Validates a spec and builds its line item around the shared sub-objects of its settings.
+   *
+   * @throws IllegalArgumentException If a required column is missing or a number is malformed
+   */
+  private LineItem build(Spec spec) {
+    if (spec.advertiserId == null || spec.insertionOrderId == null || spec.displayName == null) {
+      throw new IllegalArgumentException(
+          "The advertiserId, insertionOrderId and displayName are required.");
+    }
+    long insertionOrderId = parseId("insertionOrderId", spec.insertionOrderId);
+    long dailyMaxMicros = parseNumber("dailyMaxMicros", spec.dailyMaxMicros, 10_000L);
+    long maxImpressions = parseNumber("maxImpressions", spec.maxImpressions, 10L);
+    if (maxImpressions > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The maxImpressions is too large: " + maxImpressions);
+    }
+    long markupAmount = parseNumber("markupAmount", spec.markupAmount, 10_000L);
+    long bidAmountMicros = parseNumber("bidAmountMicros", spec.bidAmountMicros, 100_000L);
+
+    return new LineItem()
+        .setInsertionOrderId(insertionOrderId)
+        .setDisplayName(spec.displayName)
+        .setLineItemType(spec.getLineItemType())
+        .setEntityStatus(spec.getEntityStatus())
+        .setFlight(INHERITED_FLIGHT)
+        .setBudget(FIXED_BUDGET)
+        .setPacing(
+            pacings.computeIfAbsent(
+                dailyMaxMicros,
+                micros ->
+                    new Pacing()
+                        .setPacingPeriod("PACING_PERIOD_DAILY")
+                        .setPacingType("PACING_TYPE_EVEN")
+                        .setDailyMaxMicros(micros)))
+        .setFrequencyCap(
+            frequencyCaps.computeIfAbsent(
+                (int) maxImpressions,
+                impressions ->
+                    new FrequencyCap()
+                        .setTimeUnit("TIME_UNIT_DAYS")
+                        .setTimeUnitCount(1)
+                        .setMaxImpressions(impressions)))
+        .setPartnerRevenueModel(
+            revenueModels.computeIfAbsent(
+                markupAmount,
+                amount ->
+                    new PartnerRevenueModel()
+                        .setMarkupType("PARTNER_REVENUE_MODEL_MARKUP_TYPE_CPM")
+                        .setMarkupAmount(amount)))
+        .setBidStrategy(
+            bidStrategies.computeIfAbsent(
+                bidAmountMicros,
+                micros ->
+                    new BiddingStrategy()
+                        .setFixedBid(new FixedBidStrategy().setBidAmountMicros(micros))));
+  }
+
+  /** Parses a required ID column. */
+  private static long parseId(String column, String value) {
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not an ID: " + value);
+    }
+  }
+
+  /** Parses a non-negative number, or returns the default if the column is not set. */
+  private static long parseNumber(String column, String value, long defaultValue) {
+    if (value == null) {
+      return defaultValue;
+    }
+    long number;
+    try {
+      number = Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not a number: " + value);
+    }
+    if (number < 0) {
+      throw new IllegalArgumentException("The " + column + " must not be negative.");
+    }
+    return number;
+  }
+
+  /** The specs of an insertion order waiting for a free slot. */
+  private final class Lane {
+
+    private final Queue<Integer> pending = new ArrayDeque<>();
+    private int inFlight;
+
+    void submit(
+        int index,
+        long[] advertiserIds,
+        LineItem[] lineItems,
+        Result[] results,
+        CountDownLatch done) {
+      synchronized (this) {
+        if (inFlight == maxConcurrentPerInsertionOrder) {
+          pending.add(index);
+          return;
+        }
+        inFlight++;
+      }
+      execute(index, advertiserIds, lineItems, results, done);
+    }
+
+    private void execute(
+        int index,
+        long[] advertiserIds,
+        LineItem[] lineItems,
+        Result[] results,
+        CountDownLatch done) {
+      executor.execute(
+          () -> {
+            results[index] = createLineItem(index, advertiserIds[index], lineItems[index]);
+            done.countDown();
+
+            // Hand the slot to the next waiting spec of the insertion order, if any.
+            Integer next;
+            synchronized (this) {
+              next = pending.poll();
+              if (next == null) {
+                inFlight--;
+                return;
+              }
+            }
+            execute(next, advertiserIds, lineItems, results, done);
+          });
+    }
+  }
+
+  /**
+   * A line item to create. Settings that are not set default to those of the {@code
+   * CreateLineItem} example.
+   */
+  public static final class Spec extends GenericJson {
+
+    // Numbers are read as text and parsed when the spec is built, so that a malformed value
+    // makes only its own spec fail.
+    @Key private String advertiserId;
+    @Key private String insertionOrderId;
+    @Key private String displayName;
+    @Key private String lineItemType;
+    @Key private String entityStatus;
+    @Key private String dailyMaxMicros;
+    @Key private String maxImpressions;
+    @Key private String markupAmount;
+    @Key private String bidAmountMicros;
+
+    public String getAdvertiserId() {
+      return advertiserId;
+    }
+
+    public String getInsertionOrderId() {
+      return insertionOrderId;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    public String getLineItemType() {
+      return lineItemType == null ? "LINE_ITEM_TYPE_DISPLAY_DEFAULT" : lineItemType;
+    }
+
+    public String getEntityStatus() {
+      return entityStatus == null ? "ENTITY_STATUS_DRAFT" : entityStatus;
+    }
+
+    public String getDailyMaxMicros() {
+      return dailyMaxMicros;
+    }
+
+    public String getMaxImpressions() {
+      return maxImpressions;
+    }
+
+    /** Returns the CPM markup of the partner revenue model, in micros. */
+    public String getMarkupAmount() {
+      return markupAmount;
+    }
+
+    public String getBidAmountMicros() {
+      return bidAmountMicros;
+    }
+  }
+
+  /** The result of a spec. */
+  public static final class Result {
+
+    private final int index;
+    private final LineItem lineItem;
+    private final Exception error;
+
+    private Result(int index, LineItem lineItem, Exception error) {
+      this.index = index;
+      this.lineItem = lineItem;
+      this.error = error;
+    }
+
+    /** Returns the zero-based index of the spec. */
+    public int getIndex() {
+      return index;
+    }
+
+    /** Returns the created line item, or {@code null} if it could not be created. */
+    public LineItem getLineItem() {
+      return lineItem;
+    }
+
+    /** Returns the ID of the created line item, or {@code null} if it could not be created. */
+    public Long getLineItemId() {
+      return lineItem == null ? null : lineItem.getLineItemId();
+    }
+
+    /** Returns the error the line item failed with, or {@code null} if it was created. */
+    public Exception getError() {
+      return error;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Key;
+import com.google.api.client.util.Value;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A manifest describing creatives to create in bulk.
+ *
+ * <p>A manifest is either a JSON file with a {@code creatives} array of rows, or a CSV file with a
+ * header row naming the row fields. Each row describes one HTML5, video or native site creative.
+ * Fields that do not apply to the type of a row are ignored.
+ */
+public final class CreativeManifest {
+
+  /** The type of creative described by a row. */
+  public enum CreativeType {
+    @Value
+    HTML5,
+    @Value
+    VIDEO,
+    @Value
+    NATIVE_SITE
+  }
+
+  private CreativeManifest() {}
+
+  /**
+   * Reads the rows of a manifest file. Files ending in {@code .json} are read as JSON and other
+   * files as CSV.
+   *
+   * @param path The path to the manifest file
+   * @return The rows of the manifest, in file order
+   * @throws IOException If the file cannot be read
+   * @throws IllegalArgumentException If the file contains an unknown field or invalid value
+   */
+  public static List<Row> read(String path) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(path), UTF_8)) {
+      if (path.toLowerCase().endsWith(".json")) {
+        JsonManifest manifest =
+            Utils.getDefaultJsonFactory().fromReader(reader, JsonManifest.class);
+        return manifest.creatives == null ? new ArrayList<Row>() : manifest.creatives;
+      }
+      return CsvParser.readRecords(reader, Row.class);
+    }
+  }
+
+  /** The top-level object of a JSON manifest. */
+  public static final class JsonManifest extends GenericJson {
+
+    @Key private List<Row> creatives;
+  }
+
+  /** A row of a manifest, describing one creative. */
+  public static final class Row extends GenericJson {
+
+    @Key private CreativeType creativeType;
+    @Key private Long advertiserId;
+    @Key private String displayName;
+    @Key private String assetPath;
+    @Key private String logoAssetPath;
+    @Key private Integer heightPixels;
+    @Key private Integer widthPixels;
+    @Key private String exitEventName;
+    @Key private String exitEventUrl;
+    @Key private String advertiserName;
+    @Key private String headline;
+    @Key private String bodyText;
+    @Key private String landingPageUrl;
+    @Key private String captionUrl;
+    @Key private String callToAction;
+
+    public CreativeType getCreativeType() {
+      return creativeType;
+    }
+
+    public Long getAdvertiserId() {
+      return advertiserId;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    /** Returns the path to the main asset: the HTML5 zip, the video or the native image. */
+    public String getAssetPath() {
+      return assetPath;
+    }
+
+    /** Returns the path to the logo asset of a native site creative. */
+    public String getLogoAssetPath() {
+      return logoAssetPath;
+    }
+
+    public Integer getHeightPixels() {
+      return heightPixels;
+    }
+
+    public Integer getWidthPixels() {
+      return widthPixels;
+    }
+
+    public String getExitEventName() {
+      return exitEventName;
+    }
+
+    public String getExitEventUrl() {
+      return exitEventUrl;
+    }
+
+    public String getAdvertiserName() {
+      return advertiserName;
+    }
+
+    public String getHeadline() {
+      return headline;
+    }
+
+    public String getBodyText() {
+      return bodyText;
+    }
+
+    public String getLandingPageUrl() {
+      return landingPageUrl;
+    }
+
+    public String getCaptionUrl() {
+      return captionUrl;
+    }
+
+    public String getCallToAction() {
+      return callToAction;
+    }
+
+    /** Returns the paths to the files to upload for the row. */
+    public List<String> getAssetPaths() {
+      List<String> paths = new ArrayList<>();
+      if (assetPath != null) {
+        paths.add(assetPath);
+      }
+      if (creativeType == CreativeType.NATIVE_SITE && logoAssetPath != null) {
+        paths.add(logoAssetPath);
+      }
+      return paths;
+    }
+  }
+}
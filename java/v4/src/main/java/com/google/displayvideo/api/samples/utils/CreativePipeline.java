@@ -0,0 +1,479 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Asset;
+import com.google.api.services.displayvideo.v4.model.AssetAssociation;
+import com.google.api.services.displayvideo.v4.model.Creative;
+import com.google.api.services.displayvideo.v4.model.Dimensions;
+import com.google.api.services.displayvideo.v4.model.ExitEvent;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.displayvideo.api.samples.utils.CreativeManifest.Row;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the creatives described by manifest rows in five pipelined stages:
+ *
+ * <ol>
+ *   <li>validate: checks the rows and asset files locally with {@link CreativeValidator};
+ *   <li>hash: hashes the asset files and looks them up in the asset cache;
+ *   <li>upload: uploads the assets that are not cached, once per advertiser and file contents;
+ *   <li>build: builds the creatives from the rows and media IDs;
+ *   <li>create: creates the creatives.
+ * </ol>
+ *
+ * <p>Each stage runs on its own threads and hands rows to the next stage through a bounded queue,
+ * so slow uploads or creates hold back the earlier stages instead of buffering the whole manifest.
+ * A row that fails in any stage is reported with the stage and error and is not passed on.
+ */
+public final class CreativePipeline {
+
+  /** The stages of the pipeline. */
+  public enum Stage {
+    VALIDATE,
+    HASH,
+    UPLOAD,
+    BUILD,
+    CREATE
+  }
+
+  private static final int VALIDATE_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final int HASH_THREADS = 2;
+  private static final int BUILD_THREADS = 1;
+
+  /** Marks the end of the rows in a stage queue. */
+  private static final Work END = new Work(-1, null);
+
+  private final DisplayVideo service;
+  private final AssetCache cache;
+  private final int uploadThreads;
+  private final int createThreads;
+  private final int queueCapacity;
+  private final RateLimiter byteRateLimiter;
+
+  private final ConcurrentMap<String, String> fileHashes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, CompletableFuture<Long>> uploads =
+      new ConcurrentHashMap<>();
+  private final AtomicLong uploadedFiles = new AtomicLong();
+  private final AtomicLong uploadedBytes = new AtomicLong();
+
+  /**
+   * Creates a pipeline.
+   *
+   * @param service The Display &amp; Video 360 service to upload and create with
+   * @param cache The cache of uploaded assets
+   * @param uploadThreads The number of concurrent uploads
+   * @param createThreads The number of concurrent create requests
+   * @param queueCapacity The maximum number of rows waiting between two stages
+   * @param maxUploadBytesPerSecond The maximum total upload rate, or 0 for no limit
+   */
+  public CreativePipeline(
+      DisplayVideo service,
+      AssetCache cache,
+      int uploadThreads,
+      int createThreads,
+      int queueCapacity,
+      double maxUploadBytesPerSecond) {
+    this.service = service;
+    this.cache = cache;
+    this.uploadThreads = uploadThreads;
+    this.createThreads = createThreads;
+    this.queueCapacity = queueCapacity;
+    this.byteRateLimiter =
+        maxUploadBytesPerSecond > 0 ? RateLimiter.create(maxUploadBytesPerSecond) : null;
+  }
+
+  /**
+   * Runs the given rows through the pipeline.
+   *
+   * @param rows The manifest rows to create creatives for
+   * @return The results of the rows, in row order
+   * @throws InterruptedException If interrupted while waiting for the pipeline to finish
+   */
+  public Report run(List<Row> rows) throws InterruptedException {
+    long startNanos = System.nanoTime();
+    Result[] results = new Result[rows.size()];
+    BlockingQueue<Work> validateQueue = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<Work> hashQueue = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<Work> uploadQueue = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<Work> buildQueue = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<Work> createQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            VALIDATE_THREADS + HASH_THREADS + uploadThreads + BUILD_THREADS + createThreads);
+    try {
+      startStage(
+          executor,
+          Stage.VALIDATE,
+          VALIDATE_THREADS,
+          validateQueue,
+          hashQueue,
+          results,
+          CreativePipeline::validate);
+      startStage(executor, Stage.HASH, HASH_THREADS, hashQueue, uploadQueue, results, this::hash);
+      startStage(
+          executor, Stage.UPLOAD, uploadThreads, uploadQueue, buildQueue, results, this::upload);
+      startStage(
+          executor, Stage.BUILD, BUILD_THREADS, buildQueue, createQueue, results, this::build);
+      startStage(executor, Stage.CREATE, createThreads, createQueue, null, results, this::create);
+
+      // Feed the rows into the first stage, blocking while it is full.
+      for (int i = 0; i < rows.size(); i++) {
+        validateQueue.put(new Work(i, rows.get(i)));
+      }
+      validateQueue.put(END);
+    } finally {
+      executor.shutdown();
+    }
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+    // Report rows that never reached the end of the pipeline, such as after an interruption.
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null) {
+        results[i] =
+            new Result(
+                i, rows.get(i), null, null, new IllegalStateException("The row did not complete."));
+      }
+    }
+
+    return new Report(
+        Arrays.asList(results),
+        System.nanoTime() - startNanos,
+        uploadedFiles.get(),
+        uploadedBytes.get());
+  }
+
+  private void startStage(
+      ExecutorService executor,
+      Stage stage,
+      int threads,
+      BlockingQueue<Work> input,
+      BlockingQueue<Work> output,
+      Result[] results,
+      Step step) {
+    AtomicInteger running = new AtomicInteger(threads);
+    for (int i = 0; i < threads; i++) {
+      executor.execute(
+          () -> {
+            try {
+              while (true) {
+                Work work = input.take();
+                if (work == END) {
+                  // Pass the end marker on to the next thread of this stage, or to the next stage
+                  // once every thread of this stage has finished.
+                  if (running.decrementAndGet() > 0) {
+                    input.put(END);
+                  } else if (output != null) {
+                    output.put(END);
+                  }
+                  return;
+                }
+                try {
+                  step.process(work);
+                } catch (Throwable t) {
+                  // Record errors too, so that the thread keeps taking rows and the run finishes.
+                  Exception error =
+                      t instanceof Exception ? (Exception) t : new ExecutionException(t);
+                  results[work.index] = new Result(work.index, work.row, null, stage, error);
+                  continue;
+                }
+                if (output != null) {
+                  output.put(work);
+                } else {
+                  results[work.index] =
+                      new Result(work.index, work.row, work.creative, null, null);
+                }
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
+  }
+
+  private static void validate(Work work) {
+    List<String> problems = CreativeValidator.validate(work.row);
+    if (!problems.isEmpty()) {
+      throw new IllegalArgumentException(String.join(" ", problems));
+    }
+  }
+
+  private void hash(Work work) throws Exception {
+    Row row = work.row;
+    for (String path : row.getAssetPaths()) {
+      String absolutePath = new File(path).getAbsolutePath();
+      String sha256 = fileHashes.get(absolutePath);
+      if (sha256 == null) {
+        sha256 = HashUtils.sha256(absolutePath);
+        fileHashes.putIfAbsent(absolutePath, sha256);
+      }
+      work.hashes.add(sha256);
+      work.mediaIds.add(cache.getMediaId(row.getAdvertiserId(), sha256));
+    }
+  }
+
+  private void upload(Work work) throws Exception {
+    long advertiserId = work.row.getAdvertiserId();
+    List<String> paths = work.row.getAssetPaths();
+    for (int i = 0; i < paths.size(); i++) {
+      if (work.mediaIds.get(i) != null) {
+        continue;
+      }
+
+      // Upload every file contents once per advertiser, even if several rows are in flight.
+      String sha256 = work.hashes.get(i);
+      String key = advertiserId + ":" + sha256;
+      CompletableFuture<Long> upload = new CompletableFuture<>();
+      CompletableFuture<Long> existing = uploads.putIfAbsent(key, upload);
+      if (existing != null) {
+        work.mediaIds.set(i, awaitUpload(existing));
+        continue;
+      }
+      try {
+        Asset asset =
+            CreativeUtils.uploadAsset(service, advertiserId, paths.get(i), null, byteRateLimiter);
+        cache.putMediaId(advertiserId, sha256, asset.getMediaId());
+        uploadedFiles.incrementAndGet();
+        uploadedBytes.addAndGet(new File(paths.get(i)).length());
+        upload.complete(asset.getMediaId());
+        work.mediaIds.set(i, asset.getMediaId());
+      } catch (Throwable t) {
+        // Let later rows with the same file upload it again.
+        uploads.remove(key, upload);
+        upload.completeExceptionally(t);
+        throw t;
+      }
+    }
+  }
+
+  private static long awaitUpload(CompletableFuture<Long> upload) throws Exception {
+    try {
+      return upload.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private void build(Work work) {
+    Row row = work.row;
+    Creative creative =
+        new Creative()
+            .setDisplayName(row.getDisplayName())
+            .setEntityStatus("ENTITY_STATUS_ACTIVE")
+            .setHostingSource("HOSTING_SOURCE_HOSTED");
+    AssetAssociation mainAsset =
+        new AssetAssociation()
+            .setAsset(new Asset().setMediaId(work.mediaIds.get(0)))
+            .setRole("ASSET_ROLE_MAIN");
+
+    switch (row.getCreativeType()) {
+      case HTML5:
+        creative
+            .setCreativeType("CREATIVE_TYPE_STANDARD")
+            .setDimensions(getDimensions(row))
+            .setAssets(ImmutableList.of(mainAsset))
+            .setExitEvents(ImmutableList.of(getExitEvent(row.getExitEventUrl(), row)));
+        break;
+      case VIDEO:
+        creative
+            .setCreativeType("CREATIVE_TYPE_VIDEO")
+            .setAssets(ImmutableList.of(mainAsset))
+            .setExitEvents(ImmutableList.of(getExitEvent(row.getExitEventUrl(), row)));
+        break;
+      case NATIVE_SITE:
+        List<AssetAssociation> assets = new ArrayList<>();
+        assets.add(mainAsset);
+        assets.add(
+            new AssetAssociation()
+                .setAsset(new Asset().setMediaId(work.mediaIds.get(1)))
+                .setRole("ASSET_ROLE_ICON"));
+        addTextAsset(assets, row.getAdvertiserName(), "ASSET_ROLE_ADVERTISER_NAME");
+        addTextAsset(assets, row.getHeadline(), "ASSET_ROLE_HEADLINE");
+        addTextAsset(assets, row.getBodyText(), "ASSET_ROLE_BODY");
+        addTextAsset(assets, row.getCaptionUrl(), "ASSET_ROLE_CAPTION_URL");
+        addTextAsset(assets, row.getCallToAction(), "ASSET_ROLE_CALL_TO_ACTION");
+        creative
+            .setCreativeType("CREATIVE_TYPE_NATIVE")
+            .setDimensions(getDimensions(row))
+            .setAssets(assets)
+            .setExitEvents(ImmutableList.of(getExitEvent(row.getLandingPageUrl(), row)));
+        break;
+    }
+    work.creative = creative;
+  }
+
+  private static Dimensions getDimensions(Row row) {
+    return new Dimensions()
+        .setHeightPixels(row.getHeightPixels())
+        .setWidthPixels(row.getWidthPixels());
+  }
+
+  private static ExitEvent getExitEvent(String url, Row row) {
+    return new ExitEvent()
+        .setName(row.getExitEventName())
+        .setType("EXIT_EVENT_TYPE_DEFAULT")
+        .setUrl(url);
+  }
+
+  private static void addTextAsset(List<AssetAssociation> assets, String content, String role) {
+    assets.add(new AssetAssociation().setAsset(new Asset().setContent(content)).setRole(role));
+  }
+
+  private void create(Work work) throws Exception {
+    long advertiserId = work.row.getAdvertiserId();
+    work.creative = service.advertisers().creatives().create(advertiserId, work.creative).execute();
+  }
+
+  /** Processes a row in a stage. */
+  private interface Step {
+    void process(Work work) throws Exception;
+  }
+
+  /** The state of a row as it moves through the pipeline. */
+  private static final class Work {
+
+    private final int index;
+    private final Row row;
+    private final List<String> hashes = new ArrayList<>();
+    private final List<Long> mediaIds = new ArrayList<>();
+    private Creative creative;
+
+    Work(int index, Row row) {
+      this.index = index;
+      this.row = row;
+    }
+  }
+
+  /** The result of a manifest row. */
+  public static final class Result {
+
+    private final int index;
+    private final Row row;
+    private final Creative creative;
+    private final Stage failedStage;
+    private final Exception error;
+
+    private Result(int index, Row row, Creative creative, Stage failedStage, Exception error) {
+      this.index = index;
+      this.row = row;
+      this.creative = creative;
+      this.failedStage = failedStage;
+      this.error = error;
+    }
+
+    /** Returns the zero-based index of the row in the manifest. */
+    public int getIndex() {
+      return index;
+    }
+
+    public Row getRow() {
+      return row;
+    }
+
+    /** Returns the created creative, or {@code null} if the row failed. */
+    public Creative getCreative() {
+      return creative;
+    }
+
+    /**
+     * Returns the stage the row failed in, or {@code null} if the creative was created or the row
+     * did not complete.
+     */
+    public Stage getFailedStage() {
+      return failedStage;
+    }
+
+    /** Returns the error the row failed with, or {@code null} if the creative was created. */
+    public Exception getError() {
+      return error;
+    }
+  }
+
+  /** The results and throughput of a pipeline run. */
+  public static final class Report {
+
+    private final List<Result> results;
+    private final long elapsedNanos;
+    private final long uploadedFiles;
+    private final long uploadedBytes;
+
+    private Report(
+        List<Result> results, long elapsedNanos, long uploadedFiles, long uploadedBytes) {
+      this.results = results;
+      this.elapsedNanos = elapsedNanos;
+      this.uploadedFiles = uploadedFiles;
+      this.uploadedBytes = uploadedBytes;
+    }
+
+    /** Returns the results of the rows, in row order. */
+    public List<Result> getResults() {
+      return results;
+    }
+
+    /** Returns the number of creatives created. */
+    public int getCreatedCount() {
+      int created = 0;
+      for (Result result : results) {
+        if (result != null && result.getCreative() != null) {
+          created++;
+        }
+      }
+      return created;
+    }
+
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /** Returns the number of files uploaded, excluding cached and duplicate files. */
+    public long getUploadedFiles() {
+      return uploadedFiles;
+    }
+
+    public long getUploadedBytes() {
+      return uploadedBytes;
+    }
+
+    /** Returns the number of creatives created per second. */
+    public double getCreativesPerSecond() {
+      return elapsedNanos == 0 ? 0 : getCreatedCount() * 1e9 / elapsedNanos;
+    }
+
+    /** Returns the number of bytes uploaded per second. */
+    public double getUploadBytesPerSecond() {
+      return elapsedNanos == 0 ? 0 : uploadedBytes * 1e9 / elapsedNanos;
+    }
+  }
+}
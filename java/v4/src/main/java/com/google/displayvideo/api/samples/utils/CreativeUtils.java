@@ -14,16 +14,13 @@
 
 package com.google.displayvideo.api.samples.utils;
 
-import com.google.api.client.http.InputStreamContent;
 import com.google.api.services.displayvideo.v4.DisplayVideo;
 import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers.Assets;
 import com.google.api.services.displayvideo.v4.model.Asset;
 import com.google.api.services.displayvideo.v4.model.CreateAssetRequest;
 import com.google.api.services.displayvideo.v4.model.CreateAssetResponse;
+import com.google.common.util.concurrent.RateLimiter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.net.FileNameMap;
-import java.net.URLConnection;
 
 /** This class implements creative utility methods used across samples. */
 public class CreativeUtils {
@@ -36,6 +33,49 @@ public class CreativeUtils {
    */
   public static Asset uploadAsset(DisplayVideo service, long advertiserId, String path)
       throws Exception {
+    return uploadAsset(service, advertiserId, path, null);
+  }
+
+  /**
+   * Uploads the given file as a creative asset under the given advertiser, unless a file with the
+   * same contents has already been uploaded under the advertiser according to the given cache.
+   *
+   * @param cache The cache of uploaded assets, or {@code null} to always upload the file
+   * @return The created asset, or an asset with only the media ID set if the file was cached
+   * @throws Exception If an error occurs while uploading the asset
+   */
+  public static Asset uploadAsset(
+      DisplayVideo service, long advertiserId, String path, AssetCache cache) throws Exception {
+    return uploadAsset(service, advertiserId, path, cache, null);
+  }
+
+  /**
+   * Uploads the given file as a creative asset under the given advertiser, reading the file no
+   * faster than the given rate limiter allows.
+   *
+   * @param cache The cache of uploaded assets, or {@code null} to always upload the file
+   * @param byteRateLimiter The limiter to acquire a permit from for every byte uploaded, or {@code
+   *     null} to upload without a limit
+   * @return The created asset, or an asset with only the media ID set if the file was cached
+   * @throws Exception If an error occurs while uploading the asset
+   */
+  public static Asset uploadAsset(
+      DisplayVideo service,
+      long advertiserId,
+      String path,
+      AssetCache cache,
+      RateLimiter byteRateLimiter)
+      throws Exception {
+
+    // Look up the file contents in the cache
+    String sha256 = null;
+    if (cache != null) {
+      sha256 = HashUtils.sha256(path);
+      Long mediaId = cache.getMediaId(advertiserId, sha256);
+      if (mediaId != null) {
+        return new Asset().setMediaId(mediaId);
+      }
+    }
 
     // Get filename from path
     String filename = new File(path).getName();
@@ -43,9 +83,10 @@ public class CreativeUtils {
     // Create the asset upload request content
     CreateAssetRequest content = new CreateAssetRequest().setFilename(filename);
 
-    // Create input stream for the creative asset
-    InputStreamContent assetStream =
-        new InputStreamContent(getMimeType(filename), new FileInputStream(path));
+    // Create file content for the creative asset
+    FileChannelContent assetStream =
+        new FileChannelContent(MimeTypeDetector.getMimeType(path), new File(path))
+            .setByteRateLimiter(byteRateLimiter);
 
     // Configure the asset upload request
     Assets.Upload assetRequest =
@@ -53,23 +94,14 @@ public class CreativeUtils {
 
     // Upload the asset
     CreateAssetResponse assetResponse = assetRequest.execute();
+    Asset asset = assetResponse.getAsset();
 
-    // Return the created asset object
-    return assetResponse.getAsset();
-  }
-
-  private static String getMimeType(String filename) {
-
-    // Parse filename for appropriate MIME type
-    FileNameMap filenameMap = URLConnection.getFileNameMap();
-    String mimeType = filenameMap.getContentTypeFor(filename);
-
-    // If MIME type was found, return it
-    if (mimeType != null) {
-      return mimeType;
+    // Record the uploaded asset in the cache
+    if (cache != null) {
+      cache.putMediaId(advertiserId, sha256, asset.getMediaId());
     }
 
-    // Otherwise, return a default value
-    return "application/octet-stream";
+    // Return the created asset object
+    return asset;
   }
 }
@@ -0,0 +1,370 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.ByteStreams;
+import com.google.displayvideo.api.samples.utils.CreativeManifest.Row;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Validates creatives locally before their assets are uploaded, so that invalid inputs fail
+ * without an upload or a create request.
+ *
+ * <p>Every method returns the problems found, or an empty list if none were. The size limits are
+ * conservative defaults; see the Display &amp; Video 360 help center for the current limits.
+ */
+public final class CreativeValidator {
+
+  /** The maximum size of an image asset. */
+  public static final long MAX_IMAGE_BYTES = 10L * 1024 * 1024;
+
+  /** The maximum size of an HTML5 zip asset. */
+  public static final long MAX_HTML5_BYTES = 10L * 1024 * 1024;
+
+  /** The maximum size of a video asset. */
+  public static final long MAX_VIDEO_BYTES = 1024L * 1024 * 1024;
+
+  /** The maximum number of bytes of the served HTML file searched for the ad size. */
+  private static final int MAX_HTML_BYTES = 1024 * 1024;
+
+  /** The size of the chunks that zip entries are searched for the exit event in. */
+  private static final int SEARCH_BUFFER_BYTES = 64 * 1024;
+
+  private static final Pattern AD_SIZE_PATTERN =
+      Pattern.compile(
+          "<meta[^>]+name=[\"']ad\\.size[\"'][^>]+content=[\"']\\s*width=(\\d+)\\s*,\\s*"
+              + "height=(\\d+)",
+          Pattern.CASE_INSENSITIVE);
+
+  private CreativeValidator() {}
+
+  /**
+   * Validates a manifest row according to its creative type.
+   *
+   * @return The problems found
+   */
+  public static List<String> validate(Row row) {
+    List<String> problems = new ArrayList<>();
+    if (row.getCreativeType() == null) {
+      problems.add("The creative type is missing.");
+      return problems;
+    }
+    if (row.getAdvertiserId() == null) {
+      problems.add("The advertiser ID is missing.");
+    }
+    switch (row.getCreativeType()) {
+      case HTML5:
+        problems.addAll(
+            validateHtml5(
+                row.getAssetPath(),
+                row.getHeightPixels(),
+                row.getWidthPixels(),
+                row.getExitEventName(),
+                row.getExitEventUrl()));
+        break;
+      case VIDEO:
+        problems.addAll(validateVideo(row.getAssetPath(), row.getExitEventUrl()));
+        break;
+      case NATIVE_SITE:
+        problems.addAll(
+            validateNativeSite(
+                row.getAssetPath(),
+                row.getLogoAssetPath(),
+                row.getHeightPixels(),
+                row.getWidthPixels(),
+                row.getLandingPageUrl()));
+        break;
+    }
+    return problems;
+  }
+
+  /**
+   * Validates an HTML5 creative: the zip must be readable and contain an HTML file, which must
+   * match the creative dimensions if it declares an ad size. One of its HTML or JavaScript files
+   * must reference the exit event, such as {@code clickTag}.
+   *
+   * @return The problems found
+   */
+  public static List<String> validateHtml5(
+      String zipPath,
+      Integer heightPixels,
+      Integer widthPixels,
+      String exitEventName,
+      String exitEventUrl) {
+    List<String> problems = new ArrayList<>();
+    validateDimensions(heightPixels, widthPixels, problems);
+    boolean hasExitEventName = exitEventName != null && !exitEventName.isEmpty();
+    if (!hasExitEventName) {
+      problems.add("The exit event name is missing.");
+    }
+    validateUrl("exit event URL", exitEventUrl, problems);
+    if (!validateFile(zipPath, "application/zip", "a zip file", MAX_HTML5_BYTES, problems)) {
+      return problems;
+    }
+
+    try (ZipFile zip = new ZipFile(zipPath)) {
+      String htmlEntry = null;
+      boolean referencesExitEvent = false;
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        String name = entry.getName();
+        if (name.startsWith("/") || name.contains("..")) {
+          problems.add("The zip entry " + name + " has an unsafe path.");
+        }
+        String lowerCaseName = name.toLowerCase();
+        boolean isHtml = lowerCaseName.endsWith(".html") || lowerCaseName.endsWith(".htm");
+        // Prefer the least deeply nested HTML file, which is the one served.
+        if (isHtml && (htmlEntry == null || depth(name) < depth(htmlEntry))) {
+          htmlEntry = name;
+        }
+        // The exit event name is the click tag the HTML5 asset reports exits with, which may be
+        // referenced from any of its scripts.
+        if (hasExitEventName
+            && !referencesExitEvent
+            && (isHtml || lowerCaseName.endsWith(".js"))) {
+          try (InputStream in = zip.getInputStream(entry)) {
+            referencesExitEvent = contains(in, exitEventName.getBytes(UTF_8));
+          }
+        }
+      }
+      if (htmlEntry == null) {
+        problems.add("The zip " + zipPath + " contains no HTML file.");
+      } else {
+        if (hasExitEventName && !referencesExitEvent) {
+          problems.add(
+              String.format(
+                  "No HTML or JavaScript file of the zip %s references the exit event %s.",
+                  zipPath, exitEventName));
+        }
+        if (heightPixels != null && widthPixels != null) {
+          String html;
+          try (InputStream in =
+              ByteStreams.limit(zip.getInputStream(zip.getEntry(htmlEntry)), MAX_HTML_BYTES)) {
+            html = new String(ByteStreams.toByteArray(in), UTF_8);
+          }
+          validateAdSize(html, htmlEntry, heightPixels, widthPixels, problems);
+        }
+      }
+    } catch (ZipException e) {
+      problems.add("The file " + zipPath + " is not a valid zip file.");
+    } catch (IOException e) {
+      problems.add("The file " + zipPath + " cannot be read: " + e.getMessage());
+    }
+    return problems;
+  }
+
+  /**
+   * Validates a video creative: the file must be a video within the size limit.
+   *
+   * @return The problems found
+   */
+  public static List<String> validateVideo(String videoPath, String exitEventUrl) {
+    List<String> problems = new ArrayList<>();
+    validateUrl("exit event URL", exitEventUrl, problems);
+    validateFile(videoPath, "video/", "a video", MAX_VIDEO_BYTES, problems);
+    return problems;
+  }
+
+  /**
+   * Validates a native site creative: the image must match the creative dimensions, and the logo
+   * must be an image.
+   *
+   * @return The problems found
+   */
+  public static List<String> validateNativeSite(
+      String imagePath,
+      String logoPath,
+      Integer heightPixels,
+      Integer widthPixels,
+      String landingPageUrl) {
+    List<String> problems = new ArrayList<>();
+    validateDimensions(heightPixels, widthPixels, problems);
+    validateUrl("landing page URL", landingPageUrl, problems);
+    if (validateFile(imagePath, "image/", "an image", MAX_IMAGE_BYTES, problems)
+        && heightPixels != null
+        && widthPixels != null) {
+      validateImageSize(imagePath, heightPixels, widthPixels, problems);
+    }
+    validateFile(logoPath, "image/", "an image", MAX_IMAGE_BYTES, problems);
+    return problems;
+  }
+
+  /**
+   * Checks that a file exists, has the expected MIME type and is within the size limit.
+   *
+   * @param mimeTypePrefix The expected MIME type, or the prefix of the expected MIME types
+   * @param typeDescription The description of the expected type used in problems
+   * @return Whether the file can be validated further
+   */
+  private static boolean validateFile(
+      String path,
+      String mimeTypePrefix,
+      String typeDescription,
+      long maxBytes,
+      List<String> problems) {
+    if (path == null) {
+      problems.add("An asset path is missing.");
+      return false;
+    }
+    File file = new File(path);
+    if (!file.isFile() || !file.canRead()) {
+      problems.add("The file " + path + " does not exist or cannot be read.");
+      return false;
+    }
+    if (file.length() == 0) {
+      problems.add("The file " + path + " is empty.");
+      return false;
+    }
+    if (file.length() > maxBytes) {
+      problems.add(
+          String.format(
+              "The file %s is %d bytes, more than the limit of %d bytes.",
+              path, file.length(), maxBytes));
+    }
+    String mimeType = MimeTypeDetector.getMimeType(path);
+    if (!mimeType.startsWith(mimeTypePrefix)) {
+      problems.add(String.format("The file %s is %s, not %s.", path, mimeType, typeDescription));
+      return false;
+    }
+    return true;
+  }
+
+  private static void validateDimensions(
+      Integer heightPixels, Integer widthPixels, List<String> problems) {
+    if (heightPixels == null || widthPixels == null) {
+      problems.add("The creative height and width are missing.");
+    } else if (heightPixels <= 0 || widthPixels <= 0) {
+      problems.add("The creative height and width must be positive.");
+    }
+  }
+
+  private static void validateUrl(String name, String url, List<String> problems) {
+    if (url == null || url.isEmpty()) {
+      problems.add("The " + name + " is missing.");
+      return;
+    }
+    try {
+      String protocol = new URL(url).getProtocol();
+      if (!protocol.equals("http") && !protocol.equals("https")) {
+        problems.add("The " + name + " " + url + " is not an HTTP or HTTPS URL.");
+      }
+    } catch (MalformedURLException e) {
+      problems.add("The " + name + " " + url + " is not a valid URL.");
+    }
+  }
+
+  /** Checks the image dimensions, reading only the image header. */
+  private static void validateImageSize(
+      String path, int heightPixels, int widthPixels, List<String> problems) {
+    try (ImageInputStream in = ImageIO.createImageInputStream(new File(path))) {
+      Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+      if (readers == null || !readers.hasNext()) {
+        // The dimensions of formats without a reader are left to the server.
+        return;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if (width != widthPixels || height != heightPixels) {
+          problems.add(
+              String.format(
+                  "The image %s is %dx%d pixels, not %dx%d.",
+                  path, width, height, widthPixels, heightPixels));
+        }
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      problems.add("The image " + path + " cannot be read: " + e.getMessage());
+    }
+  }
+
+  /** Checks the ad size declared by the HTML file of a zip, if any. */
+  private static void validateAdSize(
+      String html, String htmlEntry, int heightPixels, int widthPixels, List<String> problems) {
+    Matcher matcher = AD_SIZE_PATTERN.matcher(html);
+    if (matcher.find()) {
+      int width;
+      int height;
+      try {
+        width = Integer.parseInt(matcher.group(1));
+        height = Integer.parseInt(matcher.group(2));
+      } catch (NumberFormatException e) {
+        problems.add("The HTML file " + htmlEntry + " declares an invalid ad size.");
+        return;
+      }
+      if (width != widthPixels || height != heightPixels) {
+        problems.add(
+            String.format(
+                "The HTML file %s declares an ad size of %dx%d pixels, not %dx%d.",
+                htmlEntry, width, height, widthPixels, heightPixels));
+      }
+    }
+  }
+
+  /** Returns whether a stream contains a byte sequence, reading it in chunks. */
+  private static boolean contains(InputStream in, byte[] target) throws IOException {
+    byte[] buffer = new byte[SEARCH_BUFFER_BYTES + target.length];
+    int kept = 0;
+    int read;
+    while ((read = in.read(buffer, kept, buffer.length - kept)) != -1) {
+      int length = kept + read;
+      for (int start = 0; start + target.length <= length; start++) {
+        int i = 0;
+        while (i < target.length && buffer[start + i] == target[i]) {
+          i++;
+        }
+        if (i == target.length) {
+          return true;
+        }
+      }
+      // Keep the end of the chunk, in case the sequence continues in the next one.
+      kept = Math.min(target.length - 1, length);
+      System.arraycopy(buffer, length - kept, buffer, 0, kept);
+    }
+    return false;
+  }
+
+  private static int depth(String entryName) {
+    int depth = 0;
+    for (int i = 0; i < entryName.length(); i++) {
+      if (entryName.charAt(i) == '/') {
+        depth++;
+      }
+    }
+    return depth;
+  }
+}
@@ -0,0 +1,177 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.util.ClassInfo;
+import com.google.api.client.util.Data;
+import com.google.api.client.util.FieldInfo;
+import com.google.api.client.util.Types;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A streaming RFC 4180 CSV parser, as used by structured data files (SDFs). Quoted fields may
+ * contain commas, escaped quotes and line breaks.
+ */
+public final class CsvParser implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Reader reader;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder field = new StringBuilder();
+  private final List<String> fields = new ArrayList<>();
+  private int position;
+  private int limit;
+  private boolean firstRead = true;
+
+  public CsvParser(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Reads CSV records into objects of a class. The header row names the {@code @Key} fields of the
+   * class, and every following non-blank row becomes one object. Empty values are left unset.
+   *
+   * @param reader The CSV input, including its header row
+   * @param recordClass The class of the records, with a public no-argument constructor
+   * @return The records, in input order
+   * @throws IOException If the underlying reader fails
+   * @throws IllegalArgumentException If the header names an unknown field or a value is invalid
+   */
+  public static <T> List<T> readRecords(Reader reader, Class<T> recordClass) throws IOException {
+    List<T> records = new ArrayList<>();
+    CsvParser parser = new CsvParser(reader);
+    String[] header = parser.readRow();
+    if (header == null) {
+      return records;
+    }
+
+    // Resolve the header to fields once.
+    ClassInfo classInfo = ClassInfo.of(recordClass);
+    FieldInfo[] fields = new FieldInfo[header.length];
+    for (int i = 0; i < header.length; i++) {
+      fields[i] = classInfo.getFieldInfo(header[i].trim());
+      if (fields[i] == null) {
+        throw new IllegalArgumentException("Unknown column: " + header[i]);
+      }
+    }
+
+    String[] values;
+    while ((values = parser.readRow()) != null) {
+      if (values.length == 1 && values[0].isEmpty()) {
+        continue;
+      }
+      T record = Types.newInstance(recordClass);
+      for (int i = 0; i < values.length && i < fields.length; i++) {
+        if (!values[i].isEmpty()) {
+          fields[i].setValue(
+              record, Data.parsePrimitiveValue(fields[i].getGenericType(), values[i]));
+        }
+      }
+      records.add(record);
+    }
+    return records;
+  }
+
+  /**
+   * Reads the next row.
+   *
+   * @return The fields of the row, or {@code null} once the end of the input has been reached
+   * @throws IOException If the underlying reader fails
+   */
+  public String[] readRow() throws IOException {
+    fields.clear();
+    field.setLength(0);
+    boolean inQuotes = false;
+    boolean rowStarted = false;
+
+    while (true) {
+      if (position == limit && !fill()) {
+        if (!rowStarted) {
+          return null;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+      }
+      char c = buffer[position++];
+      rowStarted = true;
+
+      if (inQuotes) {
+        if (c == '"') {
+          // A doubled quote is an escaped quote, anything else closes the quoted section.
+          if (position == limit && !fill()) {
+            inQuotes = false;
+          } else if (buffer[position] == '"') {
+            field.append('"');
+            position++;
+          } else {
+            inQuotes = false;
+          }
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        inQuotes = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n') {
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+      } else if (c == '\r') {
+        // Swallow the line feed of a CRLF line ending.
+        if ((position < limit || fill()) && buffer[position] == '\n') {
+          position++;
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+      } else {
+        field.append(c);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private boolean fill() throws IOException {
+    int read;
+    do {
+      read = reader.read(buffer, 0, buffer.length);
+    } while (read == 0);
+    if (read < 0) {
+      position = limit = 0;
+      return false;
+    }
+    position = 0;
+    limit = read;
+
+    // Skip the byte order mark some tools write at the start of UTF-8 files.
+    if (firstRead) {
+      firstRead = false;
+      if (buffer[0] == '\uFEFF') {
+        position = 1;
+        return position < limit || fill();
+      }
+    }
+    return true;
+  }
+}
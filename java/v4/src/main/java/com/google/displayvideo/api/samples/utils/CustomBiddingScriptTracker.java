@@ -0,0 +1,215 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.CustomBiddingScript;
+import com.google.api.services.displayvideo.v4.model.ScriptError;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the processing state of created custom bidding scripts.
+ *
+ * <p>All tracked scripts are polled by a single scheduler thread. Every script is polled with its
+ * own exponential backoff, so scripts created at different times do not share a polling schedule
+ * and no thread is blocked while a script is pending.
+ */
+public final class CustomBiddingScriptTracker implements AutoCloseable {
+
+  private static final String STATE_ACCEPTED = "ACCEPTED";
+  private static final String STATE_REJECTED = "REJECTED";
+
+  private final DisplayVideo service;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor();
+  private final Set<CompletableFuture<CustomBiddingScript>> pending =
+      ConcurrentHashMap.newKeySet();
+  private final int initialIntervalMillis;
+  private final int maxIntervalMillis;
+  private final int maxElapsedTimeMillis;
+
+  /**
+   * Creates a tracker that polls every script after ten seconds at first, and at most once a
+   * minute, for up to an hour.
+   */
+  public CustomBiddingScriptTracker(DisplayVideo service) {
+    this(service, 10000, 60000, 3600000);
+  }
+
+  /**
+   * Creates a tracker.
+   *
+   * @param service The Display &amp; Video 360 service to poll with
+   * @param initialIntervalMillis The time before a script is first polled
+   * @param maxIntervalMillis The maximum time between two polls of a script
+   * @param maxElapsedTimeMillis The time after which a script that is still pending fails
+   */
+  public CustomBiddingScriptTracker(
+      DisplayVideo service,
+      int initialIntervalMillis,
+      int maxIntervalMillis,
+      int maxElapsedTimeMillis) {
+    this.service = service;
+    this.initialIntervalMillis = initialIntervalMillis;
+    this.maxIntervalMillis = maxIntervalMillis;
+    this.maxElapsedTimeMillis = maxElapsedTimeMillis;
+  }
+
+  /**
+   * Starts tracking a created script.
+   *
+   * @param advertiserId The ID of the advertiser that owns the custom bidding algorithm
+   * @param script The script returned by the create request
+   * @return A future completed with the script once it has been accepted or rejected, or
+   *     completed exceptionally if it cannot be retrieved or is still pending after the maximum
+   *     elapsed time
+   */
+  public CompletableFuture<CustomBiddingScript> track(
+      long advertiserId, CustomBiddingScript script) {
+    CompletableFuture<CustomBiddingScript> future = new CompletableFuture<>();
+    if (isDone(script)) {
+      future.complete(script);
+      return future;
+    }
+
+    pending.add(future);
+    future.whenComplete((result, e) -> pending.remove(future));
+    BackOff backOff =
+        new ExponentialBackOff.Builder()
+            .setInitialIntervalMillis(initialIntervalMillis)
+            .setMaxIntervalMillis(maxIntervalMillis)
+            .setMaxElapsedTimeMillis(maxElapsedTimeMillis)
+            .build();
+    schedulePoll(advertiserId, script, backOff, future);
+    return future;
+  }
+
+  /** Returns the number of scripts that are still being tracked. */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Formats the errors of a rejected script, one per line.
+   *
+   * @return The errors, or an empty string if the script has none
+   */
+  public static String formatErrors(CustomBiddingScript script) {
+    if (script.getErrors() == null) {
+      return "";
+    }
+    List<String> lines = new ArrayList<>();
+    for (ScriptError error : script.getErrors()) {
+      lines.add(
+          String.format(
+              "%s at line %s, column %s: %s",
+              error.getErrorCode(), error.getLine(), error.getColumn(), error.getErrorMessage()));
+    }
+    return String.join(System.lineSeparator(), lines);
+  }
+
+  /** Stops polling, cancelling the futures of scripts that are still being tracked. */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    for (CompletableFuture<CustomBiddingScript> future : pending) {
+      future.cancel(false);
+    }
+  }
+
+  private void schedulePoll(
+      long advertiserId,
+      CustomBiddingScript script,
+      BackOff backOff,
+      CompletableFuture<CustomBiddingScript> future) {
+    long delayMillis;
+    try {
+      delayMillis = backOff.nextBackOffMillis();
+    } catch (IOException e) {
+      future.completeExceptionally(e);
+      return;
+    }
+    if (delayMillis == BackOff.STOP) {
+      future.completeExceptionally(
+          new TimeoutException(
+              String.format(
+                  "Script %s was still pending after %d seconds.",
+                  script.getName(), TimeUnit.MILLISECONDS.toSeconds(maxElapsedTimeMillis))));
+      return;
+    }
+    scheduler.schedule(
+        () -> {
+          try {
+            poll(advertiserId, script, backOff, future);
+          } catch (Throwable t) {
+            // The scheduler would swallow the error and leave the future pending forever.
+            future.completeExceptionally(t);
+          }
+        },
+        delayMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void poll(
+      long advertiserId,
+      CustomBiddingScript script,
+      BackOff backOff,
+      CompletableFuture<CustomBiddingScript> future) {
+    if (future.isDone()) {
+      return;
+    }
+    CustomBiddingScript current;
+    try {
+      current =
+          service
+              .customBiddingAlgorithms()
+              .scripts()
+              .get(script.getCustomBiddingAlgorithmId(), script.getCustomBiddingScriptId())
+              .setAdvertiserId(advertiserId)
+              .execute();
+    } catch (HttpResponseException e) {
+      if (e.getStatusCode() < 500) {
+        future.completeExceptionally(e);
+        return;
+      }
+      // Retry server errors at the next poll.
+      current = script;
+    } catch (IOException e) {
+      current = script;
+    }
+
+    if (isDone(current)) {
+      future.complete(current);
+    } else {
+      schedulePoll(advertiserId, script, backOff, future);
+    }
+  }
+
+  private static boolean isDone(CustomBiddingScript script) {
+    return STATE_ACCEPTED.equals(script.getState()) || STATE_REJECTED.equals(script.getState());
+  }
+}
@@ -0,0 +1,220 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.DisplayVideo.Media;
+import com.google.api.services.displayvideo.v4.model.CustomBiddingScript;
+import com.google.api.services.displayvideo.v4.model.CustomBiddingScriptRef;
+import com.google.api.services.displayvideo.v4.model.GoogleBytestreamMedia;
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uploads custom bidding scripts for many algorithms concurrently.
+ *
+ * <p>Every script goes through three steps: retrieving a script reference, uploading the script
+ * file to it and creating the script. The reference and create requests run on one pool of threads
+ * and the file uploads on another, so the steps of different algorithms overlap. The hash of every
+ * successfully created script is recorded per algorithm, and a script whose file has not changed
+ * since is not uploaded again.
+ */
+public final class CustomBiddingScriptUploader implements AutoCloseable {
+
+  private static final String DATA_STORE_ID = "CustomBiddingScriptHashes";
+
+  private final DisplayVideo service;
+  private final DataStore<String> scriptHashes;
+  private final ExecutorService requestExecutor;
+  private final ExecutorService uploadExecutor;
+  private final AtomicLong createdScripts = new AtomicLong();
+  private final AtomicLong unchangedScripts = new AtomicLong();
+
+  /** The uploads that have not completed yet. */
+  private final Set<CompletableFuture<CustomBiddingScript>> pendingUploads =
+      ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates an uploader.
+   *
+   * @param service The Display &amp; Video 360 service to upload with
+   * @param dataStoreFactory The factory of the data store to record script hashes in
+   * @param requestThreads The maximum number of concurrent reference and create requests
+   * @param uploadThreads The maximum number of concurrent file uploads
+   */
+  public CustomBiddingScriptUploader(
+      DisplayVideo service,
+      DataStoreFactory dataStoreFactory,
+      int requestThreads,
+      int uploadThreads)
+      throws IOException {
+    this.service = service;
+    this.scriptHashes = dataStoreFactory.getDataStore(DATA_STORE_ID);
+    this.requestExecutor = Executors.newFixedThreadPool(requestThreads);
+    this.uploadExecutor = Executors.newFixedThreadPool(uploadThreads);
+  }
+
+  /**
+   * Starts uploading a script and creating a script resource for a custom bidding algorithm.
+   *
+   * @param advertiserId The ID of the advertiser that owns the algorithm
+   * @param customBiddingAlgorithmId The ID of the algorithm
+   * @param scriptPath The path to the script file
+   * @return A future completed with the created script, or with {@code null} if the script file
+   *     has not changed since its last successful upload
+   */
+  public CompletableFuture<CustomBiddingScript> upload(
+      long advertiserId, long customBiddingAlgorithmId, String scriptPath) {
+    String key = Long.toString(customBiddingAlgorithmId);
+    CompletableFuture<CustomBiddingScript> script =
+        CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    String sha256 = HashUtils.sha256(scriptPath);
+                    if (sha256.equals(scriptHashes.get(key))) {
+                      unchangedScripts.incrementAndGet();
+                      return null;
+                    }
+                    return new Upload(
+                        sha256, getScriptRef(advertiserId, customBiddingAlgorithmId));
+                  } catch (IOException e) {
+                    throw new CompletionException(e);
+                  }
+                },
+                requestExecutor)
+            .thenApplyAsync(
+                upload -> {
+                  if (upload != null) {
+                    try {
+                      uploadScriptFile(upload.scriptRef, scriptPath);
+                    } catch (IOException e) {
+                      throw new CompletionException(e);
+                    }
+                  }
+                  return upload;
+                },
+                uploadExecutor)
+            .thenApplyAsync(
+                upload -> {
+                  if (upload == null) {
+                    return null;
+                  }
+                  try {
+                    CustomBiddingScript created =
+                        createScript(advertiserId, customBiddingAlgorithmId, upload.scriptRef);
+                    scriptHashes.set(key, upload.sha256);
+                    createdScripts.incrementAndGet();
+                    return created;
+                  } catch (IOException e) {
+                    throw new CompletionException(e);
+                  }
+                },
+                requestExecutor);
+
+    // Track the upload until it completes, so that close() can wait for it.
+    pendingUploads.add(script);
+    script.whenComplete((result, e) -> pendingUploads.remove(script));
+    return script;
+  }
+
+  /** Returns the number of scripts created. */
+  public long getCreatedScripts() {
+    return createdScripts.get();
+  }
+
+  /** Returns the number of scripts skipped because their file had not changed. */
+  public long getUnchangedScripts() {
+    return unchangedScripts.get();
+  }
+
+  /** Waits for started uploads to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    // Every step hands the next one to the other pool, so neither pool can be shut down while an
+    // upload is still pending.
+    for (CompletableFuture<CustomBiddingScript> upload : pendingUploads) {
+      try {
+        upload.get();
+      } catch (ExecutionException | CancellationException e) {
+        // Failures are reported through the futures returned by upload().
+      }
+    }
+    uploadExecutor.shutdown();
+    uploadExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    requestExecutor.shutdown();
+    requestExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  private CustomBiddingScriptRef getScriptRef(long advertiserId, long customBiddingAlgorithmId)
+      throws IOException {
+    return service
+        .customBiddingAlgorithms()
+        .uploadScript(customBiddingAlgorithmId)
+        .setAdvertiserId(advertiserId)
+        .execute();
+  }
+
+  private void uploadScriptFile(CustomBiddingScriptRef scriptRef, String scriptPath)
+      throws IOException {
+    String resourceName = scriptRef.getResourceName();
+    GoogleBytestreamMedia media = new GoogleBytestreamMedia().setResourceName(resourceName);
+    Media.Upload uploadRequest =
+        service
+            .media()
+            .upload(resourceName, media, new FileChannelContent(null, new File(scriptPath)));
+
+    // The resource name contains slashes, so the upload URL is built with it unescaped.
+    MediaHttpUploader uploader = uploadRequest.getMediaHttpUploader();
+    uploader.setDirectUploadEnabled(true);
+    uploader.upload(new GenericUrl(service.getRootUrl() + "upload/media/" + resourceName));
+  }
+
+  private CustomBiddingScript createScript(
+      long advertiserId, long customBiddingAlgorithmId, CustomBiddingScriptRef scriptRef)
+      throws IOException {
+    return service
+        .customBiddingAlgorithms()
+        .scripts()
+        .create(customBiddingAlgorithmId, new CustomBiddingScript().setScript(scriptRef))
+        .setAdvertiserId(advertiserId)
+        .execute();
+  }
+
+  /** A script that has changed and is being uploaded. */
+  private static final class Upload {
+
+    private final String sha256;
+    private final CustomBiddingScriptRef scriptRef;
+
+    Upload(String sha256, CustomBiddingScriptRef scriptRef) {
+      this.sha256 = sha256;
+      this.scriptRef = scriptRef;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.services.displayvideo.v4.model.Date;
+import com.google.api.services.displayvideo.v4.model.DateRange;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread-safe cache of {@link Date} and {@link DateRange} objects by day.
+ *
+ * <p>Plans of many entities repeat the same few dates, such as the first and last days of every
+ * month. The cache returns the same object for the same day or range of days, so the cached objects
+ * must not be modified.
+ */
+public final class DateCache {
+
+  private final ConcurrentMap<LocalDate, Date> dates = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, DateRange> dateRanges = new ConcurrentHashMap<>();
+
+  /** Returns the date of a day. */
+  public Date getDate(LocalDate day) {
+    return dates.computeIfAbsent(
+        day,
+        d -> new Date().setYear(d.getYear()).setMonth(d.getMonthValue()).setDay(d.getDayOfMonth()));
+  }
+
+  /**
+   * Returns the date range between two days.
+   *
+   * @param startDay The first day of the range
+   * @param endDay The last day of the range, inclusive
+   */
+  public DateRange getDateRange(LocalDate startDay, LocalDate endDay) {
+    // Epoch days fit in 32 bits, so both days pack into one key.
+    long key = (startDay.toEpochDay() << 32) | (endDay.toEpochDay() & 0xFFFFFFFFL);
+    return dateRanges.computeIfAbsent(
+        key,
+        k -> new DateRange().setStartDate(getDate(startDay)).setEndDate(getDate(endDay)));
+  }
+
+  /** Returns the number of distinct dates and date ranges in the cache. */
+  public int size() {
+    return dates.size() + dateRanges.size();
+  }
+}
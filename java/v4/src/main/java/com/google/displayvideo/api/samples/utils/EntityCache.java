@@ -0,0 +1,247 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Advertiser;
+import com.google.api.services.displayvideo.v4.model.Campaign;
+import com.google.api.services.displayvideo.v4.model.InsertionOrder;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A read-through cache of advertisers, campaigns, insertion orders and line items, keyed by ID.
+ *
+ * <p>An entity that is not cached, or was cached longer than the time to live ago, is fetched with
+ * a get request and cached. Once the cache is full, the least recently used entity is evicted.
+ * Code that creates or patches an entity should put the returned entity, or invalidate it, so that
+ * later reads do not see the old version.
+ *
+ * <p>Entities are copied when they are cached and when they are returned, so callers may modify
+ * them freely.
+ */
+public final class EntityCache {
+
+  /** The default maximum number of cached entities. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  /** The default time after which a cached entity is fetched again. */
+  public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private final int maximumSize;
+  private final long ttlNanos;
+  private final LinkedHashMap<String, CachedEntity> entities;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /** Counts invalidations, so that a fetch that raced with one is not cached. */
+  private long invalidations;
+
+  /** Creates a cache with the default maximum size and time to live. */
+  public EntityCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_MILLIS);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param maximumSize The maximum number of cached entities
+   * @param ttlMillis The time after which a cached entity is fetched again
+   */
+  public EntityCache(int maximumSize, long ttlMillis) {
+    this.maximumSize = maximumSize;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    // Iterate in access order, so that the eldest entry is the least recently used one.
+    this.entities =
+        new LinkedHashMap<String, CachedEntity>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, CachedEntity> eldest) {
+            if (size() > EntityCache.this.maximumSize) {
+              evictions.incrementAndGet();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /** Returns an advertiser, fetching it if it is not cached. */
+  public Advertiser getAdvertiser(DisplayVideo service, long advertiserId) throws IOException {
+    return get(
+        getKey("advertiser", advertiserId, advertiserId),
+        () -> service.advertisers().get(advertiserId).execute());
+  }
+
+  /** Returns a campaign, fetching it if it is not cached. */
+  public Campaign getCampaign(DisplayVideo service, long advertiserId, long campaignId)
+      throws IOException {
+    return get(
+        getKey("campaign", advertiserId, campaignId),
+        () -> service.advertisers().campaigns().get(advertiserId, campaignId).execute());
+  }
+
+  /** Returns an insertion order, fetching it if it is not cached. */
+  public InsertionOrder getInsertionOrder(
+      DisplayVideo service, long advertiserId, long insertionOrderId) throws IOException {
+    return get(
+        getKey("insertionOrder", advertiserId, insertionOrderId),
+        () ->
+            service.advertisers().insertionOrders().get(advertiserId, insertionOrderId).execute());
+  }
+
+  /** Returns a line item, fetching it if it is not cached. */
+  public LineItem getLineItem(DisplayVideo service, long advertiserId, long lineItemId)
+      throws IOException {
+    return get(
+        getKey("lineItem", advertiserId, lineItemId),
+        () -> service.advertisers().lineItems().get(advertiserId, lineItemId).execute());
+  }
+
+  /** Caches an advertiser returned by a create or patch request. */
+  public void putAdvertiser(Advertiser advertiser) {
+    long advertiserId = advertiser.getAdvertiserId();
+    put(getKey("advertiser", advertiserId, advertiserId), advertiser);
+  }
+
+  /** Caches a campaign returned by a create or patch request. */
+  public void putCampaign(Campaign campaign) {
+    put(getKey("campaign", campaign.getAdvertiserId(), campaign.getCampaignId()), campaign);
+  }
+
+  /** Caches an insertion order returned by a create or patch request. */
+  public void putInsertionOrder(InsertionOrder insertionOrder) {
+    put(
+        getKey(
+            "insertionOrder",
+            insertionOrder.getAdvertiserId(),
+            insertionOrder.getInsertionOrderId()),
+        insertionOrder);
+  }
+
+  /** Caches a line item returned by a create or patch request. */
+  public void putLineItem(LineItem lineItem) {
+    put(getKey("lineItem", lineItem.getAdvertiserId(), lineItem.getLineItemId()), lineItem);
+  }
+
+  /** Removes an advertiser, so that it is fetched again on its next read. */
+  public void invalidateAdvertiser(long advertiserId) {
+    invalidate(getKey("advertiser", advertiserId, advertiserId));
+  }
+
+  /** Removes a campaign, so that it is fetched again on its next read. */
+  public void invalidateCampaign(long advertiserId, long campaignId) {
+    invalidate(getKey("campaign", advertiserId, campaignId));
+  }
+
+  /** Removes an insertion order, so that it is fetched again on its next read. */
+  public void invalidateInsertionOrder(long advertiserId, long insertionOrderId) {
+    invalidate(getKey("insertionOrder", advertiserId, insertionOrderId));
+  }
+
+  /** Removes a line item, so that it is fetched again on its next read. */
+  public void invalidateLineItem(long advertiserId, long lineItemId) {
+    invalidate(getKey("lineItem", advertiserId, lineItemId));
+  }
+
+  /** Returns the number of cached entities, including expired ones not yet removed. */
+  public synchronized int size() {
+    return entities.size();
+  }
+
+  /** Returns the number of reads answered from the cache. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of reads that fetched the entity. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Returns the number of entities evicted to keep the cache within its maximum size. */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  /** Returns the fraction of reads answered from the cache, or 0 if there were none. */
+  public double getHitRate() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends GenericJson> T get(String key, Fetcher<T> fetcher) throws IOException {
+    long invalidationsBeforeFetch;
+    synchronized (this) {
+      CachedEntity cached = entities.get(key);
+      if (cached != null && System.nanoTime() - cached.cachedNanos < ttlNanos) {
+        hits.incrementAndGet();
+        return (T) cached.entity.clone();
+      }
+      if (cached != null) {
+        entities.remove(key);
+      }
+      invalidationsBeforeFetch = invalidations;
+    }
+
+    // Fetch without holding the lock, so that reads of other entities are not blocked.
+    misses.incrementAndGet();
+    T entity = fetcher.fetch();
+    synchronized (this) {
+      if (invalidations == invalidationsBeforeFetch) {
+        entities.put(key, new CachedEntity(entity.clone()));
+      }
+    }
+    return entity;
+  }
+
+  private synchronized void put(String key, GenericJson entity) {
+    entities.put(key, new CachedEntity(entity.clone()));
+    // A fetch that started before this write may return the old version.
+    invalidations++;
+  }
+
+  private synchronized void invalidate(String key) {
+    entities.remove(key);
+    invalidations++;
+  }
+
+  private static String getKey(String entityType, long advertiserId, long entityId) {
+    return entityType + "/" + advertiserId + "/" + entityId;
+  }
+
+  /** Fetches an entity that is not cached. */
+  private interface Fetcher<T> {
+    T fetch() throws IOException;
+  }
+
+  /** A cached entity and the time it was cached. */
+  private static final class CachedEntity {
+
+    private final GenericJson entity;
+    private final long cachedNanos = System.nanoTime();
+
+    CachedEntity(GenericJson entity) {
+      this.entity = entity;
+    }
+  }
+}
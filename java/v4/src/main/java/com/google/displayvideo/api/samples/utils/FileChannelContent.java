@@ -0,0 +1,139 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.http.AbstractInputStreamContent;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * HTTP content backed by a file, or a range of a file, read through a {@link FileChannel}.
+ *
+ * <p>Every read returns exactly {@link #getLength} bytes of the range, and fails if the file has
+ * become shorter than the range. The file is opened anew for every read, so the content can be read
+ * again when a request is retried, and it is closed after every read: when {@link #writeTo}
+ * returns, or when the stream returned by {@link #getInputStream} is closed.
+ *
+ * <p>Heap copies are not avoided. {@link #writeTo} transfers the channel to an output stream, which
+ * copies through a heap buffer, and {@code MediaHttpUploader} reads uploads through {@link
+ * #getInputStream}, which copies into the caller's buffers.
+ */
+public final class FileChannelContent extends AbstractInputStreamContent {
+
+  private final File file;
+  private final long position;
+  private final long length;
+  private RateLimiter byteRateLimiter;
+
+  /**
+   * Creates content for a whole file.
+   *
+   * @param type The content type, or {@code null} for none
+   * @param file The file to read
+   */
+  public FileChannelContent(String type, File file) {
+    this(type, file, 0, file.length());
+  }
+
+  /**
+   * Creates content for a range of a file.
+   *
+   * @param type The content type, or {@code null} for none
+   * @param file The file to read
+   * @param position The position of the first byte of the range
+   * @param length The number of bytes in the range
+   */
+  public FileChannelContent(String type, File file, long position, long length) {
+    super(type);
+    this.file = file;
+    this.position = position;
+    this.length = length;
+  }
+
+  /**
+   * Sets the limiter to acquire a permit from for every byte read, or {@code null} to read without
+   * a limit.
+   */
+  public FileChannelContent setByteRateLimiter(RateLimiter byteRateLimiter) {
+    this.byteRateLimiter = byteRateLimiter;
+    return this;
+  }
+
+  @Override
+  public long getLength() {
+    return length;
+  }
+
+  @Override
+  public boolean retrySupported() {
+    return true;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    InputStream in;
+    try {
+      if (channel.size() < position + length) {
+        throw new IOException("The file " + file + " is shorter than expected.");
+      }
+      channel.position(position);
+      in = ByteStreams.limit(Channels.newInputStream(channel), length);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return byteRateLimiter == null ? in : new ThrottledInputStream(in, byteRateLimiter);
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    if (byteRateLimiter != null) {
+      super.writeTo(out);
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      // The target wraps a stream, so the transfer still copies through a small heap buffer.
+      WritableByteChannel target = Channels.newChannel(out);
+      long transferred = 0;
+      while (transferred < length) {
+        long count = channel.transferTo(position + transferred, length - transferred, target);
+        if (count <= 0) {
+          throw new IOException("The file " + file + " is shorter than expected.");
+        }
+        transferred += count;
+      }
+    }
+    out.flush();
+  }
+
+  @Override
+  public FileChannelContent setType(String type) {
+    return (FileChannelContent) super.setType(type);
+  }
+
+  @Override
+  public FileChannelContent setCloseInputStream(boolean closeInputStream) {
+    return (FileChannelContent) super.setCloseInputStream(closeInputStream);
+  }
+}
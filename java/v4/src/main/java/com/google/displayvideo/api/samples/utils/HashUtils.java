@@ -0,0 +1,78 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.BaseEncoding;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** This class implements hashing utility methods used across samples. */
+public final class HashUtils {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private HashUtils() {}
+
+  /**
+   * Computes the SHA-256 hash of a file.
+   *
+   * @param path The path to the file
+   * @return The lowercase hexadecimal hash
+   * @throws IOException If the file cannot be read
+   */
+  public static String sha256(String path) throws IOException {
+    MessageDigest digest = newSha256();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = new FileInputStream(path)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return BaseEncoding.base16().lowerCase().encode(digest.digest());
+  }
+
+  /**
+   * Computes the SHA-256 hash of the UTF-8 encoding of the given parts, separated so that
+   * different splits of the same characters hash differently.
+   *
+   * @param parts The values to hash
+   * @return The lowercase hexadecimal hash
+   */
+  public static String sha256OfParts(Object... parts) {
+    MessageDigest digest = newSha256();
+    for (Object part : parts) {
+      byte[] bytes = String.valueOf(part).getBytes(UTF_8);
+      digest.update(Integer.toString(bytes.length).getBytes(UTF_8));
+      digest.update((byte) ':');
+      digest.update(bytes);
+    }
+    return BaseEncoding.base16().lowerCase().encode(digest.digest());
+  }
+
+  private static MessageDigest newSha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+  }
+}
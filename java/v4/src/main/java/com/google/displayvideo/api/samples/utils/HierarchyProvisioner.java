@@ -0,0 +1,434 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Advertiser;
+import com.google.api.services.displayvideo.v4.model.Campaign;
+import com.google.api.services.displayvideo.v4.model.InsertionOrder;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import com.google.displayvideo.api.samples.utils.ProvisioningSpec.AdvertiserNode;
+import com.google.displayvideo.api.samples.utils.ProvisioningSpec.CampaignNode;
+import com.google.displayvideo.api.samples.utils.ProvisioningSpec.InsertionOrderNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Provisions the advertiser, campaign, insertion order and line item hierarchy described by a
+ * {@link ProvisioningSpec}.
+ *
+ * <p>Every entity of the spec is a node of a dependency graph that depends on its parent only. A
+ * node is created as soon as the ID of its parent resolves, so the campaigns of an advertiser, the
+ * insertion orders of a campaign and the line items of an insertion order are created in parallel,
+ * bounded by the number of threads. If an entity cannot be created, its descendants are skipped.
+ *
+ * <p>Existing entities are read through an {@link EntityCache} once their parent resolves, so that
+ * a missing or misplaced parent fails its node before any child is created. Created entities are
+ * put in the cache. If a create fails, the parent is invalidated, so that it is read again later.
+ */
+public final class HierarchyProvisioner implements AutoCloseable {
+
+  /** The types of entities in a hierarchy. */
+  public enum EntityType {
+    ADVERTISER,
+    CAMPAIGN,
+    INSERTION_ORDER,
+    LINE_ITEM
+  }
+
+  /** The outcome of a node. */
+  public enum Status {
+    /** The entity was created. */
+    CREATED,
+    /** The entity already existed and was read by ID. */
+    EXISTING,
+    /** The entity could not be created or read. */
+    FAILED,
+    /** The entity was not created because its parent could not be created. */
+    SKIPPED
+  }
+
+  private final DisplayVideo service;
+  private final EntityCache entityCache;
+  private final ExecutorService executor;
+  private final Consumer<Result> progressListener;
+
+  /**
+   * Creates a provisioner.
+   *
+   * @param service The Display &amp; Video 360 service to create entities with
+   * @param entityCache The cache to read existing entities through and put created entities in
+   * @param threads The maximum number of concurrent create requests
+   * @param progressListener Called with the result of every node as it completes, from the thread
+   *     that completed it, or {@code null}
+   */
+  public HierarchyProvisioner(
+      DisplayVideo service,
+      EntityCache entityCache,
+      int threads,
+      Consumer<Result> progressListener) {
+    this.service = service;
+    this.entityCache = entityCache;
+    this.executor = Executors.newFixedThreadPool(threads);
+    this.progressListener = progressListener;
+  }
+
+  /**
+   * Provisions the hierarchy of a spec.
+   *
+   * @return The results of all nodes, in the depth-first order of the spec
+   */
+  public Report provision(ProvisioningSpec spec) {
+    long startNanos = System.nanoTime();
+    List<Result> results = new ArrayList<>();
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+    for (AdvertiserNode advertiserNode : spec.getAdvertisers()) {
+      Advertiser advertiser = advertiserNode.getAdvertiser();
+      CompletableFuture<Long> advertiserId =
+          schedule(
+              EntityType.ADVERTISER,
+              advertiser == null ? null : advertiser.getDisplayName(),
+              advertiserNode.getAdvertiserId(),
+              CompletableFuture.completedFuture(null),
+              parentId -> createAdvertiser(advertiser),
+              (parentId, id) -> entityCache.getAdvertiser(service, id),
+              results,
+              futures);
+
+      for (CampaignNode campaignNode : advertiserNode.getCampaigns()) {
+        Campaign campaign = campaignNode.getCampaign();
+        CompletableFuture<Long> campaignId =
+            schedule(
+                EntityType.CAMPAIGN,
+                campaign == null ? null : campaign.getDisplayName(),
+                campaignNode.getCampaignId(),
+                advertiserId,
+                parentId -> createCampaign(parentId, campaign),
+                (parentId, id) -> entityCache.getCampaign(service, parentId, id),
+                results,
+                futures);
+
+        for (InsertionOrderNode insertionOrderNode : campaignNode.getInsertionOrders()) {
+          InsertionOrder insertionOrder = insertionOrderNode.getInsertionOrder();
+          CompletableFuture<Long> insertionOrderId =
+              schedule(
+                  EntityType.INSERTION_ORDER,
+                  insertionOrder == null ? null : insertionOrder.getDisplayName(),
+                  insertionOrderNode.getInsertionOrderId(),
+                  advertiserId.thenCombine(campaignId, ParentIds::new),
+                  parentIds ->
+                      createInsertionOrder(
+                          parentIds.advertiserId, parentIds.parentId, insertionOrder),
+                  (parentIds, id) -> readInsertionOrder(parentIds, id),
+                  results,
+                  futures);
+
+          for (LineItem lineItem : insertionOrderNode.getLineItems()) {
+            schedule(
+                EntityType.LINE_ITEM,
+                lineItem.getDisplayName(),
+                null,
+                advertiserId.thenCombine(insertionOrderId, ParentIds::new),
+                parentIds -> createLineItem(parentIds.advertiserId, parentIds.parentId, lineItem),
+                null,
+                results,
+                futures);
+          }
+        }
+      }
+    }
+
+    // Failures are recorded in the results, so wait for every node regardless of its outcome.
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .exceptionally(e -> null)
+        .join();
+    return new Report(results, System.nanoTime() - startNanos);
+  }
+
+  /** Waits for started requests to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Schedules a node to be resolved once its parent has been.
+   *
+   * @param existingId The ID of the existing entity, or {@code null} to create it
+   * @param reader Reads the existing entity, or {@code null} if the type cannot be referred to
+   * @return A future completed with the ID of the entity
+   */
+  private <P> CompletableFuture<Long> schedule(
+      EntityType type,
+      String displayName,
+      Long existingId,
+      CompletableFuture<P> parent,
+      Creator<P> creator,
+      Reader<P> reader,
+      List<Result> results,
+      List<CompletableFuture<Long>> futures) {
+    Result result = new Result(results.size(), type, displayName);
+    results.add(result);
+
+    CompletableFuture<Long> id =
+        parent.handleAsync(
+            (resolvedParent, parentError) -> {
+              if (parentError != null) {
+                result.complete(Status.SKIPPED, null, null, 0);
+                throw new CompletionException(parentError);
+              }
+              long startNanos = System.nanoTime();
+              try {
+                if (existingId != null) {
+                  reader.read(resolvedParent, existingId);
+                  result.complete(Status.EXISTING, existingId, null, 0);
+                  return existingId;
+                }
+                long createdId = creator.create(resolvedParent);
+                result.complete(Status.CREATED, createdId, null, System.nanoTime() - startNanos);
+                return createdId;
+              } catch (Exception e) {
+                result.complete(Status.FAILED, null, e, System.nanoTime() - startNanos);
+                throw new CompletionException(e);
+              }
+            },
+            executor);
+    // Wait for the listener too, so that it has been called for every node once the run returns.
+    futures.add(
+        progressListener == null
+            ? id
+            : id.whenComplete((resolvedId, e) -> progressListener.accept(result)));
+    return id;
+  }
+
+  private void readInsertionOrder(ParentIds parentIds, long insertionOrderId) throws Exception {
+    InsertionOrder insertionOrder =
+        entityCache.getInsertionOrder(service, parentIds.advertiserId, insertionOrderId);
+    if (insertionOrder.getCampaignId() == null
+        || insertionOrder.getCampaignId() != parentIds.parentId) {
+      throw new IllegalArgumentException(
+          "Insertion order "
+              + insertionOrderId
+              + " does not belong to campaign "
+              + parentIds.parentId
+              + ".");
+    }
+  }
+
+  private long createAdvertiser(Advertiser advertiser) throws Exception {
+    requireEntity(advertiser, "advertiser");
+    Advertiser created = service.advertisers().create(advertiser.clone()).execute();
+    entityCache.putAdvertiser(created);
+    return created.getAdvertiserId();
+  }
+
+  private long createCampaign(long advertiserId, Campaign campaign) throws Exception {
+    requireEntity(campaign, "campaign");
+    Campaign created;
+    try {
+      created = service.advertisers().campaigns().create(advertiserId, campaign.clone()).execute();
+    } catch (IOException e) {
+      entityCache.invalidateAdvertiser(advertiserId);
+      throw e;
+    }
+    entityCache.putCampaign(created);
+    return created.getCampaignId();
+  }
+
+  private long createInsertionOrder(
+      long advertiserId, long campaignId, InsertionOrder insertionOrder) throws Exception {
+    requireEntity(insertionOrder, "insertion order");
+    InsertionOrder created;
+    try {
+      created =
+          service
+              .advertisers()
+              .insertionOrders()
+              .create(advertiserId, insertionOrder.clone().setCampaignId(campaignId))
+              .execute();
+    } catch (IOException e) {
+      entityCache.invalidateCampaign(advertiserId, campaignId);
+      throw e;
+    }
+    entityCache.putInsertionOrder(created);
+    return created.getInsertionOrderId();
+  }
+
+  private long createLineItem(long advertiserId, long insertionOrderId, LineItem lineItem)
+      throws Exception {
+    LineItem created;
+    try {
+      created =
+          service
+              .advertisers()
+              .lineItems()
+              .create(advertiserId, lineItem.clone().setInsertionOrderId(insertionOrderId))
+              .execute();
+    } catch (IOException e) {
+      entityCache.invalidateInsertionOrder(advertiserId, insertionOrderId);
+      throw e;
+    }
+    entityCache.putLineItem(created);
+    return created.getLineItemId();
+  }
+
+  private static void requireEntity(Object entity, String name) {
+    if (entity == null) {
+      throw new IllegalArgumentException("The " + name + " has neither an ID nor an entity.");
+    }
+  }
+
+  /** Creates the entity of a node from what its parents resolved to. */
+  private interface Creator<P> {
+    long create(P parent) throws Exception;
+  }
+
+  /** Reads the existing entity of a node, failing if it does not belong to its parents. */
+  private interface Reader<P> {
+    void read(P parent, long id) throws Exception;
+  }
+
+  /** The IDs of the advertiser and the direct parent of an insertion order or line item. */
+  private static final class ParentIds {
+
+    private final long advertiserId;
+    private final long parentId;
+
+    ParentIds(long advertiserId, long parentId) {
+      this.advertiserId = advertiserId;
+      this.parentId = parentId;
+    }
+  }
+
+  /** The result of a node. */
+  public static final class Result {
+
+    private final int index;
+    private final EntityType type;
+    private final String displayName;
+    private volatile Status status;
+    private volatile Long id;
+    private volatile Exception error;
+    private volatile long latencyNanos;
+
+    private Result(int index, EntityType type, String displayName) {
+      this.index = index;
+      this.type = type;
+      this.displayName = displayName;
+    }
+
+    private void complete(Status status, Long id, Exception error, long latencyNanos) {
+      this.id = id;
+      this.error = error;
+      this.latencyNanos = latencyNanos;
+      this.status = status;
+    }
+
+    /** Returns the zero-based index of the node in the depth-first order of the spec. */
+    public int getIndex() {
+      return index;
+    }
+
+    public EntityType getType() {
+      return type;
+    }
+
+    /** Returns the display name of the entity, or {@code null} for an existing entity. */
+    public String getDisplayName() {
+      return displayName;
+    }
+
+    public Status getStatus() {
+      return status;
+    }
+
+    /** Returns the ID of the created or existing entity, or {@code null} if there is none. */
+    public Long getId() {
+      return id;
+    }
+
+    /** Returns the error the entity failed with, or {@code null} if it did not fail. */
+    public Exception getError() {
+      return error;
+    }
+
+    /** Returns the latency of the create request, or 0 if no request was sent. */
+    public long getLatencyMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+    }
+  }
+
+  /** The results and latencies of a provisioning run. */
+  public static final class Report {
+
+    private final List<Result> results;
+    private final long elapsedNanos;
+
+    private Report(List<Result> results, long elapsedNanos) {
+      this.results = results;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Returns the results of all nodes, in the depth-first order of the spec. */
+    public List<Result> getResults() {
+      return results;
+    }
+
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /** Returns the number of nodes of a type with a status. */
+    public int getCount(EntityType type, Status status) {
+      int count = 0;
+      for (Result result : results) {
+        if (result.getType() == type && result.getStatus() == status) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Returns a percentile of the create request latencies of a type.
+     *
+     * @param percent The percentile, between 1 and 100
+     * @return The latency, or 0 if no entity of the type was created
+     */
+    public long getLatencyMillis(EntityType type, int percent) {
+      long[] latencies =
+          results.stream()
+              .filter(result -> result.getType() == type && result.getStatus() == Status.CREATED)
+              .mapToLong(Result::getLatencyMillis)
+              .toArray();
+      if (latencies.length == 0) {
+        return 0;
+      }
+      Arrays.sort(latencies);
+      int rank = (int) Math.ceil(latencies.length * percent / 100.0);
+      return latencies[Math.max(0, rank - 1)];
+    }
+  }
+}
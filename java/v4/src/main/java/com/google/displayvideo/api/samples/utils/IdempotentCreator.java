@@ -0,0 +1,435 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Campaign;
+import com.google.api.services.displayvideo.v4.model.InsertionOrder;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import com.google.api.services.displayvideo.v4.model.ListCampaignsResponse;
+import com.google.api.services.displayvideo.v4.model.ListInsertionOrdersResponse;
+import com.google.api.services.displayvideo.v4.model.ListLineItemsResponse;
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Makes campaign, insertion order and line item creation safe to retry.
+ *
+ * <p>Every create is identified by a deterministic key derived from its entity type, advertiser,
+ * parent and display name, and recorded in a local journal before its first request is sent. A
+ * create request that times out or fails with a server error may still have created the entity, so
+ * before it is retried the parent is searched for an entity with the same display name. A found
+ * entity is recorded in the journal and returned instead of creating a duplicate, and so is the
+ * entity of a key that was already created by an earlier run. Created entities are only taken from
+ * the journal up to a maximum age, and not once they no longer exist, so that a display name can be
+ * reused later. They are read through an {@link EntityCache}, in which created entities are put,
+ * so a deletion is only noticed once the cached entity has expired.
+ *
+ * <p>This relies on display names being unique under their parent. The journal remembers the
+ * entities that expired entries pointed to, so that the search ignores them once a later create of
+ * the same key has made a new entity with the same name. If several other entities match, the
+ * create fails rather than guessing.
+ */
+public final class IdempotentCreator {
+
+  /** The default read timeout of create requests. */
+  public static final int DEFAULT_CREATE_TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(20);
+
+  /** The default maximum number of create requests per entity. */
+  public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+  /** The default age after which a created entity is no longer taken from the journal. */
+  public static final long DEFAULT_JOURNAL_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  /** How the entity of a create was obtained. */
+  public enum Outcome {
+    /** The entity was created by this create. */
+    CREATED("created"),
+    /** A create request failed ambiguously, and the entity it created was found by display name. */
+    RECOVERED("recovered after an ambiguous create failure"),
+    /** The entity was created by an earlier create of the same key, and read from the journal. */
+    JOURNALED("taken from the journal of an earlier create");
+
+    private final String description;
+
+    Outcome(String description) {
+      this.description = description;
+    }
+
+    /** Returns a description that completes a sentence such as "The campaign was ...". */
+    public String getDescription() {
+      return description;
+    }
+  }
+
+  private static final String DATA_STORE_ID = "IdempotentCreates";
+
+  private final DisplayVideo service;
+  private final DataStore<Entry> journal;
+  private final EntityCache entityCache;
+  private final int createTimeoutMillis;
+  private final int maxAttempts;
+  private final long journalMaxAgeMillis;
+  private final AtomicLong journalHits = new AtomicLong();
+  private final AtomicLong recoveries = new AtomicLong();
+
+  /** Creates a creator with the default timeout, attempts and journal age. */
+  public IdempotentCreator(
+      DisplayVideo service, DataStoreFactory dataStoreFactory, EntityCache entityCache)
+      throws IOException {
+    this(
+        service,
+        dataStoreFactory,
+        entityCache,
+        DEFAULT_CREATE_TIMEOUT_MILLIS,
+        DEFAULT_MAX_ATTEMPTS,
+        DEFAULT_JOURNAL_MAX_AGE_MILLIS);
+  }
+
+  /**
+   * Creates a creator.
+   *
+   * @param service The Display &amp; Video 360 service to create and look up entities with
+   * @param dataStoreFactory The factory of the data store to journal creates in
+   * @param entityCache The cache to read journaled entities through and put created entities in
+   * @param createTimeoutMillis The read timeout of every create request
+   * @param maxAttempts The maximum number of create requests per entity
+   * @param journalMaxAgeMillis The age after which a created entity is no longer taken from the
+   *     journal, so that a create of the same key creates a new entity
+   */
+  public IdempotentCreator(
+      DisplayVideo service,
+      DataStoreFactory dataStoreFactory,
+      EntityCache entityCache,
+      int createTimeoutMillis,
+      int maxAttempts,
+      long journalMaxAgeMillis)
+      throws IOException {
+    this.service = service;
+    this.journal = dataStoreFactory.getDataStore(DATA_STORE_ID);
+    this.entityCache = entityCache;
+    this.createTimeoutMillis = createTimeoutMillis;
+    this.maxAttempts = maxAttempts;
+    this.journalMaxAgeMillis = journalMaxAgeMillis;
+  }
+
+  /** Creates a campaign, or returns the campaign an earlier attempt created. */
+  public Result<Campaign> createCampaign(long advertiserId, Campaign campaign)
+      throws IOException, InterruptedException {
+    String displayName = campaign.getDisplayName();
+    return create(
+        getKey("campaign", advertiserId, null, displayName),
+        service.advertisers().campaigns().create(advertiserId, campaign),
+        () -> {
+          List<Campaign> matches = new ArrayList<>();
+          DisplayVideo.Advertisers.Campaigns.List request =
+              service
+                  .advertisers()
+                  .campaigns()
+                  .list(advertiserId)
+                  .setFilter(displayNameFilter(displayName));
+          String nextPageToken = null;
+          do {
+            ListCampaignsResponse response = request.setPageToken(nextPageToken).execute();
+            if (response.getCampaigns() != null) {
+              for (Campaign match : response.getCampaigns()) {
+                if (displayName.equals(match.getDisplayName())) {
+                  matches.add(match);
+                }
+              }
+            }
+            nextPageToken = response.getNextPageToken();
+          } while (!Strings.isNullOrEmpty(nextPageToken));
+          return matches;
+        },
+        id -> entityCache.getCampaign(service, advertiserId, id),
+        entityCache::putCampaign,
+        Campaign::getCampaignId);
+  }
+
+  /** Creates an insertion order, or returns the insertion order an earlier attempt created. */
+  public Result<InsertionOrder> createInsertionOrder(
+      long advertiserId, InsertionOrder insertionOrder)
+      throws IOException, InterruptedException {
+    String displayName = insertionOrder.getDisplayName();
+    long campaignId = insertionOrder.getCampaignId();
+    return create(
+        getKey("insertionOrder", advertiserId, campaignId, displayName),
+        service.advertisers().insertionOrders().create(advertiserId, insertionOrder),
+        () -> {
+          List<InsertionOrder> matches = new ArrayList<>();
+          DisplayVideo.Advertisers.InsertionOrders.List request =
+              service
+                  .advertisers()
+                  .insertionOrders()
+                  .list(advertiserId)
+                  .setFilter(
+                      "campaignId=\"" + campaignId + "\" AND " + displayNameFilter(displayName));
+          String nextPageToken = null;
+          do {
+            ListInsertionOrdersResponse response = request.setPageToken(nextPageToken).execute();
+            if (response.getInsertionOrders() != null) {
+              for (InsertionOrder match : response.getInsertionOrders()) {
+                if (displayName.equals(match.getDisplayName())) {
+                  matches.add(match);
+                }
+              }
+            }
+            nextPageToken = response.getNextPageToken();
+          } while (!Strings.isNullOrEmpty(nextPageToken));
+          return matches;
+        },
+        id -> entityCache.getInsertionOrder(service, advertiserId, id),
+        entityCache::putInsertionOrder,
+        InsertionOrder::getInsertionOrderId);
+  }
+
+  /** Creates a line item, or returns the line item an earlier attempt created. */
+  public Result<LineItem> createLineItem(long advertiserId, LineItem lineItem)
+      throws IOException, InterruptedException {
+    String displayName = lineItem.getDisplayName();
+    long insertionOrderId = lineItem.getInsertionOrderId();
+    return create(
+        getKey("lineItem", advertiserId, insertionOrderId, displayName),
+        service.advertisers().lineItems().create(advertiserId, lineItem),
+        () -> {
+          List<LineItem> matches = new ArrayList<>();
+          DisplayVideo.Advertisers.LineItems.List request =
+              service
+                  .advertisers()
+                  .lineItems()
+                  .list(advertiserId)
+                  .setFilter(
+                      "insertionOrderId=\""
+                          + insertionOrderId
+                          + "\" AND "
+                          + displayNameFilter(displayName));
+          String nextPageToken = null;
+          do {
+            ListLineItemsResponse response = request.setPageToken(nextPageToken).execute();
+            if (response.getLineItems() != null) {
+              for (LineItem match : response.getLineItems()) {
+                if (displayName.equals(match.getDisplayName())) {
+                  matches.add(match);
+                }
+              }
+            }
+            nextPageToken = response.getNextPageToken();
+          } while (!Strings.isNullOrEmpty(nextPageToken));
+          return matches;
+        },
+        id -> entityCache.getLineItem(service, advertiserId, id),
+        entityCache::putLineItem,
+        LineItem::getLineItemId);
+  }
+
+  /**
+   * Builds the key identifying a create.
+   *
+   * @param entityType The type of the entity, such as {@code campaign}
+   * @param parentId The ID of the parent below the advertiser, or {@code null} if there is none
+   */
+  public static String getKey(
+      String entityType, long advertiserId, Long parentId, String displayName) {
+    return HashUtils.sha256OfParts(entityType, advertiserId, parentId, displayName);
+  }
+
+  /** Returns the number of creates answered from the journal of an earlier run. */
+  public long getJournalHits() {
+    return journalHits.get();
+  }
+
+  /** Returns the number of creates whose entity was found after an ambiguous failure. */
+  public long getRecoveries() {
+    return recoveries.get();
+  }
+
+  private <T> Result<T> create(
+      String key,
+      AbstractGoogleClientRequest<T> createRequest,
+      Lookup<T> lookup,
+      Getter<T> getter,
+      Consumer<T> cacher,
+      ToLongFunction<T> idGetter)
+      throws IOException, InterruptedException {
+    Entry entry = journal.get(key);
+    long[] replacedIds = entry == null ? new long[0] : entry.replacedEntityIds;
+    if (entry != null && entry.entityId != null) {
+      if (System.currentTimeMillis() - entry.createdMillis <= journalMaxAgeMillis) {
+        try {
+          T journaled = getter.get(entry.entityId);
+          journalHits.incrementAndGet();
+          return new Result<>(journaled, Outcome.JOURNALED);
+        } catch (HttpResponseException e) {
+          // The entity was deleted, so create a new one.
+          if (e.getStatusCode() != 404) {
+            throw e;
+          }
+        }
+      } else {
+        // The entity is too old to be the one meant, so create a new one, and remember the old one
+        // so that it is not mistaken for the new one when looking it up.
+        replacedIds = Arrays.copyOf(replacedIds, replacedIds.length + 1);
+        replacedIds[replacedIds.length - 1] = entry.entityId;
+      }
+      entry = null;
+    }
+
+    // A pending entry means that an earlier run may have created the entity.
+    boolean ambiguous = entry != null;
+    if (entry == null) {
+      journal.set(key, new Entry(null, System.currentTimeMillis(), replacedIds));
+    }
+
+    BackOff backOff = new ExponentialBackOff();
+    for (int attempt = 1; ; attempt++) {
+      if (ambiguous) {
+        List<T> matches = new ArrayList<>();
+        for (T match : lookup.find()) {
+          if (!contains(replacedIds, idGetter.applyAsLong(match))) {
+            matches.add(match);
+          }
+        }
+        if (matches.size() > 1) {
+          throw new IllegalStateException(
+              matches.size() + " entities match the display name, so the create is ambiguous.");
+        }
+        if (matches.size() == 1) {
+          recoveries.incrementAndGet();
+          journal.set(
+              key,
+              new Entry(
+                  idGetter.applyAsLong(matches.get(0)), System.currentTimeMillis(), replacedIds));
+          cacher.accept(matches.get(0));
+          return new Result<>(matches.get(0), Outcome.RECOVERED);
+        }
+      }
+
+      IOException error;
+      try {
+        T created =
+            createRequest
+                .buildHttpRequest()
+                .setReadTimeout(createTimeoutMillis)
+                .execute()
+                .parseAs(createRequest.getResponseClass());
+        journal.set(
+            key,
+            new Entry(idGetter.applyAsLong(created), System.currentTimeMillis(), replacedIds));
+        cacher.accept(created);
+        return new Result<>(created, Outcome.CREATED);
+      } catch (HttpResponseException e) {
+        int statusCode = e.getStatusCode();
+        if (statusCode < 500 && statusCode != 429) {
+          // The request was rejected, so nothing was created and retrying would not help.
+          journal.delete(key);
+          throw e;
+        }
+        // A rate limited request was not processed, but a server error may have created the entity.
+        ambiguous |= statusCode != 429;
+        error = e;
+      } catch (IOException e) {
+        // The request timed out or the connection failed after it may have been processed.
+        ambiguous = true;
+        error = e;
+      }
+
+      long backOffMillis = backOff.nextBackOffMillis();
+      if (attempt == maxAttempts || backOffMillis == BackOff.STOP) {
+        throw error;
+      }
+      Thread.sleep(backOffMillis);
+    }
+  }
+
+  private static boolean contains(long[] ids, long id) {
+    for (long candidate : ids) {
+      if (candidate == id) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Builds a filter matching display names that contain the given one. */
+  static String displayNameFilter(String displayName) {
+    return "displayName:\"" + displayName.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  /** Finds the entities under the parent with the display name of the create. */
+  private interface Lookup<T> {
+    List<T> find() throws IOException;
+  }
+
+  /** Gets an entity by ID. */
+  private interface Getter<T> {
+    T get(long id) throws IOException;
+  }
+
+  /** The entity of a create and how it was obtained. */
+  public static final class Result<T> {
+
+    private final T entity;
+    private final Outcome outcome;
+
+    private Result(T entity, Outcome outcome) {
+      this.entity = entity;
+      this.outcome = outcome;
+    }
+
+    public T getEntity() {
+      return entity;
+    }
+
+    public Outcome getOutcome() {
+      return outcome;
+    }
+  }
+
+  /** The journal entry of a create. */
+  private static final class Entry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The ID of the created entity, or {@code null} while the create is pending. */
+    private final Long entityId;
+
+    /** The time the entry was recorded. */
+    private final long createdMillis;
+
+    /** The IDs of the entities that expired entries of the key pointed to. */
+    private final long[] replacedEntityIds;
+
+    Entry(Long entityId, long createdMillis, long[] replacedEntityIds) {
+      this.entityId = entityId;
+      this.createdMillis = createdMillis;
+      this.replacedEntityIds = replacedEntityIds;
+    }
+  }
+}
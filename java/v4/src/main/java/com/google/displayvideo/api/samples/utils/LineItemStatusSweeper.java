@@ -0,0 +1,282 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers;
+import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers.LineItems;
+import com.google.api.services.displayvideo.v4.model.Advertiser;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import com.google.api.services.displayvideo.v4.model.ListAdvertisersResponse;
+import com.google.api.services.displayvideo.v4.model.ListLineItemsResponse;
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the entity status of every line item that matches a filter, for an advertiser or for all
+ * the advertisers of a partner.
+ *
+ * <p>Line items are listed with a server-side filter, such as {@code campaignId="1234"}, and only
+ * their IDs and entity statuses are requested. As soon as a full batch of matching line items has
+ * been listed, its patches are sent in a batch request through a {@link LineItemStatusUpdater},
+ * while the next pages are still being listed. Line items that already have the entity status are
+ * skipped.
+ *
+ * <p>If the filter matches on the entity status being changed, patched line items drop out of the
+ * listing while it is paged through, so later pages shift and some matching line items are never
+ * listed. Once a pass over the line items of an advertiser has updated any, they are therefore
+ * listed again, until a pass finds no line item that was not already patched.
+ */
+public final class LineItemStatusSweeper implements AutoCloseable {
+
+  /** The largest page size of the list methods. */
+  private static final int PAGE_SIZE = 200;
+
+  private static final String ADVERTISER_FIELDS = "advertisers(advertiserId),nextPageToken";
+  private static final String LINE_ITEM_FIELDS = "lineItems(lineItemId,entityStatus),nextPageToken";
+
+  private final DisplayVideo service;
+  private final int batchSize;
+  private final LineItemStatusUpdater updater;
+
+  /**
+   * Creates a sweeper.
+   *
+   * @param service The Display &amp; Video 360 service to list and patch with
+   * @param entityCache The cache to put patched line items in
+   * @param batchSize The number of patches per batch request
+   * @param concurrentBatches The maximum number of batch requests sent concurrently
+   */
+  public LineItemStatusSweeper(
+      DisplayVideo service, EntityCache entityCache, int batchSize, int concurrentBatches) {
+    this.service = service;
+    this.batchSize = batchSize;
+    this.updater = new LineItemStatusUpdater(service, entityCache, batchSize, concurrentBatches);
+  }
+
+  /**
+   * Sweeps the line items of every advertiser of a partner. The advertisers are swept one after
+   * the other, while the batches of each are sent concurrently. If the line items of an advertiser
+   * cannot be listed, the error is recorded in the report and the other advertisers are still
+   * swept.
+   *
+   * @param partnerId The ID of the partner
+   * @param filter The filter of the line items to update, or {@code null} to update all of them
+   * @param entityStatus The entity status to set, such as {@code ENTITY_STATUS_PAUSED}
+   * @throws IOException If the advertisers cannot be listed
+   * @throws InterruptedException If interrupted while waiting for the batches
+   */
+  public Report sweepPartner(long partnerId, String filter, String entityStatus)
+      throws IOException, InterruptedException {
+    Report report = new Report();
+    Advertisers.List request =
+        service
+            .advertisers()
+            .list()
+            .setPartnerId(partnerId)
+            .setPageSize(PAGE_SIZE)
+            .setFields(ADVERTISER_FIELDS);
+    String nextPageToken = null;
+    do {
+      ListAdvertisersResponse response = request.setPageToken(nextPageToken).execute();
+      if (response.getAdvertisers() != null) {
+        for (Advertiser advertiser : response.getAdvertisers()) {
+          try {
+            sweep(advertiser.getAdvertiserId(), filter, entityStatus, report);
+          } catch (IOException e) {
+            report.listErrors.put(advertiser.getAdvertiserId(), e);
+          }
+        }
+      }
+      nextPageToken = response.getNextPageToken();
+    } while (!Strings.isNullOrEmpty(nextPageToken));
+    report.elapsedNanos = System.nanoTime() - report.startNanos;
+    return report;
+  }
+
+  /**
+   * Sweeps the line items of an advertiser.
+   *
+   * @param advertiserId The ID of the advertiser
+   * @param filter The filter of the line items to update, or {@code null} to update all of them
+   * @param entityStatus The entity status to set, such as {@code ENTITY_STATUS_PAUSED}
+   * @throws IOException If the line items cannot be listed
+   * @throws InterruptedException If interrupted while waiting for the batches
+   */
+  public Report sweepAdvertiser(long advertiserId, String filter, String entityStatus)
+      throws IOException, InterruptedException {
+    Report report = new Report();
+    sweep(advertiserId, filter, entityStatus, report);
+    report.elapsedNanos = System.nanoTime() - report.startNanos;
+    return report;
+  }
+
+  /** Waits for started batches to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    updater.close();
+  }
+
+  private void sweep(long advertiserId, String filter, String entityStatus, Report report)
+      throws IOException, InterruptedException {
+    Set<Long> listed = new HashSet<>();
+    while (sweepPass(advertiserId, filter, entityStatus, listed, report)) {
+      report.repeatedPasses++;
+    }
+  }
+
+  /**
+   * Lists the matching line items of an advertiser once, and patches those not listed before.
+   *
+   * @param listed The IDs of the line items listed by earlier passes, to which this pass adds
+   * @return Whether any line item was updated
+   */
+  private boolean sweepPass(
+      long advertiserId, String filter, String entityStatus, Set<Long> listed, Report report)
+      throws IOException, InterruptedException {
+    LineItems.List request =
+        service
+            .advertisers()
+            .lineItems()
+            .list(advertiserId)
+            .setPageSize(PAGE_SIZE)
+            .setFields(LINE_ITEM_FIELDS);
+    if (!Strings.isNullOrEmpty(filter)) {
+      request.setFilter(filter);
+    }
+
+    List<Future<List<LineItemStatusUpdater.Result>>> batches = new ArrayList<>();
+    List<Long> pending = new ArrayList<>();
+    IOException listError = null;
+    try {
+      String nextPageToken = null;
+      do {
+        ListLineItemsResponse response = request.setPageToken(nextPageToken).execute();
+        report.pages++;
+        if (response.getLineItems() != null) {
+          for (LineItem lineItem : response.getLineItems()) {
+            // A line item that failed to update, or whose update is not visible yet, is not
+            // patched again.
+            if (!listed.add(lineItem.getLineItemId())) {
+              continue;
+            }
+            report.matched++;
+            if (entityStatus.equals(lineItem.getEntityStatus())) {
+              report.unchanged++;
+              continue;
+            }
+            pending.add(lineItem.getLineItemId());
+
+            // Send every full batch right away, so that it overlaps with the listing.
+            if (pending.size() == batchSize) {
+              batches.add(updater.submitBatch(advertiserId, pending, entityStatus));
+              pending = new ArrayList<>();
+            }
+          }
+        }
+        nextPageToken = response.getNextPageToken();
+      } while (!Strings.isNullOrEmpty(nextPageToken));
+      if (!pending.isEmpty()) {
+        batches.add(updater.submitBatch(advertiserId, pending, entityStatus));
+      }
+    } catch (IOException e) {
+      listError = e;
+    }
+
+    // Wait for the batches sent before a listing failure too, so that their results are reported.
+    boolean updated = false;
+    for (Future<List<LineItemStatusUpdater.Result>> batch : batches) {
+      for (LineItemStatusUpdater.Result result : LineItemStatusUpdater.await(batch)) {
+        report.results.add(result);
+        updated |= result.getError() == null;
+      }
+    }
+    if (listError != null) {
+      throw listError;
+    }
+    return updated;
+  }
+
+  /** The outcome of a sweep. */
+  public static final class Report {
+
+    private final long startNanos = System.nanoTime();
+    private final List<LineItemStatusUpdater.Result> results = new ArrayList<>();
+    private final Map<Long, IOException> listErrors = new LinkedHashMap<>();
+    private int pages;
+    private int repeatedPasses;
+    private int matched;
+    private int unchanged;
+    private long elapsedNanos;
+
+    private Report() {}
+
+    /** Returns the results of the line items that were patched, in listing order. */
+    public List<LineItemStatusUpdater.Result> getResults() {
+      return results;
+    }
+
+    /** Returns the number of pages of line items listed, including those of repeated passes. */
+    public int getPages() {
+      return pages;
+    }
+
+    /** Returns the number of times the line items of an advertiser were listed again. */
+    public int getRepeatedPasses() {
+      return repeatedPasses;
+    }
+
+    /**
+     * Returns the errors of the advertisers whose line items could not be listed, by advertiser ID.
+     * The line items of these advertisers may have been swept partially.
+     */
+    public Map<Long, IOException> getListErrors() {
+      return listErrors;
+    }
+
+    /** Returns the number of line items that matched the filter. */
+    public int getMatched() {
+      return matched;
+    }
+
+    /** Returns the number of matching line items that already had the entity status. */
+    public int getUnchanged() {
+      return unchanged;
+    }
+
+    /** Returns the number of line items whose patch failed. */
+    public int getFailed() {
+      int failed = 0;
+      for (LineItemStatusUpdater.Result result : results) {
+        if (result.getError() != null) {
+          failed++;
+        }
+      }
+      return failed;
+    }
+
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+  }
+}
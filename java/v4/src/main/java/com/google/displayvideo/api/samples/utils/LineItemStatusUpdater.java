@@ -0,0 +1,225 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changes the entity status of many line items with batched patch requests.
+ *
+ * <p>The patches are grouped into multipart batch requests of a fixed size, and several batches are
+ * sent concurrently. Every part of a batch succeeds or fails on its own, and its result is mapped
+ * back to the ID of the line item it patched. Patched line items are put in an {@link
+ * EntityCache}, and line items whose patch failed are invalidated, since the failure may have
+ * come after the patch was applied.
+ */
+public final class LineItemStatusUpdater implements AutoCloseable {
+
+  /** The maximum number of calls in a batch request. */
+  public static final int MAX_BATCH_SIZE = 1000;
+
+  private final DisplayVideo service;
+  private final EntityCache entityCache;
+  private final int batchSize;
+  private final ExecutorService executor;
+
+  /**
+   * Creates an updater.
+   *
+   * @param service The Display &amp; Video 360 service to patch with
+   * @param entityCache The cache to put patched line items in
+   * @param batchSize The number of patches per batch request, up to {@link #MAX_BATCH_SIZE}
+   * @param concurrentBatches The maximum number of batch requests sent concurrently
+   */
+  public LineItemStatusUpdater(
+      DisplayVideo service, EntityCache entityCache, int batchSize, int concurrentBatches) {
+    if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "The batch size must be between 1 and " + MAX_BATCH_SIZE + ".");
+    }
+    this.service = service;
+    this.entityCache = entityCache;
+    this.batchSize = batchSize;
+    this.executor = Executors.newFixedThreadPool(concurrentBatches);
+  }
+
+  /**
+   * Sets the entity status of the given line items.
+   *
+   * @param advertiserId The ID of the advertiser that owns the line items
+   * @param lineItemIds The IDs of the line items to update
+   * @param entityStatus The entity status to set, such as {@code ENTITY_STATUS_ACTIVE}
+   * @return The result of every line item, keyed by line item ID in the given order
+   * @throws InterruptedException If interrupted while waiting for the batches
+   */
+  public Map<Long, Result> updateStatus(
+      long advertiserId, List<Long> lineItemIds, String entityStatus)
+      throws InterruptedException {
+    List<Future<List<Result>>> batches = new ArrayList<>();
+    for (List<Long> group : Lists.partition(lineItemIds, batchSize)) {
+      batches.add(submitBatch(advertiserId, group, entityStatus));
+    }
+    Map<Long, Result> results = new LinkedHashMap<>();
+    for (Future<List<Result>> batch : batches) {
+      for (Result result : await(batch)) {
+        results.put(result.getLineItemId(), result);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Starts a single batch request, without waiting for it. Batches beyond the number of concurrent
+   * batches wait for a free slot.
+   *
+   * @param advertiserId The ID of the advertiser that owns the line items
+   * @param lineItemIds The IDs of the line items to update, up to the batch size
+   * @param entityStatus The entity status to set, such as {@code ENTITY_STATUS_ACTIVE}
+   * @return A future of the result of every line item, in the given order
+   */
+  public Future<List<Result>> submitBatch(
+      long advertiserId, List<Long> lineItemIds, String entityStatus) {
+    if (lineItemIds.size() > batchSize) {
+      throw new IllegalArgumentException("A batch can update at most " + batchSize + " items.");
+    }
+    return executor.submit(() -> executeBatch(advertiserId, lineItemIds, entityStatus));
+  }
+
+  /**
+   * Waits for a batch started with {@link #submitBatch}.
+   *
+   * @return The result of every line item of the batch
+   * @throws InterruptedException If interrupted while waiting for the batch
+   */
+  public static List<Result> await(Future<List<Result>> batch) throws InterruptedException {
+    try {
+      return batch.get();
+    } catch (ExecutionException e) {
+      // Batch failures are recorded as the results of their line items.
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Waits for started batches to finish and releases the threads. */
+  @Override
+  public void close() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  private List<Result> executeBatch(
+      long advertiserId, List<Long> lineItemIds, String entityStatus) {
+    Map<Long, Result> results = new HashMap<>();
+    LineItem lineItem = new LineItem().setEntityStatus(entityStatus);
+    try {
+      BatchRequest batch = service.batch();
+      for (Long lineItemId : lineItemIds) {
+        service
+            .advertisers()
+            .lineItems()
+            .patch(advertiserId, lineItemId, lineItem)
+            .setUpdateMask("entityStatus")
+            .queue(
+                batch,
+                new JsonBatchCallback<LineItem>() {
+                  @Override
+                  public void onSuccess(LineItem response, HttpHeaders responseHeaders) {
+                    results.put(lineItemId, new Result(lineItemId, response, null));
+                  }
+
+                  @Override
+                  public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                    results.put(lineItemId, new Result(lineItemId, null, error));
+                  }
+                });
+      }
+      batch.execute();
+    } catch (IOException e) {
+      // The batch request itself failed, so every line item in it without a result failed too.
+      GoogleJsonError error = new GoogleJsonError();
+      error.setMessage(e.getMessage());
+      if (e instanceof HttpResponseException) {
+        error.setCode(((HttpResponseException) e).getStatusCode());
+      }
+      for (Long lineItemId : lineItemIds) {
+        results.putIfAbsent(lineItemId, new Result(lineItemId, null, error));
+      }
+    }
+
+    List<Result> orderedResults = new ArrayList<>();
+    for (Long lineItemId : lineItemIds) {
+      Result result = results.get(lineItemId);
+      if (result == null) {
+        // The batch response had no part for the line item, so neither callback was called.
+        GoogleJsonError error = new GoogleJsonError();
+        error.setMessage("The batch response contained no result for the line item.");
+        result = new Result(lineItemId, null, error);
+      }
+      if (result.lineItem != null) {
+        entityCache.putLineItem(result.lineItem);
+      } else {
+        entityCache.invalidateLineItem(advertiserId, lineItemId);
+      }
+      orderedResults.add(result);
+    }
+    return orderedResults;
+  }
+
+  /** The result of updating a line item. */
+  public static final class Result {
+
+    private final long lineItemId;
+    private final LineItem lineItem;
+    private final GoogleJsonError error;
+
+    private Result(long lineItemId, LineItem lineItem, GoogleJsonError error) {
+      this.lineItemId = lineItemId;
+      this.lineItem = lineItem;
+      this.error = error;
+    }
+
+    public long getLineItemId() {
+      return lineItemId;
+    }
+
+    /** Returns the updated line item, or {@code null} if the update failed. */
+    public LineItem getLineItem() {
+      return lineItem;
+    }
+
+    /** Returns the error the update failed with, or {@code null} if it succeeded. */
+    public GoogleJsonError getError() {
+      return error;
+    }
+  }
+}
@@ -0,0 +1,327 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.DisplayVideo.Advertisers.LineItems;
+import com.google.api.services.displayvideo.v4.model.AssignedTargetingOption;
+import com.google.api.services.displayvideo.v4.model.BulkEditAssignedTargetingOptionsRequest;
+import com.google.api.services.displayvideo.v4.model.BulkEditAssignedTargetingOptionsResponse;
+import com.google.api.services.displayvideo.v4.model.BulkListAssignedTargetingOptionsResponse;
+import com.google.api.services.displayvideo.v4.model.CreateAssignedTargetingOptionsRequest;
+import com.google.api.services.displayvideo.v4.model.GenerateDefaultLineItemRequest;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import com.google.api.services.displayvideo.v4.model.LineItemAssignedTargetingOption;
+import com.google.api.services.displayvideo.v4.model.MobileApp;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local cache of the default line item settings generated for an insertion order.
+ *
+ * <p>The first line item of an advertiser, insertion order, line item type and app is created with
+ * {@code lineItems().generateDefault}, and its settings are recorded as a template, without its
+ * output-only fields. Later line items of the same key are created from a copy of the template
+ * with {@code lineItems().create}. Templates expire after a maximum age, so changes to the
+ * insertion order are picked up eventually. A template that the server rejects is discarded, and
+ * the line item is created with {@code generateDefault} instead.
+ *
+ * <p>The targeting that {@code generateDefault} copied from the insertion order is recorded with
+ * the template, and assigned to every line item created from it with a bulk edit request.
+ * Targeting inherited from the partner or advertiser is left out, since it applies on its own.
+ */
+public final class LineItemTemplateCache {
+
+  /** The default maximum age of a template. */
+  public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  private static final String DATA_STORE_ID = "LineItemTemplates";
+
+  /** The fields set by the server that cannot be set when creating a line item. */
+  private static final List<String> OUTPUT_ONLY_FIELDS =
+      ImmutableList.of(
+          "name",
+          "advertiserId",
+          "campaignId",
+          "lineItemId",
+          "displayName",
+          "updateTime",
+          "reservationType",
+          "warningMessages");
+
+  /** The fields of an assigned targeting option that are set by the server. */
+  private static final List<String> TARGETING_OUTPUT_ONLY_FIELDS =
+      ImmutableList.of(
+          "name", "assignedTargetingOptionId", "assignedTargetingOptionIdAlias", "inheritance");
+
+  /** The largest page size of the bulk list method. */
+  private static final int TARGETING_PAGE_SIZE = 5000;
+
+  private final DisplayVideo service;
+  private final DataStore<Template> templates;
+  private final long maxAgeMillis;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /** Creates a cache whose templates expire after {@link #DEFAULT_MAX_AGE_MILLIS}. */
+  public LineItemTemplateCache(DisplayVideo service, DataStoreFactory dataStoreFactory)
+      throws IOException {
+    this(service, dataStoreFactory, DEFAULT_MAX_AGE_MILLIS);
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param service The Display &amp; Video 360 service to create line items with
+   * @param dataStoreFactory The factory of the data store to record templates in
+   * @param maxAgeMillis The age after which a template is generated again
+   */
+  public LineItemTemplateCache(
+      DisplayVideo service, DataStoreFactory dataStoreFactory, long maxAgeMillis)
+      throws IOException {
+    this.service = service;
+    this.templates = dataStoreFactory.getDataStore(DATA_STORE_ID);
+    this.maxAgeMillis = maxAgeMillis;
+  }
+
+  /**
+   * Creates a line item with the default settings of an insertion order.
+   *
+   * @param advertiserId The ID of the advertiser that owns the insertion order
+   * @param insertionOrderId The ID of the insertion order
+   * @param lineItemType The type of the line item
+   * @param appId The ID of the promoted app for mobile app install line items, or {@code null}
+   * @param displayName The display name of the line item
+   * @return The created line item
+   */
+  public LineItem createLineItem(
+      long advertiserId,
+      long insertionOrderId,
+      String lineItemType,
+      String appId,
+      String displayName)
+      throws IOException {
+    String key = advertiserId + ":" + insertionOrderId + ":" + lineItemType + ":" + appId;
+    Template template = getTemplate(key);
+    if (template != null) {
+      LineItem lineItem = createFromTemplate(advertiserId, template, displayName);
+      if (lineItem != null) {
+        hits.incrementAndGet();
+        return lineItem;
+      }
+      // The insertion order changed since the template was generated, so generate it again.
+      templates.delete(key);
+    }
+
+    misses.incrementAndGet();
+    GenerateDefaultLineItemRequest request =
+        new GenerateDefaultLineItemRequest()
+            .setInsertionOrderId(insertionOrderId)
+            .setDisplayName(displayName)
+            .setLineItemType(lineItemType);
+    if (appId != null) {
+      request.setMobileApp(new MobileApp().setAppId(appId));
+    }
+    LineItem lineItem =
+        service.advertisers().lineItems().generateDefault(advertiserId, request).execute();
+    templates.set(
+        key,
+        new Template(
+            toTemplateJson(lineItem),
+            listTargeting(advertiserId, lineItem.getLineItemId()),
+            System.currentTimeMillis()));
+    return lineItem;
+  }
+
+  /** Removes the templates of all insertion orders and line item types. */
+  public void clear() throws IOException {
+    templates.clear();
+  }
+
+  /** Returns the number of line items created from a template. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of line items created with {@code generateDefault}, including those whose
+   * template was rejected.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Returns the template for a key, or {@code null} if none is current. */
+  private Template getTemplate(String key) throws IOException {
+    Template template = templates.get(key);
+    if (template == null
+        || template.targeting == null
+        || System.currentTimeMillis() - template.createdMillis > maxAgeMillis) {
+      return null;
+    }
+    return template;
+  }
+
+  /**
+   * Creates a line item from a template and assigns it the targeting of the template.
+   *
+   * @return The created line item, or {@code null} if the server rejected the template
+   * @throws IOException If the line item cannot be created, or was created but its targeting could
+   *     not be assigned
+   */
+  private LineItem createFromTemplate(long advertiserId, Template template, String displayName)
+      throws IOException {
+    JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
+    LineItem lineItem;
+    try {
+      lineItem =
+          service
+              .advertisers()
+              .lineItems()
+              .create(
+                  advertiserId,
+                  jsonFactory.fromString(template.json, LineItem.class).setDisplayName(displayName))
+              .execute();
+    } catch (GoogleJsonResponseException e) {
+      if (e.getStatusCode() == 400) {
+        return null;
+      }
+      throw e;
+    }
+    if (template.targeting.isEmpty()) {
+      return lineItem;
+    }
+
+    // Group the targeting by type, as the bulk edit method expects.
+    Map<String, List<AssignedTargetingOption>> optionsByType = new LinkedHashMap<>();
+    for (String json : template.targeting) {
+      AssignedTargetingOption option = jsonFactory.fromString(json, AssignedTargetingOption.class);
+      String targetingType = option.getTargetingType();
+      option.setTargetingType(null);
+      optionsByType.computeIfAbsent(targetingType, type -> new ArrayList<>()).add(option);
+    }
+    List<CreateAssignedTargetingOptionsRequest> createRequests = new ArrayList<>();
+    for (Map.Entry<String, List<AssignedTargetingOption>> entry : optionsByType.entrySet()) {
+      createRequests.add(
+          new CreateAssignedTargetingOptionsRequest()
+              .setTargetingType(entry.getKey())
+              .setAssignedTargetingOptions(entry.getValue()));
+    }
+    BulkEditAssignedTargetingOptionsRequest request =
+        new BulkEditAssignedTargetingOptionsRequest()
+            .setLineItemIds(Collections.singletonList(lineItem.getLineItemId()))
+            .setCreateRequests(createRequests);
+
+    String error;
+    try {
+      BulkEditAssignedTargetingOptionsResponse response =
+          service
+              .advertisers()
+              .lineItems()
+              .bulkEditAssignedTargetingOptions(advertiserId, request)
+              .execute();
+      if (response.getFailedLineItemIds() == null || response.getFailedLineItemIds().isEmpty()) {
+        return lineItem;
+      }
+      error =
+          response.getErrors() == null || response.getErrors().isEmpty()
+              ? "the bulk edit failed"
+              : response.getErrors().get(0).getMessage();
+    } catch (IOException e) {
+      error = e.getMessage();
+    }
+    throw new IOException(
+        "LineItem "
+            + lineItem.getName()
+            + " was created from a template, but its targeting could not be assigned: "
+            + error);
+  }
+
+  /** Lists the targeting of a line item that was not inherited, without its output-only fields. */
+  private List<String> listTargeting(long advertiserId, long lineItemId) throws IOException {
+    JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
+    List<String> targeting = new ArrayList<>();
+    LineItems.BulkListAssignedTargetingOptions request =
+        service
+            .advertisers()
+            .lineItems()
+            .bulkListAssignedTargetingOptions(advertiserId)
+            .setLineItemIds(Collections.singletonList(lineItemId))
+            .setFilter("inheritance=\"NOT_INHERITED\"")
+            .setPageSize(TARGETING_PAGE_SIZE);
+    String nextPageToken = null;
+    do {
+      BulkListAssignedTargetingOptionsResponse response =
+          request.setPageToken(nextPageToken).execute();
+      if (response.getLineItemAssignedTargetingOptions() != null) {
+        for (LineItemAssignedTargetingOption option :
+            response.getLineItemAssignedTargetingOptions()) {
+          GenericJson fields =
+              jsonFactory.fromString(
+                  jsonFactory.toString(option.getAssignedTargetingOption()), GenericJson.class);
+          for (String field : TARGETING_OUTPUT_ONLY_FIELDS) {
+            fields.remove(field);
+          }
+          targeting.add(jsonFactory.toString(fields));
+        }
+      }
+      nextPageToken = response.getNextPageToken();
+    } while (!Strings.isNullOrEmpty(nextPageToken));
+    return targeting;
+  }
+
+  /** Serializes a line item without its output-only fields. */
+  private static String toTemplateJson(LineItem lineItem) throws IOException {
+    JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
+
+    // Parse the line item generically, so that any field can be removed.
+    GenericJson fields = jsonFactory.fromString(jsonFactory.toString(lineItem), GenericJson.class);
+    for (String field : OUTPUT_ONLY_FIELDS) {
+      fields.remove(field);
+    }
+    return jsonFactory.toString(fields);
+  }
+
+  /** The JSON of a template, of its targeting options and the time it was generated. */
+  private static final class Template implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String json;
+    private final ArrayList<String> targeting;
+    private final long createdMillis;
+
+    Template(String json, List<String> targeting, long createdMillis) {
+      this.json = json;
+      this.targeting = new ArrayList<>(targeting);
+      this.createdMillis = createdMillis;
+    }
+  }
+}
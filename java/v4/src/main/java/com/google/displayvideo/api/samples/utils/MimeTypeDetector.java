@@ -0,0 +1,226 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Detects the MIME type of creative asset files.
+ *
+ * <p>The first bytes of a file are matched against the signatures of the image, video, audio,
+ * archive and markup formats used for creatives. If they match none, or a signature is shared by
+ * several types, the file extension decides. Results are cached per path and invalidated when the
+ * file is modified.
+ */
+public final class MimeTypeDetector {
+
+  /** The MIME type of files whose type cannot be detected. */
+  public static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+  /** The number of leading bytes read to detect the type. */
+  private static final int HEADER_SIZE = 64;
+
+  private static final Map<String, String> TYPES_BY_EXTENSION =
+      ImmutableMap.<String, String>builder()
+          .put("3gp", "video/3gpp")
+          .put("aac", "audio/aac")
+          .put("avi", "video/x-msvideo")
+          .put("css", "text/css")
+          .put("flv", "video/x-flv")
+          .put("gif", "image/gif")
+          .put("htm", "text/html")
+          .put("html", "text/html")
+          .put("jpeg", "image/jpeg")
+          .put("jpg", "image/jpeg")
+          .put("js", "text/javascript")
+          .put("json", "application/json")
+          .put("m4a", "audio/mp4")
+          .put("m4v", "video/mp4")
+          .put("mkv", "video/x-matroska")
+          .put("mov", "video/quicktime")
+          .put("mp3", "audio/mpeg")
+          .put("mp4", "video/mp4")
+          .put("mpeg", "video/mpeg")
+          .put("mpg", "video/mpeg")
+          .put("oga", "audio/ogg")
+          .put("ogg", "audio/ogg")
+          .put("ogv", "video/ogg")
+          .put("png", "image/png")
+          .put("svg", "image/svg+xml")
+          .put("txt", "text/plain")
+          .put("wav", "audio/wav")
+          .put("webm", "video/webm")
+          .put("webp", "image/webp")
+          .put("zip", "application/zip")
+          .build();
+
+  private static final ConcurrentMap<String, CachedType> cache = new ConcurrentHashMap<>();
+
+  private MimeTypeDetector() {}
+
+  /**
+   * Returns the MIME type of a file.
+   *
+   * @param path The path to the file
+   * @return The MIME type, or {@link #DEFAULT_MIME_TYPE} if it cannot be detected
+   */
+  public static String getMimeType(String path) {
+    File file = new File(path);
+    String key = file.getAbsolutePath();
+    long lastModified = file.lastModified();
+    long length = file.length();
+
+    CachedType cached = cache.get(key);
+    if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+      return cached.mimeType;
+    }
+    String mimeType = detect(file);
+    cache.put(key, new CachedType(lastModified, length, mimeType));
+    return mimeType;
+  }
+
+  private static String detect(File file) {
+    String extension = getExtension(file.getName());
+    String mimeType = null;
+    try {
+      mimeType = sniff(readHeader(file), extension);
+    } catch (IOException e) {
+      // Fall back to the extension.
+    }
+    if (mimeType == null) {
+      mimeType = TYPES_BY_EXTENSION.get(extension);
+    }
+    if (mimeType == null) {
+      mimeType = URLConnection.getFileNameMap().getContentTypeFor(file.getName());
+    }
+    return mimeType != null ? mimeType : DEFAULT_MIME_TYPE;
+  }
+
+  /** Matches the first bytes of a file against known signatures. */
+  private static String sniff(byte[] header, String extension) {
+    // Read the header as Latin-1, so every byte maps to the character with the same value.
+    String text = new String(header, ISO_8859_1);
+
+    if (text.startsWith("\u0089PNG\r\n\u001a\n")) {
+      return "image/png";
+    }
+    if (text.startsWith("\u00ff\u00d8\u00ff")) {
+      return "image/jpeg";
+    }
+    if (text.startsWith("GIF87a") || text.startsWith("GIF89a")) {
+      return "image/gif";
+    }
+    if (text.startsWith("PK\u0003\u0004") || text.startsWith("PK\u0005\u0006")) {
+      return "application/zip";
+    }
+    if (text.startsWith("RIFF") && text.length() >= 12) {
+      String format = text.substring(8, 12);
+      if (format.equals("WEBP")) {
+        return "image/webp";
+      }
+      if (format.equals("AVI ")) {
+        return "video/x-msvideo";
+      }
+      if (format.equals("WAVE")) {
+        return "audio/wav";
+      }
+    }
+    if (text.length() >= 12 && text.substring(4, 8).equals("ftyp")) {
+      // ISO base media files share a signature and differ in their major brand.
+      String brand = text.substring(8, 12);
+      if (brand.equals("qt  ")) {
+        return "video/quicktime";
+      }
+      if (brand.startsWith("3g")) {
+        return "video/3gpp";
+      }
+      if (brand.equals("M4A ")) {
+        return "audio/mp4";
+      }
+      return "video/mp4";
+    }
+    if (text.startsWith("\u001aE\u00df\u00a3")) {
+      // Matroska and WebM share a signature.
+      return "mkv".equals(extension) ? "video/x-matroska" : "video/webm";
+    }
+    if (text.startsWith("OggS")) {
+      return "ogv".equals(extension) ? "video/ogg" : "audio/ogg";
+    }
+    if (text.startsWith("FLV")) {
+      return "video/x-flv";
+    }
+    if (text.startsWith("\u0000\u0000\u0001\u00ba")
+        || text.startsWith("\u0000\u0000\u0001\u00b3")) {
+      return "video/mpeg";
+    }
+    if (text.startsWith("ID3")) {
+      return "audio/mpeg";
+    }
+
+    // Markup is only recognized by its leading tag, ignoring leading whitespace and case.
+    String markup = text.trim().toLowerCase();
+    if (markup.startsWith("<!doctype html") || markup.startsWith("<html")) {
+      return "text/html";
+    }
+    if (markup.startsWith("<svg") || (markup.startsWith("<?xml") && markup.contains("<svg"))) {
+      return "image/svg+xml";
+    }
+    return null;
+  }
+
+  private static byte[] readHeader(File file) throws IOException {
+    byte[] header = new byte[HEADER_SIZE];
+    int length = 0;
+    try (InputStream in = new FileInputStream(file)) {
+      int read;
+      while (length < header.length
+          && (read = in.read(header, length, header.length - length)) != -1) {
+        length += read;
+      }
+    }
+    byte[] result = new byte[length];
+    System.arraycopy(header, 0, result, 0, length);
+    return result;
+  }
+
+  private static String getExtension(String filename) {
+    int dot = filename.lastIndexOf('.');
+    return dot < 0 ? "" : filename.substring(dot + 1).toLowerCase();
+  }
+
+  /** A detected MIME type and the state of the file it was detected for. */
+  private static final class CachedType {
+
+    private final long lastModified;
+    private final long length;
+    private final String mimeType;
+
+    CachedType(long lastModified, long length, String mimeType) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.mimeType = mimeType;
+    }
+  }
+}
@@ -0,0 +1,160 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonString;
+import com.google.api.client.util.Key;
+import com.google.api.services.displayvideo.v4.model.Advertiser;
+import com.google.api.services.displayvideo.v4.model.Campaign;
+import com.google.api.services.displayvideo.v4.model.InsertionOrder;
+import com.google.api.services.displayvideo.v4.model.LineItem;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A declarative spec of an advertiser, campaign, insertion order and line item hierarchy to
+ * provision.
+ *
+ * <p>The spec is a JSON file with an {@code advertisers} array. Every node of the tree either
+ * refers to an existing entity by ID, or holds the entity to create in the JSON form of the
+ * Display &amp; Video 360 API, without the IDs of its parents, for example:
+ *
+ * <pre>
+ * {
+ *   "advertisers": [{
+ *     "advertiserId": "1234",
+ *     "campaigns": [{
+ *       "campaign": {"displayName": "Spring sale", "entityStatus": "ENTITY_STATUS_ACTIVE", ...},
+ *       "insertionOrders": [{
+ *         "insertionOrder": {"displayName": "Spring sale - display", ...},
+ *         "lineItems": [{"displayName": "Spring sale - prospecting", ...}]
+ *       }]
+ *     }]
+ *   }]
+ * }
+ * </pre>
+ */
+public final class ProvisioningSpec extends GenericJson {
+
+  @Key private List<AdvertiserNode> advertisers;
+
+  /**
+   * Reads a spec file.
+   *
+   * @param path The path to the JSON spec file
+   * @throws IOException If the file cannot be read or parsed
+   */
+  public static ProvisioningSpec read(String path) throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(path), UTF_8)) {
+      return Utils.getDefaultJsonFactory().fromReader(reader, ProvisioningSpec.class);
+    }
+  }
+
+  public List<AdvertiserNode> getAdvertisers() {
+    return nullToEmpty(advertisers);
+  }
+
+  /** Returns the number of entities in the spec, including existing ones. */
+  public int getEntityCount() {
+    int count = 0;
+    for (AdvertiserNode advertiser : getAdvertisers()) {
+      count++;
+      for (CampaignNode campaign : advertiser.getCampaigns()) {
+        count++;
+        for (InsertionOrderNode insertionOrder : campaign.getInsertionOrders()) {
+          count += 1 + insertionOrder.getLineItems().size();
+        }
+      }
+    }
+    return count;
+  }
+
+  private static <T> List<T> nullToEmpty(List<T> list) {
+    return list == null ? Collections.<T>emptyList() : list;
+  }
+
+  /** An existing advertiser or an advertiser to create, and its campaigns. */
+  public static final class AdvertiserNode extends GenericJson {
+
+    @Key @JsonString private Long advertiserId;
+    @Key private Advertiser advertiser;
+    @Key private List<CampaignNode> campaigns;
+
+    /** Returns the ID of the existing advertiser, or {@code null} to create one. */
+    public Long getAdvertiserId() {
+      return advertiserId;
+    }
+
+    /** Returns the advertiser to create, including its partner ID. */
+    public Advertiser getAdvertiser() {
+      return advertiser;
+    }
+
+    public List<CampaignNode> getCampaigns() {
+      return nullToEmpty(campaigns);
+    }
+  }
+
+  /** An existing campaign or a campaign to create, and its insertion orders. */
+  public static final class CampaignNode extends GenericJson {
+
+    @Key @JsonString private Long campaignId;
+    @Key private Campaign campaign;
+    @Key private List<InsertionOrderNode> insertionOrders;
+
+    /** Returns the ID of the existing campaign, or {@code null} to create one. */
+    public Long getCampaignId() {
+      return campaignId;
+    }
+
+    public Campaign getCampaign() {
+      return campaign;
+    }
+
+    public List<InsertionOrderNode> getInsertionOrders() {
+      return nullToEmpty(insertionOrders);
+    }
+  }
+
+  /** An existing insertion order or an insertion order to create, and its line items. */
+  public static final class InsertionOrderNode extends GenericJson {
+
+    @Key @JsonString private Long insertionOrderId;
+    @Key private InsertionOrder insertionOrder;
+    @Key private List<LineItem> lineItems;
+
+    /** Returns the ID of the existing insertion order, or {@code null} to create one. */
+    public Long getInsertionOrderId() {
+      return insertionOrderId;
+    }
+
+    public InsertionOrder getInsertionOrder() {
+      return insertionOrder;
+    }
+
+    /** Returns the line items to create. */
+    public List<LineItem> getLineItems() {
+      return nullToEmpty(lineItems);
+    }
+  }
+}
@@ -0,0 +1,305 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.googleapis.media.MediaHttpUploader;
+import com.google.api.client.http.EmptyContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.HttpStatusCodes;
+import com.google.api.client.http.json.JsonHttpContent;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.displayvideo.v4.DisplayVideo;
+import com.google.api.services.displayvideo.v4.model.Asset;
+import com.google.api.services.displayvideo.v4.model.CreateAssetRequest;
+import com.google.api.services.displayvideo.v4.model.CreateAssetResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Uploads creative assets with the resumable upload protocol, in chunks of a fixed size.
+ *
+ * <p>The upload session of every file is persisted along with the number of bytes the server has
+ * confirmed, so an upload interrupted by an error or a process restart continues from the last
+ * confirmed chunk instead of starting over. A session is only resumed for the same advertiser and
+ * an unchanged file.
+ */
+public final class ResumableAssetUploader {
+
+  /** The default size of the uploaded chunks. */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  private static final String DATA_STORE_ID = "ResumableAssetUploads";
+
+  /** The status code the server responds with while an upload is incomplete. */
+  private static final int STATUS_CODE_RESUME_INCOMPLETE = 308;
+
+  private final DisplayVideo service;
+  private final DataStore<Session> sessions;
+  private final int chunkSize;
+
+  /**
+   * Creates an uploader.
+   *
+   * @param service The Display &amp; Video 360 service to upload with
+   * @param dataStoreFactory The factory of the data store to persist upload sessions in
+   * @param chunkSize The size of the uploaded chunks, rounded up to a multiple of 256 KiB
+   */
+  public ResumableAssetUploader(
+      DisplayVideo service, DataStoreFactory dataStoreFactory, int chunkSize) throws IOException {
+    this.service = service;
+    this.sessions = dataStoreFactory.getDataStore(DATA_STORE_ID);
+    int minimumChunkSize = MediaHttpUploader.MINIMUM_CHUNK_SIZE;
+    this.chunkSize =
+        Math.max(1, (chunkSize + minimumChunkSize - 1) / minimumChunkSize) * minimumChunkSize;
+  }
+
+  /**
+   * Uploads the given file as a creative asset under the given advertiser, resuming an earlier
+   * interrupted upload of the file if there is one.
+   *
+   * @param cache The cache of uploaded assets, or {@code null} to always upload the file
+   * @return The created asset, or an asset with only the media ID set if the file was cached
+   * @throws IOException If the upload fails
+   */
+  public Asset upload(long advertiserId, String path, AssetCache cache) throws IOException {
+    File file = new File(path);
+    String sha256 = null;
+    if (cache != null) {
+      sha256 = HashUtils.sha256(path);
+      Long mediaId = cache.getMediaId(advertiserId, sha256);
+      if (mediaId != null) {
+        return new Asset().setMediaId(mediaId);
+      }
+    }
+
+    String sessionKey =
+        HashUtils.sha256OfParts(
+            advertiserId, file.getAbsolutePath(), file.length(), file.lastModified());
+    Session session = sessions.get(sessionKey);
+    long offset = -1;
+    if (session != null) {
+      offset = queryOffset(session, file.length(), new ExponentialBackOff());
+    }
+    if (offset < 0) {
+      // There is no session for the file, or it has expired, so start a new one.
+      session = new Session(startSession(advertiserId, file), 0);
+      sessions.set(sessionKey, session);
+      offset = 0;
+    } else {
+      System.out.printf(
+          "Resuming the upload of %s at byte %d of %d, last recorded at byte %d.%n",
+          path, offset, file.length(), session.offset);
+    }
+
+    CreateAssetResponse response = uploadChunks(sessionKey, session, file, offset);
+    sessions.delete(sessionKey);
+
+    Asset asset = response.getAsset();
+    if (cache != null) {
+      cache.putMediaId(advertiserId, sha256, asset.getMediaId());
+    }
+    return asset;
+  }
+
+  /** Starts an upload session and returns its URI. */
+  private String startSession(long advertiserId, File file) throws IOException {
+    CreateAssetRequest metadata = new CreateAssetRequest().setFilename(file.getName());
+    String mimeType = MimeTypeDetector.getMimeType(file.getPath());
+
+    // Build the upload URL from an upload request, so it matches the service configuration.
+    FileChannelContent mediaContent = new FileChannelContent(mimeType, file);
+    GenericUrl url =
+        service
+            .advertisers()
+            .assets()
+            .upload(advertiserId, metadata, mediaContent)
+            .buildHttpRequestUrl();
+    url.set("uploadType", "resumable");
+
+    HttpRequest request =
+        service
+            .getRequestFactory()
+            .buildPostRequest(url, new JsonHttpContent(service.getJsonFactory(), metadata));
+    request.getHeaders().set("X-Upload-Content-Type", mimeType);
+    request.getHeaders().set("X-Upload-Content-Length", file.length());
+    HttpResponse response = request.execute();
+    try {
+      String location = response.getHeaders().getLocation();
+      if (location == null) {
+        throw new IOException("The upload session response has no location.");
+      }
+      return location;
+    } finally {
+      response.disconnect();
+    }
+  }
+
+  /**
+   * Asks the server how many bytes of a session it has received, retrying server errors and
+   * failed connections with the given back-off.
+   *
+   * @return The number of bytes received, or -1 if the session has expired
+   */
+  private long queryOffset(Session session, long length, BackOff backOff) throws IOException {
+    while (true) {
+      HttpRequest request =
+          service
+              .getRequestFactory()
+              .buildPutRequest(new GenericUrl(session.uri), new EmptyContent());
+      request.getHeaders().setContentRange("bytes */" + length);
+      request.setThrowExceptionOnExecuteError(false);
+      request.setFollowRedirects(false);
+
+      HttpResponse response;
+      try {
+        response = request.execute();
+      } catch (IOException e) {
+        sleep(backOff, e);
+        continue;
+      }
+      try {
+        int statusCode = response.getStatusCode();
+        if (statusCode == STATUS_CODE_RESUME_INCOMPLETE) {
+          return getReceivedBytes(response);
+        }
+        if (response.isSuccessStatusCode()) {
+          // Every byte was received, but the response to the last chunk was lost.
+          return length;
+        }
+        if (statusCode == HttpStatusCodes.STATUS_CODE_NOT_FOUND || statusCode == 410) {
+          return -1;
+        }
+        HttpResponseException error = new HttpResponseException(response);
+        if (statusCode < HttpStatusCodes.STATUS_CODE_SERVER_ERROR) {
+          throw error;
+        }
+        sleep(backOff, error);
+      } finally {
+        response.disconnect();
+      }
+    }
+  }
+
+  private CreateAssetResponse uploadChunks(
+      String sessionKey, Session session, File file, long offset) throws IOException {
+    long length = file.length();
+    String mimeType = MimeTypeDetector.getMimeType(file.getPath());
+    BackOff backOff = new ExponentialBackOff();
+
+    while (true) {
+      long size = Math.min(chunkSize, length - offset);
+
+      HttpRequest request =
+          service
+              .getRequestFactory()
+              .buildPutRequest(
+                  new GenericUrl(session.uri),
+                  new FileChannelContent(mimeType, file, offset, size));
+      request
+          .getHeaders()
+          .setContentRange(
+              size == 0
+                  ? "bytes */" + length
+                  : "bytes " + offset + "-" + (offset + size - 1) + "/" + length);
+      request.setThrowExceptionOnExecuteError(false);
+      request.setFollowRedirects(false);
+      request.setParser(service.getObjectParser());
+
+      HttpResponse response;
+      try {
+        response = request.execute();
+      } catch (IOException e) {
+        // Ask the server how much it received, then continue from there.
+        offset = retryOffset(session, length, backOff, e);
+        continue;
+      }
+      try {
+        int statusCode = response.getStatusCode();
+        if (response.isSuccessStatusCode()) {
+          return response.parseAs(CreateAssetResponse.class);
+        }
+        if (statusCode == STATUS_CODE_RESUME_INCOMPLETE) {
+          offset = getReceivedBytes(response);
+          sessions.set(sessionKey, new Session(session.uri, offset));
+          backOff.reset();
+          continue;
+        }
+        HttpResponseException error = new HttpResponseException(response);
+        if (statusCode < HttpStatusCodes.STATUS_CODE_SERVER_ERROR) {
+          throw error;
+        }
+        offset = retryOffset(session, length, backOff, error);
+      } finally {
+        response.disconnect();
+      }
+    }
+  }
+
+  /** Waits before retrying a failed chunk and returns the offset to retry from. */
+  private long retryOffset(Session session, long length, BackOff backOff, IOException error)
+      throws IOException {
+    sleep(backOff, error);
+    long offset = queryOffset(session, length, backOff);
+    if (offset < 0) {
+      throw new IOException("The upload session has expired.", error);
+    }
+    return offset;
+  }
+
+  /** Waits for the next back-off interval, or throws the error if there is none. */
+  private static void sleep(BackOff backOff, IOException error) throws IOException {
+    long backOffMillis = backOff.nextBackOffMillis();
+    if (backOffMillis == BackOff.STOP) {
+      throw error;
+    }
+    try {
+      Thread.sleep(backOffMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw error;
+    }
+  }
+
+  /** Returns the number of bytes received according to the Range header of a response. */
+  private static long getReceivedBytes(HttpResponse response) {
+    String range = response.getHeaders().getRange();
+    if (range == null) {
+      return 0;
+    }
+    // The header has the form "bytes=0-<last received byte>".
+    return Long.parseLong(range.substring(range.indexOf('-') + 1)) + 1;
+  }
+
+  /** A persisted upload session. */
+  private static final class Session implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String uri;
+    private final long offset;
+
+    Session(String uri, long offset) {
+      this.uri = uri;
+      this.offset = offset;
+    }
+  }
+}
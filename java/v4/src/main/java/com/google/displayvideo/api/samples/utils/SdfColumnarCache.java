@@ -0,0 +1,570 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact columnar binary copy of parsed structured data files (SDFs).
+ *
+ * <p>Columns whose values are all integers or all decimals are stored as primitive arrays, and all
+ * other columns are dictionary-encoded. Opening a cache file only reads its index, and columns are
+ * memory-mapped when first accessed, so reading a cached snapshot avoids parsing CSV entirely.
+ *
+ * <p>The file consists of a magic number, the column sections, an index describing every table
+ * and column, and the offset of that index in the last eight bytes.
+ */
+public final class SdfColumnarCache implements Closeable {
+
+  /** The value returned by {@link LongColumn#getLong} for empty cells. */
+  public static final long NULL_LONG = Long.MIN_VALUE;
+
+  private static final byte[] MAGIC = "DVSDFC01".getBytes(UTF_8);
+  private static final byte TYPE_LONG = 1;
+  private static final byte TYPE_DOUBLE = 2;
+  private static final byte TYPE_STRING = 3;
+
+  private final FileChannel channel;
+  private final Map<String, Table> tables;
+
+  private SdfColumnarCache(FileChannel channel, Map<String, Table> tables) {
+    this.channel = channel;
+    this.tables = Collections.unmodifiableMap(tables);
+  }
+
+  /**
+   * Writes the given parsed SDF files to a cache file. The file is written next to its final
+   * location and moved into place once complete, so readers never see a partial cache.
+   *
+   * @param tables The parsed SDF files, as returned by {@link SdfReader#readArchive}
+   * @param path The path of the cache file to write
+   * @throws IOException If the file cannot be written
+   */
+  public static void write(Map<String, SdfTable> tables, String path) throws IOException {
+    Path target = Paths.get(path).toAbsolutePath();
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+    try (SectionWriter writer =
+        new SectionWriter(
+            FileChannel.open(
+                temp,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE))) {
+      writer.putBytes(MAGIC);
+
+      // Write every column, remembering where each section starts for the index.
+      List<TableIndex> index = new ArrayList<>();
+      for (SdfTable table : tables.values()) {
+        TableIndex tableIndex = new TableIndex(table.getName(), table.getRowCount());
+        String[] header = table.getHeader();
+        for (int column = 0; column < header.length; column++) {
+          tableIndex.columns.add(writeColumn(writer, header[column], table.getRows(), column));
+        }
+        index.add(tableIndex);
+      }
+
+      // Write the index followed by its offset.
+      long indexOffset = writer.position();
+      writer.putInt(index.size());
+      for (TableIndex tableIndex : index) {
+        writer.putString(tableIndex.name);
+        writer.putInt(tableIndex.rowCount);
+        writer.putInt(tableIndex.columns.size());
+        for (ColumnIndex columnIndex : tableIndex.columns) {
+          writer.putString(columnIndex.name);
+          writer.putByte(columnIndex.type);
+          writer.putLong(columnIndex.offset);
+          writer.putLong(columnIndex.length);
+          writer.putLong(columnIndex.dictionaryOffset);
+          writer.putInt(columnIndex.dictionarySize);
+          writer.putLong(columnIndex.dictionaryLength);
+        }
+      }
+      writer.putLong(indexOffset);
+    }
+    Files.move(
+        temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Opens a cache file written by {@link #write}. Only the index is read, and columns are mapped
+   * into memory when first accessed.
+   *
+   * @param path The path of the cache file
+   * @return The opened cache, which must be closed once no longer needed
+   * @throws IOException If the file cannot be read or is not a cache file
+   */
+  public static SdfColumnarCache open(String path) throws IOException {
+    FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+      if (size < MAGIC.length + 8
+          || channel.read(magic, 0) != MAGIC.length
+          || !Arrays.equals(magic.array(), MAGIC)) {
+        throw new IOException(path + " is not an SDF cache file.");
+      }
+      ByteBuffer trailer = ByteBuffer.allocate(8);
+      channel.read(trailer, size - 8);
+      long indexOffset = trailer.getLong(0);
+      ByteBuffer index =
+          channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, size - 8 - indexOffset);
+
+      Map<String, Table> tables = new LinkedHashMap<>();
+      int tableCount = index.getInt();
+      for (int t = 0; t < tableCount; t++) {
+        String tableName = getString(index);
+        int rowCount = index.getInt();
+        int columnCount = index.getInt();
+        Map<String, Column> columns = new LinkedHashMap<>();
+        for (int c = 0; c < columnCount; c++) {
+          ColumnIndex columnIndex = new ColumnIndex(getString(index), index.get());
+          columnIndex.offset = index.getLong();
+          columnIndex.length = index.getLong();
+          columnIndex.dictionaryOffset = index.getLong();
+          columnIndex.dictionarySize = index.getInt();
+          columnIndex.dictionaryLength = index.getLong();
+          columns.put(columnIndex.name, createColumn(channel, columnIndex, rowCount));
+        }
+        tables.put(tableName, new Table(tableName, rowCount, columns));
+      }
+      return new SdfColumnarCache(channel, tables);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /** Returns the names of the cached SDF files. */
+  public Collection<String> getTableNames() {
+    return tables.keySet();
+  }
+
+  /**
+   * Returns the cached SDF file with the given name.
+   *
+   * @return The table, or {@code null} if the cache contains no such file
+   */
+  public Table getTable(String name) {
+    return tables.get(name);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static ColumnIndex writeColumn(
+      SectionWriter writer, String name, List<String[]> rows, int column) throws IOException {
+    ColumnIndex columnIndex = new ColumnIndex(name, inferType(rows, column));
+    columnIndex.offset = writer.position();
+
+    if (columnIndex.type == TYPE_LONG) {
+      for (String[] row : rows) {
+        String value = cell(row, column);
+        writer.putLong(value.isEmpty() ? NULL_LONG : Long.parseLong(value));
+      }
+    } else if (columnIndex.type == TYPE_DOUBLE) {
+      for (String[] row : rows) {
+        String value = cell(row, column);
+        writer.putDouble(value.isEmpty() ? Double.NaN : Double.parseDouble(value));
+      }
+    } else {
+      // Assign dictionary codes in order of first appearance.
+      Map<String, Integer> codes = new HashMap<>();
+      List<String> dictionary = new ArrayList<>();
+      for (String[] row : rows) {
+        String value = cell(row, column);
+        Integer code = codes.get(value);
+        if (code == null) {
+          code = dictionary.size();
+          codes.put(value, code);
+          dictionary.add(value);
+        }
+        writer.putInt(code);
+      }
+      columnIndex.length = writer.position() - columnIndex.offset;
+      columnIndex.dictionaryOffset = writer.position();
+      columnIndex.dictionarySize = dictionary.size();
+      for (String value : dictionary) {
+        writer.putString(value);
+      }
+      columnIndex.dictionaryLength = writer.position() - columnIndex.dictionaryOffset;
+      return columnIndex;
+    }
+    columnIndex.length = writer.position() - columnIndex.offset;
+    return columnIndex;
+  }
+
+  /**
+   * Picks the most compact type that reproduces every value of the column exactly, so that
+   * numbers such as "1.50" whose formatting would be lost are kept as strings.
+   */
+  private static byte inferType(List<String[]> rows, int column) {
+    boolean allLongs = true;
+    boolean allDoubles = true;
+    boolean anyValue = false;
+    for (String[] row : rows) {
+      String value = cell(row, column);
+      if (value.isEmpty()) {
+        continue;
+      }
+      anyValue = true;
+      if (allLongs) {
+        try {
+          long parsed = Long.parseLong(value);
+          allLongs = parsed != NULL_LONG && Long.toString(parsed).equals(value);
+        } catch (NumberFormatException e) {
+          allLongs = false;
+        }
+      }
+      if (allDoubles) {
+        try {
+          allDoubles = Double.toString(Double.parseDouble(value)).equals(value);
+        } catch (NumberFormatException e) {
+          allDoubles = false;
+        }
+      }
+      if (!allLongs && !allDoubles) {
+        return TYPE_STRING;
+      }
+    }
+    if (!anyValue) {
+      return TYPE_STRING;
+    }
+    return allLongs ? TYPE_LONG : TYPE_DOUBLE;
+  }
+
+  private static String cell(String[] row, int column) {
+    return column < row.length ? row[column] : "";
+  }
+
+  private static Column createColumn(FileChannel channel, ColumnIndex index, int rowCount) {
+    switch (index.type) {
+      case TYPE_LONG:
+        return new LongColumn(channel, index, rowCount);
+      case TYPE_DOUBLE:
+        return new DoubleColumn(channel, index, rowCount);
+      case TYPE_STRING:
+        return new StringColumn(channel, index, rowCount);
+      default:
+        throw new IllegalStateException("Unknown column type " + index.type);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /** A cached SDF file. */
+  public static final class Table {
+
+    private final String name;
+    private final int rowCount;
+    private final Map<String, Column> columns;
+
+    private Table(String name, int rowCount, Map<String, Column> columns) {
+      this.name = name;
+      this.rowCount = rowCount;
+      this.columns = Collections.unmodifiableMap(columns);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getRowCount() {
+      return rowCount;
+    }
+
+    /** Returns the column names in file order. */
+    public Collection<String> getColumnNames() {
+      return columns.keySet();
+    }
+
+    /**
+     * Returns the column with the given name.
+     *
+     * @return The column, or {@code null} if the file has no such column
+     */
+    public Column getColumn(String name) {
+      return columns.get(name);
+    }
+  }
+
+  /** A cached column. Its data is mapped into memory when first accessed. */
+  public abstract static class Column {
+
+    final FileChannel channel;
+    final ColumnIndex index;
+    private final String name;
+    private final int rowCount;
+    private volatile MappedByteBuffer data;
+
+    private Column(FileChannel channel, ColumnIndex index, int rowCount) {
+      this.channel = channel;
+      this.name = index.name;
+      this.index = index;
+      this.rowCount = rowCount;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public int getRowCount() {
+      return rowCount;
+    }
+
+    /** Returns the value of the given row as it appeared in the SDF file. */
+    public abstract String getString(int row);
+
+    final ByteBuffer data() {
+      MappedByteBuffer mapped = data;
+      if (mapped == null) {
+        synchronized (this) {
+          mapped = data;
+          if (mapped == null) {
+            mapped = map(channel, index.offset, index.length);
+            data = mapped;
+          }
+        }
+      }
+      return mapped;
+    }
+
+    static MappedByteBuffer map(FileChannel channel, long offset, long length) {
+      try {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to map SDF cache column.", e);
+      }
+    }
+  }
+
+  /** A column of integers, such as entity IDs. */
+  public static final class LongColumn extends Column {
+
+    private LongColumn(FileChannel channel, ColumnIndex index, int rowCount) {
+      super(channel, index, rowCount);
+    }
+
+    /** Returns the value of the given row, or {@link #NULL_LONG} if the cell is empty. */
+    public long getLong(int row) {
+      return data().getLong(row * 8);
+    }
+
+    @Override
+    public String getString(int row) {
+      long value = getLong(row);
+      return value == NULL_LONG ? "" : Long.toString(value);
+    }
+  }
+
+  /** A column of decimal numbers, such as budget amounts. */
+  public static final class DoubleColumn extends Column {
+
+    private DoubleColumn(FileChannel channel, ColumnIndex index, int rowCount) {
+      super(channel, index, rowCount);
+    }
+
+    /** Returns the value of the given row, or {@link Double#NaN} if the cell is empty. */
+    public double getDouble(int row) {
+      return data().getDouble(row * 8);
+    }
+
+    @Override
+    public String getString(int row) {
+      double value = getDouble(row);
+      return Double.isNaN(value) ? "" : Double.toString(value);
+    }
+  }
+
+  /** A dictionary-encoded column of strings. */
+  public static final class StringColumn extends Column {
+
+    private volatile String[] dictionary;
+
+    private StringColumn(FileChannel channel, ColumnIndex index, int rowCount) {
+      super(channel, index, rowCount);
+    }
+
+    /**
+     * Returns the dictionary code of the given row. Rows with equal values share a code, which
+     * allows grouping and counting without materializing strings.
+     */
+    public int getCode(int row) {
+      return data().getInt(row * 4);
+    }
+
+    /** Returns the number of distinct values in the column. */
+    public int getDictionarySize() {
+      return index.dictionarySize;
+    }
+
+    /** Returns the value for the given dictionary code. */
+    public String getValue(int code) {
+      return dictionary()[code];
+    }
+
+    @Override
+    public String getString(int row) {
+      return getValue(getCode(row));
+    }
+
+    private String[] dictionary() {
+      String[] values = dictionary;
+      if (values == null) {
+        synchronized (this) {
+          values = dictionary;
+          if (values == null) {
+            ByteBuffer buffer = map(channel, index.dictionaryOffset, index.dictionaryLength);
+            values = new String[index.dictionarySize];
+            for (int i = 0; i < values.length; i++) {
+              values[i] = SdfColumnarCache.getString(buffer);
+            }
+            dictionary = values;
+          }
+        }
+      }
+      return values;
+    }
+  }
+
+  private static final class TableIndex {
+
+    final String name;
+    final int rowCount;
+    final List<ColumnIndex> columns = new ArrayList<>();
+
+    TableIndex(String name, int rowCount) {
+      this.name = name;
+      this.rowCount = rowCount;
+    }
+  }
+
+  private static final class ColumnIndex {
+
+    final String name;
+    final byte type;
+    long offset;
+    long length;
+    long dictionaryOffset;
+    int dictionarySize;
+    long dictionaryLength;
+
+    ColumnIndex(String name, byte type) {
+      this.name = name;
+      this.type = type;
+    }
+  }
+
+  /** Writes primitive values to a file channel through a buffer, tracking the file position. */
+  private static final class SectionWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+    private long flushed;
+
+    SectionWriter(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    long position() {
+      return flushed + buffer.position();
+    }
+
+    void putByte(byte value) throws IOException {
+      ensure(1);
+      buffer.put(value);
+    }
+
+    void putInt(int value) throws IOException {
+      ensure(4);
+      buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+      ensure(8);
+      buffer.putLong(value);
+    }
+
+    void putDouble(double value) throws IOException {
+      ensure(8);
+      buffer.putDouble(value);
+    }
+
+    void putString(String value) throws IOException {
+      byte[] bytes = value.getBytes(UTF_8);
+      putInt(bytes.length);
+      putBytes(bytes);
+    }
+
+    void putBytes(byte[] bytes) throws IOException {
+      int written = 0;
+      while (written < bytes.length) {
+        ensure(1);
+        int count = Math.min(buffer.remaining(), bytes.length - written);
+        buffer.put(bytes, written, count);
+        written += count;
+      }
+    }
+
+    private void ensure(int bytes) throws IOException {
+      if (buffer.remaining() < bytes) {
+        flush();
+      }
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        flushed += channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+}
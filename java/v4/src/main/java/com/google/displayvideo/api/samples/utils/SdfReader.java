@@ -0,0 +1,347 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the CSV files of a downloaded structured data file (SDF) archive in parallel.
+ *
+ * <p>Each file in the archive is parsed by its own task. Files larger than the split size are
+ * further divided at row boundaries, found by a quote-aware scan so that quoted line breaks never
+ * start a new piece, and the pieces are parsed with fork-join.
+ */
+public final class SdfReader {
+
+  /** The default number of characters of a single file parsed by one task. */
+  public static final int DEFAULT_SPLIT_SIZE = 4 * 1024 * 1024;
+
+  private static final int MAX_FILE_CHARS = Integer.MAX_VALUE - 8;
+
+  /** The largest buffer allocated up front from an entry size, which may be wrong. */
+  private static final int MAX_INITIAL_CAPACITY = 16 * 1024 * 1024;
+
+  private final int parallelism;
+  private final int splitSize;
+  private final boolean preserveOrder;
+
+  /** Creates a reader using all available processors that keeps files and rows in order. */
+  public SdfReader() {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_SPLIT_SIZE, true);
+  }
+
+  /**
+   * Creates a reader.
+   *
+   * @param parallelism The number of threads used for parsing
+   * @param splitSize The number of characters of a single file parsed by one task
+   * @param preserveOrder Whether files are returned in archive order and rows in file order. If
+   *     {@code false}, files and pieces of files are returned in the order they finish parsing.
+   */
+  public SdfReader(int parallelism, int splitSize, boolean preserveOrder) {
+    if (parallelism < 1 || splitSize < 1) {
+      throw new IllegalArgumentException("Parallelism and split size must be positive.");
+    }
+    this.parallelism = parallelism;
+    this.splitSize = splitSize;
+    this.preserveOrder = preserveOrder;
+  }
+
+  /**
+   * Reads all CSV files of the given SDF archive.
+   *
+   * @param zipPath The path to the SDF zip file
+   * @return The parsed files, keyed by file name
+   * @throws IOException If the archive cannot be read
+   */
+  public Map<String, SdfTable> readArchive(String zipPath) throws IOException {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try (ZipFile zipFile = new ZipFile(zipPath)) {
+      CompletionService<SdfTable> completionService = new ExecutorCompletionService<>(pool);
+      List<Future<SdfTable>> futures = new ArrayList<>();
+
+      // ZipFile supports concurrent reads of different entries.
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        final ZipEntry entry = entries.nextElement();
+        if (entry.isDirectory() || !entry.getName().toLowerCase().endsWith(".csv")) {
+          continue;
+        }
+        futures.add(
+            completionService.submit(
+                () -> {
+                  try (InputStream in = zipFile.getInputStream(entry)) {
+                    return parse(entry.getName(), in, entry.getSize());
+                  }
+                }));
+      }
+
+      Map<String, SdfTable> tables = new LinkedHashMap<>();
+      for (int i = 0; i < futures.size(); i++) {
+        Future<SdfTable> future = preserveOrder ? futures.get(i) : completionService.take();
+        SdfTable table = getResult(future);
+        tables.put(table.getName(), table);
+      }
+      return tables;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading " + zipPath);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Reads a single SDF CSV file from the given stream.
+   *
+   * @param name The name of the file
+   * @param in The stream containing the UTF-8 encoded file
+   * @param sizeHint The size of the file in bytes, or -1 if unknown
+   * @return The parsed file
+   * @throws IOException If the stream cannot be read
+   */
+  public SdfTable read(String name, InputStream in, long sizeHint) throws IOException {
+    if (ForkJoinTask.inForkJoinPool()) {
+      return parse(name, in, sizeHint);
+    }
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return getResult(pool.submit(() -> parse(name, in, sizeHint)));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /** Parses a file. Must be called from a thread of the fork-join pool used for its pieces. */
+  private SdfTable parse(String name, InputStream in, long sizeHint) throws IOException {
+    char[] data = readFully(in, sizeHint);
+    int length = data.length;
+    int start = length > 0 && data[0] == '\uFEFF' ? 1 : 0;
+
+    // The header row ends at the first line break outside of quotes.
+    int headerEnd = findRowEnd(data, start, length);
+    String[] header;
+    try (CsvParser parser =
+        new CsvParser(new CharArrayReader(data, start, headerEnd - start))) {
+      header = parser.readRow();
+    }
+    if (header == null) {
+      return new SdfTable(name, new String[0], new ArrayList<String[]>());
+    }
+
+    int[] boundaries = findSplitPoints(data, headerEnd, length);
+    int pieces = boundaries.length - 1;
+    if (pieces == 0) {
+      return new SdfTable(name, header, new ArrayList<String[]>());
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String[]>[] results = preserveOrder ? (List<String[]>[]) new List<?>[pieces] : null;
+    Queue<List<String[]>> completed = preserveOrder ? null : new ConcurrentLinkedQueue<>();
+    new ParseTask(data, boundaries, 0, pieces, results, completed).invoke();
+
+    // Merge the parsed pieces into a single list.
+    List<List<String[]>> parts =
+        preserveOrder ? Arrays.asList(results) : new ArrayList<>(completed);
+    int rowCount = 0;
+    for (List<String[]> part : parts) {
+      rowCount += part.size();
+    }
+    List<String[]> rows = new ArrayList<>(rowCount);
+    for (List<String[]> part : parts) {
+      rows.addAll(part);
+    }
+    return new SdfTable(name, header, rows);
+  }
+
+  /**
+   * Finds the offsets at which the data is split into pieces. Every offset directly follows a row
+   * end outside of quotes, and pieces are at least {@code splitSize} characters long except for
+   * the last one.
+   */
+  private int[] findSplitPoints(char[] data, int start, int end) {
+    int[] points = new int[16];
+    int count = 0;
+    points[count++] = start;
+
+    // Escaped quotes toggle the state twice, so tracking parity is sufficient.
+    boolean inQuotes = false;
+    long next = (long) start + splitSize;
+    for (int i = start; i < end; i++) {
+      char c = data[i];
+      if (c == '"') {
+        inQuotes = !inQuotes;
+      } else if (!inQuotes && i + 1 >= next && i + 1 < end && isRowEnd(data, i, end)) {
+        if (count == points.length) {
+          points = Arrays.copyOf(points, count * 2);
+        }
+        points[count++] = i + 1;
+        next = (long) i + 1 + splitSize;
+      }
+    }
+    if (end > start) {
+      if (count == points.length) {
+        points = Arrays.copyOf(points, count + 1);
+      }
+      points[count++] = end;
+    }
+    return Arrays.copyOf(points, count);
+  }
+
+  private static int findRowEnd(char[] data, int start, int end) {
+    boolean inQuotes = false;
+    for (int i = start; i < end; i++) {
+      char c = data[i];
+      if (c == '"') {
+        inQuotes = !inQuotes;
+      } else if (!inQuotes && isRowEnd(data, i, end)) {
+        return i + 1;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Returns whether a row ends at an offset. Like {@link CsvParser}, this accepts line feeds,
+   * carriage returns and CRLF pairs, whose row ends at the line feed.
+   */
+  private static boolean isRowEnd(char[] data, int i, int end) {
+    char c = data[i];
+    return c == '\n' || (c == '\r' && (i + 1 == end || data[i + 1] != '\n'));
+  }
+
+  private static List<String[]> parseRange(char[] data, int start, int end) throws IOException {
+    List<String[]> rows = new ArrayList<>();
+    try (CsvParser parser = new CsvParser(new CharArrayReader(data, start, end - start))) {
+      String[] row;
+      while ((row = parser.readRow()) != null) {
+        // Skip blank lines.
+        if (row.length == 1 && row[0].isEmpty()) {
+          continue;
+        }
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  private static char[] readFully(InputStream in, long sizeHint) throws IOException {
+    // UTF-8 never needs more characters than bytes, and larger files grow the buffer as they are
+    // read.
+    int capacity = sizeHint > 0 ? (int) Math.min(sizeHint, MAX_INITIAL_CAPACITY) : 64 * 1024;
+    char[] data = new char[Math.max(capacity, 1)];
+    int length = 0;
+    try (Reader reader = new InputStreamReader(in, UTF_8)) {
+      int read;
+      while ((read = reader.read(data, length, data.length - length)) != -1) {
+        length += read;
+        if (length == data.length) {
+          if (length == MAX_FILE_CHARS) {
+            throw new IOException("SDF file is too large to be parsed in memory.");
+          }
+          data = Arrays.copyOf(data, (int) Math.min((long) length * 2, MAX_FILE_CHARS));
+        }
+      }
+    }
+    return length == data.length ? data : Arrays.copyOf(data, length);
+  }
+
+  private static <T> T getResult(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while parsing SDF file.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to parse SDF file.", e.getCause());
+    }
+  }
+
+  /** Parses a range of pieces, splitting the range in half until a single piece remains. */
+  private static final class ParseTask extends RecursiveAction {
+
+    private final char[] data;
+    private final int[] boundaries;
+    private final int from;
+    private final int to;
+    private final List<String[]>[] results;
+    private final Queue<List<String[]>> completed;
+
+    ParseTask(
+        char[] data,
+        int[] boundaries,
+        int from,
+        int to,
+        List<String[]>[] results,
+        Queue<List<String[]>> completed) {
+      this.data = data;
+      this.boundaries = boundaries;
+      this.from = from;
+      this.to = to;
+      this.results = results;
+      this.completed = completed;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        List<String[]> rows;
+        try {
+          rows = parseRange(data, boundaries[from], boundaries[to]);
+        } catch (IOException e) {
+          // Reading from a character array does not fail.
+          throw new IllegalStateException(e);
+        }
+        if (results != null) {
+          results[from] = rows;
+        } else {
+          completed.add(rows);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new ParseTask(data, boundaries, from, middle, results, completed),
+          new ParseTask(data, boundaries, middle, to, results, completed));
+    }
+  }
+}
@@ -0,0 +1,503 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Compares two structured data file (SDF) archives downloaded by {@code
+ * DownloadStructuredDataFiles} and reports the entities that were added, removed or changed.
+ *
+ * <p>Rows are keyed by their entity ID column, such as "Line Item Id" or "Io Id", and
+ * fingerprinted with a 64-bit hash. Both snapshots are streamed once into hash partitions on disk,
+ * and partitions are then compared one at a time, so memory use is bounded by the partition size
+ * rather than by the size of the snapshots. A file is split into at most 256 partitions, so for
+ * files larger than 256 times the partition size, each partition holds more than the partition size
+ * and memory use grows with the file.
+ *
+ * <p>Rows whose entity ID is empty, or repeats the ID of an earlier row of the same file, cannot be
+ * matched between the snapshots. They are not compared, and are counted as skipped instead.
+ */
+public final class SdfSnapshotDiff {
+
+  /** The default maximum number of uncompressed bytes of a single file per partition. */
+  public static final long DEFAULT_PARTITION_BYTES = 64L * 1024 * 1024;
+
+  private static final int MAX_PARTITIONS = 256;
+  private static final int BUFFER_SIZE = 32 * 1024;
+
+  private final long partitionBytes;
+
+  public SdfSnapshotDiff() {
+    this(DEFAULT_PARTITION_BYTES);
+  }
+
+  /**
+   * Creates a diff engine.
+   *
+   * @param partitionBytes The approximate number of uncompressed bytes of a single file held in
+   *     memory at once
+   */
+  public SdfSnapshotDiff(long partitionBytes) {
+    if (partitionBytes < 1) {
+      throw new IllegalArgumentException("Partition size must be positive.");
+    }
+    this.partitionBytes = partitionBytes;
+  }
+
+  /**
+   * Compares two SDF archives.
+   *
+   * @param oldZipPath The path to the earlier SDF zip file
+   * @param newZipPath The path to the later SDF zip file
+   * @param listener Receives every added, removed and changed entity
+   * @return The number of entities per kind of change
+   * @throws IOException If either archive cannot be read or the partitions cannot be written
+   */
+  public Summary diff(String oldZipPath, String newZipPath, Consumer<EntityChange> listener)
+      throws IOException {
+    Summary summary = new Summary();
+    File workDir = Files.createTempDirectory("sdf-diff").toFile();
+    try (ZipFile oldZip = new ZipFile(oldZipPath);
+        ZipFile newZip = new ZipFile(newZipPath)) {
+      // Compare every CSV file present in either snapshot.
+      TreeSet<String> fileNames = new TreeSet<>(csvEntryNames(oldZip));
+      fileNames.addAll(csvEntryNames(newZip));
+      for (String fileName : fileNames) {
+        diffFile(
+            fileName,
+            oldZip.getEntry(fileName),
+            oldZip,
+            newZip.getEntry(fileName),
+            newZip,
+            workDir,
+            listener,
+            summary);
+      }
+    } finally {
+      deleteRecursively(workDir);
+    }
+    return summary;
+  }
+
+  private void diffFile(
+      String fileName,
+      ZipEntry oldEntry,
+      ZipFile oldZip,
+      ZipEntry newEntry,
+      ZipFile newZip,
+      File workDir,
+      Consumer<EntityChange> listener,
+      Summary summary)
+      throws IOException {
+    long size = Math.max(entrySize(oldEntry), entrySize(newEntry));
+    int partitions = (int) Math.min(MAX_PARTITIONS, Math.max(1, size / partitionBytes + 1));
+
+    // Stream both snapshots into hash partitions keyed by entity ID.
+    File oldDir = new File(workDir, "old");
+    File newDir = new File(workDir, "new");
+    String[] oldHeader = partition(oldZip, oldEntry, oldDir, partitions, summary);
+    String[] newHeader = partition(newZip, newEntry, newDir, partitions, summary);
+    ColumnMapping mapping = new ColumnMapping(oldHeader, newHeader);
+
+    // Compare one partition at a time.
+    for (int p = 0; p < partitions; p++) {
+      Map<String, Record> oldRecords = new HashMap<>();
+      try (DataInputStream in = openPartition(oldDir, p)) {
+        Record record;
+        while (in != null && (record = Record.read(in)) != null) {
+          if (oldRecords.putIfAbsent(record.entityId, record) != null) {
+            summary.skipped++;
+          }
+        }
+      }
+      Set<String> newIds = new HashSet<>();
+      try (DataInputStream in = openPartition(newDir, p)) {
+        Record record;
+        while (in != null && (record = Record.read(in)) != null) {
+          if (!newIds.add(record.entityId)) {
+            summary.skipped++;
+            continue;
+          }
+          Record oldRecord = oldRecords.remove(record.entityId);
+          if (oldRecord == null) {
+            summary.added++;
+            listener.accept(
+                new EntityChange(ChangeType.ADDED, fileName, record.entityId, noColumns()));
+            continue;
+          }
+          List<ColumnChange> changes =
+              oldRecord.hash == record.hash && mapping.identical
+                  ? noColumns()
+                  : mapping.compare(oldRecord.values, record.values);
+          if (changes.isEmpty()) {
+            summary.unchanged++;
+          } else {
+            summary.changed++;
+            listener.accept(
+                new EntityChange(ChangeType.CHANGED, fileName, record.entityId, changes));
+          }
+        }
+      }
+      for (Record removed : oldRecords.values()) {
+        summary.removed++;
+        listener.accept(
+            new EntityChange(ChangeType.REMOVED, fileName, removed.entityId, noColumns()));
+      }
+    }
+    deleteRecursively(oldDir);
+    deleteRecursively(newDir);
+  }
+
+  /**
+   * Writes the rows of the given entry to partition files.
+   *
+   * @return The header of the entry, or an empty header if the entry does not exist
+   */
+  private static String[] partition(
+      ZipFile zip, ZipEntry entry, File dir, int partitions, Summary summary) throws IOException {
+    if (!dir.mkdirs() && !dir.isDirectory()) {
+      throw new IOException("Failed to create partition directory " + dir);
+    }
+    if (entry == null) {
+      return new String[0];
+    }
+
+    DataOutputStream[] outs = new DataOutputStream[partitions];
+    try (CsvParser parser =
+        new CsvParser(new InputStreamReader(zip.getInputStream(entry), UTF_8))) {
+      String[] header = parser.readRow();
+      if (header == null) {
+        return new String[0];
+      }
+      int keyColumn = keyColumn(header);
+      String[] row;
+      while ((row = parser.readRow()) != null) {
+        if (row.length == 1 && row[0].isEmpty()) {
+          continue;
+        }
+        String entityId = keyColumn < row.length ? row[keyColumn] : "";
+        if (entityId.isEmpty()) {
+          summary.skipped++;
+          continue;
+        }
+        int p = (entityId.hashCode() & Integer.MAX_VALUE) % partitions;
+        if (outs[p] == null) {
+          outs[p] =
+              new DataOutputStream(
+                  new BufferedOutputStream(
+                      new FileOutputStream(partitionFile(dir, p)), BUFFER_SIZE));
+        }
+        new Record(entityId, hash(row), row).write(outs[p]);
+      }
+      return header;
+    } finally {
+      for (DataOutputStream out : outs) {
+        if (out != null) {
+          out.close();
+        }
+      }
+    }
+  }
+
+  /** Returns the first column named like an entity ID, or the first column if there is none. */
+  private static int keyColumn(String[] header) {
+    for (int i = 0; i < header.length; i++) {
+      if (header[i].endsWith(" Id")) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  /** Computes the 64-bit FNV-1a hash of a row. */
+  private static long hash(String[] row) {
+    long hash = 0xcbf29ce484222325L;
+    for (String value : row) {
+      for (int i = 0; i < value.length(); i++) {
+        hash ^= value.charAt(i);
+        hash *= 0x100000001b3L;
+      }
+      // Separate fields so that ["ab", "c"] and ["a", "bc"] differ.
+      hash ^= 0x1f;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static DataInputStream openPartition(File dir, int partition) throws IOException {
+    File file = partitionFile(dir, partition);
+    if (!file.exists()) {
+      return null;
+    }
+    return new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+  }
+
+  private static File partitionFile(File dir, int partition) {
+    return new File(dir, "partition-" + partition);
+  }
+
+  private static List<String> csvEntryNames(ZipFile zip) {
+    List<String> names = new ArrayList<>();
+    Enumeration<? extends ZipEntry> entries = zip.entries();
+    while (entries.hasMoreElements()) {
+      ZipEntry entry = entries.nextElement();
+      if (!entry.isDirectory() && entry.getName().toLowerCase().endsWith(".csv")) {
+        names.add(entry.getName());
+      }
+    }
+    return names;
+  }
+
+  private static long entrySize(ZipEntry entry) {
+    return entry == null ? 0 : Math.max(entry.getSize(), 0);
+  }
+
+  private static List<ColumnChange> noColumns() {
+    return Collections.emptyList();
+  }
+
+  private static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    file.delete();
+  }
+
+  /** The kind of change to an entity. */
+  public enum ChangeType {
+    ADDED,
+    REMOVED,
+    CHANGED
+  }
+
+  /** An entity that differs between two snapshots. */
+  public static final class EntityChange {
+
+    private final ChangeType type;
+    private final String fileName;
+    private final String entityId;
+    private final List<ColumnChange> changedColumns;
+
+    EntityChange(
+        ChangeType type, String fileName, String entityId, List<ColumnChange> changedColumns) {
+      this.type = type;
+      this.fileName = fileName;
+      this.entityId = entityId;
+      this.changedColumns = changedColumns;
+    }
+
+    public ChangeType getType() {
+      return type;
+    }
+
+    /** Returns the name of the SDF file containing the entity, such as SDF-LineItems.csv. */
+    public String getFileName() {
+      return fileName;
+    }
+
+    public String getEntityId() {
+      return entityId;
+    }
+
+    /** Returns the changed columns. Empty unless the type is {@link ChangeType#CHANGED}. */
+    public List<ColumnChange> getChangedColumns() {
+      return changedColumns;
+    }
+  }
+
+  /** A column whose value differs between two snapshots of an entity. */
+  public static final class ColumnChange {
+
+    private final String column;
+    private final String oldValue;
+    private final String newValue;
+
+    ColumnChange(String column, String oldValue, String newValue) {
+      this.column = column;
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+    }
+
+    public String getColumn() {
+      return column;
+    }
+
+    public String getOldValue() {
+      return oldValue;
+    }
+
+    public String getNewValue() {
+      return newValue;
+    }
+  }
+
+  /** The number of entities per kind of change. */
+  public static final class Summary {
+
+    private long added;
+    private long removed;
+    private long changed;
+    private long unchanged;
+    private long skipped;
+
+    public long getAdded() {
+      return added;
+    }
+
+    public long getRemoved() {
+      return removed;
+    }
+
+    public long getChanged() {
+      return changed;
+    }
+
+    public long getUnchanged() {
+      return unchanged;
+    }
+
+    /** Returns the number of rows not compared because their entity ID was empty or repeated. */
+    public long getSkipped() {
+      return skipped;
+    }
+  }
+
+  /** Matches columns by name so that snapshots with different column orders can be compared. */
+  private static final class ColumnMapping {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> oldIndexes = new ArrayList<>();
+    private final List<Integer> newIndexes = new ArrayList<>();
+    private final boolean identical;
+
+    ColumnMapping(String[] oldHeader, String[] newHeader) {
+      Map<String, Integer> newPositions = new HashMap<>();
+      for (int i = 0; i < newHeader.length; i++) {
+        newPositions.put(newHeader[i], i);
+      }
+      for (int i = 0; i < oldHeader.length; i++) {
+        names.add(oldHeader[i]);
+        oldIndexes.add(i);
+        Integer newIndex = newPositions.remove(oldHeader[i]);
+        newIndexes.add(newIndex == null ? -1 : newIndex);
+      }
+      for (int i = 0; i < newHeader.length; i++) {
+        if (newPositions.containsKey(newHeader[i])) {
+          names.add(newHeader[i]);
+          oldIndexes.add(-1);
+          newIndexes.add(i);
+        }
+      }
+      identical = Arrays.equals(oldHeader, newHeader);
+    }
+
+    List<ColumnChange> compare(String[] oldValues, String[] newValues) {
+      List<ColumnChange> changes = new ArrayList<>();
+      for (int i = 0; i < names.size(); i++) {
+        String oldValue = value(oldValues, oldIndexes.get(i));
+        String newValue = value(newValues, newIndexes.get(i));
+        if (!oldValue.equals(newValue)) {
+          changes.add(new ColumnChange(names.get(i), oldValue, newValue));
+        }
+      }
+      return changes;
+    }
+
+    private static String value(String[] values, int index) {
+      return index >= 0 && index < values.length ? values[index] : "";
+    }
+  }
+
+  /** A row as stored in a partition file. */
+  private static final class Record {
+
+    final String entityId;
+    final long hash;
+    final String[] values;
+
+    Record(String entityId, long hash, String[] values) {
+      this.entityId = entityId;
+      this.hash = hash;
+      this.values = values;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      writeString(out, entityId);
+      out.writeLong(hash);
+      out.writeInt(values.length);
+      for (String value : values) {
+        writeString(out, value);
+      }
+    }
+
+    /** Reads the next record, or returns {@code null} at the end of the partition. */
+    static Record read(DataInputStream in) throws IOException {
+      String entityId;
+      try {
+        entityId = readString(in);
+      } catch (EOFException e) {
+        return null;
+      }
+      long hash = in.readLong();
+      String[] values = new String[in.readInt()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = readString(in);
+      }
+      return new Record(entityId, hash, values);
+    }
+
+    // DataOutputStream.writeUTF is limited to 64KB, which long SDF cells can exceed.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+      byte[] bytes = value.getBytes(UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      return new String(bytes, UTF_8);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/** The parsed contents of a single structured data file (SDF), such as SDF-LineItems.csv. */
+public final class SdfTable {
+
+  private final String name;
+  private final String[] header;
+  private final List<String[]> rows;
+
+  public SdfTable(String name, String[] header, List<String[]> rows) {
+    this.name = name;
+    this.header = header;
+    this.rows = Collections.unmodifiableList(rows);
+  }
+
+  /** Returns the name of the file within the SDF archive. */
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the column names from the header row. */
+  public String[] getHeader() {
+    return header.clone();
+  }
+
+  /** Returns the data rows, excluding the header row. */
+  public List<String[]> getRows() {
+    return rows;
+  }
+
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  /**
+   * Returns the index of the given column.
+   *
+   * @return The column index, or -1 if the file has no column with the given name
+   */
+  public int getColumnIndex(String columnName) {
+    for (int i = 0; i < header.length; i++) {
+      if (header[i].equals(columnName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
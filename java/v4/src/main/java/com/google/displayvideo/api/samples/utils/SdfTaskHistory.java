@@ -0,0 +1,212 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.DateTime;
+import com.google.api.client.util.NanoClock;
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import com.google.api.services.displayvideo.v4.model.Operation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local history of structured data file (SDF) download task durations, used to poll new tasks
+ * around the time similar tasks have completed before.
+ *
+ * <p>Tasks are grouped by filter type, file types and the magnitude of the number of filtered
+ * entities. Once enough tasks of a group have been recorded, {@link #getBackOff} returns a
+ * schedule that waits until the fastest recorded tasks would have completed, polls a few times
+ * across the usual completion window, and backs off exponentially beyond it.
+ */
+public final class SdfTaskHistory {
+
+  private static final String DATA_STORE_ID = "SdfTaskDurations";
+
+  /** The number of most recent durations kept per group. */
+  private static final int MAX_SAMPLES = 20;
+
+  /** The number of recorded durations needed before the history is used. */
+  private static final int MIN_SAMPLES = 3;
+
+  /** The number of polls spread across the usual completion window. */
+  private static final int WINDOW_POLLS = 4;
+
+  private static final long MIN_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(2);
+  private static final long MAX_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final long MAX_ELAPSED_MILLIS = TimeUnit.HOURS.toMillis(5);
+
+  private final DataStore<String> durations;
+
+  public SdfTaskHistory(DataStoreFactory dataStoreFactory) throws IOException {
+    this.durations = dataStoreFactory.getDataStore(DATA_STORE_ID);
+  }
+
+  /**
+   * Builds the key grouping similar tasks.
+   *
+   * @param filterType The filter type of the task
+   * @param fileTypes The file types generated by the task
+   * @param entityCount The number of IDs the task is filtered by
+   * @return The key of the group the task belongs to
+   */
+  public static String getTaskKey(String filterType, List<String> fileTypes, int entityCount) {
+    List<String> sortedFileTypes = new ArrayList<>(fileTypes);
+    Collections.sort(sortedFileTypes);
+
+    // Group entity counts by their power of two.
+    int entityBucket = 32 - Integer.numberOfLeadingZeros(entityCount);
+    return filterType + "|" + String.join(",", sortedFileTypes) + "|" + entityBucket;
+  }
+
+  /**
+   * Returns the duration of a completed task. The create and end times reported in the operation
+   * metadata are used if present, since they are not skewed by the polling interval.
+   *
+   * @param operation The completed operation
+   * @param observedMillis The time between creating the task and seeing it complete
+   * @return The duration of the task in milliseconds
+   */
+  public static long getDurationMillis(Operation operation, long observedMillis) {
+    Map<String, Object> metadata = operation.getMetadata();
+    if (metadata != null
+        && metadata.get("createTime") != null
+        && metadata.get("endTime") != null) {
+      try {
+        long created = DateTime.parseRfc3339(metadata.get("createTime").toString()).getValue();
+        long ended = DateTime.parseRfc3339(metadata.get("endTime").toString()).getValue();
+        if (ended >= created) {
+          return ended - created;
+        }
+      } catch (NumberFormatException e) {
+        // Fall back to the observed duration.
+      }
+    }
+    return observedMillis;
+  }
+
+  /**
+   * Records the duration of a successfully completed task.
+   *
+   * @param taskKey The key returned by {@link #getTaskKey}
+   * @param durationMillis The duration of the task in milliseconds
+   */
+  public synchronized void record(String taskKey, long durationMillis) throws IOException {
+    List<Long> samples = load(taskKey);
+    samples.add(durationMillis);
+    if (samples.size() > MAX_SAMPLES) {
+      samples = samples.subList(samples.size() - MAX_SAMPLES, samples.size());
+    }
+    StringBuilder value = new StringBuilder();
+    for (Long sample : samples) {
+      if (value.length() > 0) {
+        value.append(',');
+      }
+      value.append(sample);
+    }
+    durations.set(taskKey, value.toString());
+  }
+
+  /**
+   * Returns the polling schedule for a new task.
+   *
+   * @param taskKey The key returned by {@link #getTaskKey}
+   * @param defaultBackOff The schedule to use if too few similar tasks have been recorded
+   * @return The schedule to poll the task with, started at the time of the call
+   */
+  public synchronized BackOff getBackOff(String taskKey, BackOff defaultBackOff)
+      throws IOException {
+    List<Long> samples = load(taskKey);
+    if (samples.size() < MIN_SAMPLES) {
+      return defaultBackOff;
+    }
+    Collections.sort(samples);
+    long low = percentile(samples, 10);
+    long high = percentile(samples, 90);
+    return new AdaptiveBackOff(low, high);
+  }
+
+  private List<Long> load(String taskKey) throws IOException {
+    List<Long> samples = new ArrayList<>();
+    String value = durations.get(taskKey);
+    if (value != null && !value.isEmpty()) {
+      for (String sample : Arrays.asList(value.split(","))) {
+        samples.add(Long.parseLong(sample));
+      }
+    }
+    return samples;
+  }
+
+  private static long percentile(List<Long> sortedSamples, int percent) {
+    int index = (int) Math.round((sortedSamples.size() - 1) * percent / 100.0);
+    return sortedSamples.get(index);
+  }
+
+  /** Polls around the window in which similar tasks have completed before. */
+  private static final class AdaptiveBackOff implements BackOff {
+
+    private final long windowStartMillis;
+    private final long windowEndMillis;
+    private final long windowIntervalMillis;
+    private long startNanos;
+    private long intervalMillis;
+
+    AdaptiveBackOff(long windowStartMillis, long windowEndMillis) {
+      this.windowStartMillis = windowStartMillis;
+      this.windowEndMillis = windowEndMillis;
+      this.windowIntervalMillis =
+          Math.min(
+              MAX_INTERVAL_MILLIS,
+              Math.max(MIN_INTERVAL_MILLIS, (windowEndMillis - windowStartMillis) / WINDOW_POLLS));
+      reset();
+    }
+
+    @Override
+    public void reset() {
+      startNanos = NanoClock.SYSTEM.nanoTime();
+      intervalMillis = windowIntervalMillis;
+    }
+
+    @Override
+    public long nextBackOffMillis() {
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(NanoClock.SYSTEM.nanoTime() - startNanos);
+      if (elapsedMillis >= MAX_ELAPSED_MILLIS) {
+        return STOP;
+      }
+
+      long nextMillis;
+      if (elapsedMillis < windowStartMillis) {
+        // Wait until the fastest similar tasks would have completed, in capped steps.
+        nextMillis = windowStartMillis - elapsedMillis;
+      } else if (elapsedMillis < windowEndMillis) {
+        // Poll evenly across the usual completion window.
+        nextMillis = windowIntervalMillis;
+      } else {
+        // The task is slower than usual, so back off exponentially.
+        intervalMillis = Math.min(MAX_INTERVAL_MILLIS, intervalMillis * 2);
+        nextMillis = intervalMillis;
+      }
+      // Cap every interval, including the wait for the window, so that polls stay regular.
+      nextMillis = Math.max(MIN_INTERVAL_MILLIS, Math.min(MAX_INTERVAL_MILLIS, nextMillis));
+      return Math.min(nextMillis, MAX_ELAPSED_MILLIS - elapsedMillis);
+    }
+  }
+}
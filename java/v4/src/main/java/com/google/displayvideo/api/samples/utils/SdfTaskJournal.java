@@ -0,0 +1,234 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.api.client.util.store.DataStore;
+import com.google.api.client.util.store.DataStoreFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local journal of structured data file (SDF) download tasks, so that a run interrupted while
+ * waiting for a task can reattach to it instead of creating a duplicate.
+ *
+ * <p>Tasks are keyed by their parameters and output file. Every state change is written to the
+ * journal before the run continues. Once the files of a task are downloaded, the checksum of the
+ * output file is recorded, so a rerun can skip the task while the file is unchanged. Tasks that
+ * failed, were downloaded, or were created longer than {@link #MAX_TASK_AGE_MILLIS} ago are no
+ * longer reattached to.
+ */
+public final class SdfTaskJournal {
+
+  /** The age after which a journaled task is created again instead of reattached to. */
+  public static final long MAX_TASK_AGE_MILLIS = TimeUnit.HOURS.toMillis(12);
+
+  private static final String DATA_STORE_ID = "SdfTaskJournal";
+
+  /** The state of a journaled task. */
+  public enum State {
+    /** The task was created and may still be running. */
+    CREATED,
+    /** The task completed and its files can be downloaded. */
+    SUCCEEDED,
+    /** The task completed with an error. */
+    FAILED,
+    /** The files of the task were downloaded to the output file. */
+    DOWNLOADED
+  }
+
+  private final DataStore<Entry> entries;
+
+  public SdfTaskJournal(DataStoreFactory dataStoreFactory) throws IOException {
+    this.entries = dataStoreFactory.getDataStore(DATA_STORE_ID);
+  }
+
+  /**
+   * Builds the key identifying a task.
+   *
+   * @return The key of the task with the given parameters
+   */
+  public static String getTaskKey(
+      long advertiserId,
+      String sdfVersion,
+      List<String> fileTypes,
+      String filterType,
+      List<Long> filterIds,
+      String outputFile) {
+    List<String> sortedFileTypes = new ArrayList<>(fileTypes);
+    Collections.sort(sortedFileTypes);
+    List<Long> sortedFilterIds = new ArrayList<>(filterIds);
+    Collections.sort(sortedFilterIds);
+    return HashUtils.sha256OfParts(
+        advertiserId,
+        sdfVersion,
+        sortedFileTypes,
+        filterType,
+        sortedFilterIds,
+        new File(outputFile).getAbsolutePath());
+  }
+
+  /**
+   * Returns the journaled state of a task.
+   *
+   * @return The journal entry, or {@code null} if the task has not been journaled
+   */
+  public Entry get(String taskKey) throws IOException {
+    return entries.get(taskKey);
+  }
+
+  /** Records that a task was created. */
+  public void recordCreated(String taskKey, String operationName, String parameters)
+      throws IOException {
+    entries.set(
+        taskKey,
+        new Entry(
+            operationName, parameters, State.CREATED, null, System.currentTimeMillis(), null));
+  }
+
+  /** Records that a task completed successfully and created the given resource. */
+  public void recordSucceeded(String taskKey, String resourceName) throws IOException {
+    Entry entry = require(taskKey);
+    entries.set(
+        taskKey,
+        new Entry(
+            entry.operationName,
+            entry.parameters,
+            State.SUCCEEDED,
+            resourceName,
+            entry.createTimeMillis,
+            null));
+  }
+
+  /** Records that a task completed with an error. */
+  public void recordFailed(String taskKey) throws IOException {
+    Entry entry = require(taskKey);
+    entries.set(
+        taskKey,
+        new Entry(
+            entry.operationName,
+            entry.parameters,
+            State.FAILED,
+            null,
+            entry.createTimeMillis,
+            null));
+  }
+
+  /** Records that the files of a task were downloaded to the given file. */
+  public void recordDownloaded(String taskKey, String outputFile) throws IOException {
+    Entry entry = require(taskKey);
+    entries.set(
+        taskKey,
+        new Entry(
+            entry.operationName,
+            entry.parameters,
+            State.DOWNLOADED,
+            entry.resourceName,
+            entry.createTimeMillis,
+            HashUtils.sha256(outputFile)));
+  }
+
+  /**
+   * Checks whether the output file of a downloaded task is still present and unchanged.
+   *
+   * @return {@code true} if the task was downloaded and the file matches the recorded checksum
+   */
+  public static boolean isDownloadIntact(Entry entry, String outputFile) throws IOException {
+    if (entry.state != State.DOWNLOADED || !new File(outputFile).isFile()) {
+      return false;
+    }
+    return HashUtils.sha256(outputFile).equals(entry.sha256);
+  }
+
+  /**
+   * Checks whether a run can reattach to a journaled task.
+   *
+   * @return {@code true} if the task has neither failed nor been downloaded, and was created less
+   *     than {@link #MAX_TASK_AGE_MILLIS} ago
+   */
+  public static boolean isInFlight(Entry entry) {
+    return (entry.state == State.CREATED || entry.state == State.SUCCEEDED)
+        && System.currentTimeMillis() - entry.createTimeMillis < MAX_TASK_AGE_MILLIS;
+  }
+
+  private Entry require(String taskKey) throws IOException {
+    Entry entry = entries.get(taskKey);
+    if (entry == null) {
+      throw new IllegalStateException("Task " + taskKey + " has not been journaled.");
+    }
+    return entry;
+  }
+
+  /** The journaled state of a task. */
+  public static final class Entry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String operationName;
+    private final String parameters;
+    private final State state;
+    private final String resourceName;
+    private final long createTimeMillis;
+    private final String sha256;
+
+    private Entry(
+        String operationName,
+        String parameters,
+        State state,
+        String resourceName,
+        long createTimeMillis,
+        String sha256) {
+      this.operationName = operationName;
+      this.parameters = parameters;
+      this.state = state;
+      this.resourceName = resourceName;
+      this.createTimeMillis = createTimeMillis;
+      this.sha256 = sha256;
+    }
+
+    /** Returns the name of the operation created for the task. */
+    public String getOperationName() {
+      return operationName;
+    }
+
+    /** Returns a readable description of the task parameters. */
+    public String getParameters() {
+      return parameters;
+    }
+
+    public State getState() {
+      return state;
+    }
+
+    /** Returns the name of the resource created by the task, once it has succeeded. */
+    public String getResourceName() {
+      return resourceName;
+    }
+
+    /** Returns the time the task was created, in milliseconds since the epoch. */
+    public long getCreateTimeMillis() {
+      return createTimeMillis;
+    }
+
+    /** Returns the SHA-256 hash of the downloaded file, once it has been downloaded. */
+    public String getSha256() {
+      return sha256;
+    }
+  }
+}
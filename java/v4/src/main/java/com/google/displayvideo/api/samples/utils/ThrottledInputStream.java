@@ -0,0 +1,52 @@
+// Copyright 2026 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.displayvideo.api.samples.utils;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that acquires a permit from a rate limiter for every byte read, so that streams
+ * sharing the limiter are read no faster than its rate in total.
+ */
+public final class ThrottledInputStream extends FilterInputStream {
+
+  private final RateLimiter byteRateLimiter;
+
+  public ThrottledInputStream(InputStream in, RateLimiter byteRateLimiter) {
+    super(in);
+    this.byteRateLimiter = byteRateLimiter;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = super.read();
+    if (b != -1) {
+      byteRateLimiter.acquire();
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = super.read(b, off, len);
+    if (read > 0) {
+      byteRateLimiter.acquire(read);
+    }
+    return read;
+  }
+}